@@ -0,0 +1,49 @@
+package com.polymathiccoder.yap4j.benchmark;
+
+import java.net.URL;
+import java.util.Date;
+
+import org.joda.time.Period;
+
+import com.polymathiccoder.yap4j.csv.annotation.CsvEntry;
+import com.polymathiccoder.yap4j.csv.annotation.CsvFile;
+
+/**
+ * The bean the datasets of {@link Dataset#DEFAULT_MIX} are deserialized into. Only the first six columns are mapped, so wider datasets
+ * also measure skipping unmapped columns.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@CsvFile(fileName = BenchmarkRecord.FILE_NAME)
+@SuppressWarnings("PMD.UnusedPrivateField")
+public class BenchmarkRecord {
+
+    /** The name of the file the dataset is generated into, relative to the working directory. */
+    public static final String FILE_NAME = "yap4j-benchmark.csv";
+
+    /** The integer. */
+    @CsvEntry(header = "int0")
+    private int integer;
+
+    /** The date. */
+    @CsvEntry(header = "date1", format = Dataset.DATE_FORMAT)
+    private Date date;
+
+    /** The period. */
+    @CsvEntry(header = "period2", format = Dataset.PERIOD_FORMAT)
+    private Period period;
+
+    /** The level. */
+    @CsvEntry(header = "enum3")
+    private Dataset.Level level;
+
+    /** The URL. */
+    @CsvEntry(header = "url4")
+    private URL url;
+
+    /** The text. */
+    @CsvEntry(header = "text5")
+    private String text;
+}
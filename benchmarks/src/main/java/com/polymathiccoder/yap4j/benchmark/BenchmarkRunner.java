@@ -0,0 +1,37 @@
+package com.polymathiccoder.yap4j.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Used to run the benchmarks from the command line, accepting the usual JMH options. The GC profiler is always enabled, so that the
+ * allocation rate of each benchmark is reported along with its throughput.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Prevents instantiation.
+     */
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException if the benchmarks failed
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.polymathiccoder.yap4j.benchmark;
+
+import java.net.URL;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.Period;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.polymathiccoder.yap4j.common.Converter;
+import com.polymathiccoder.yap4j.common.TypeConverter;
+
+/**
+ * Benchmarks converting a single value of each column type, through {@link TypeConverter#fromString(String, Class, String)} and
+ * through a converter resolved once beforehand.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    /** The column type. */
+    @Param({"INT", "DATE", "PERIOD", "ENUM", "URL" })
+    private Dataset.ColumnType type;
+
+    /** The value to convert. */
+    private String value;
+
+    /** The type to convert to. */
+    private Class<?> toClass;
+
+    /** The format of the value. */
+    private String format;
+
+    /** The converter resolved beforehand. */
+    private Converter<Object> converter;
+
+    /**
+     * Resolves the value, the type, and the format to convert.
+     */
+    @Setup
+    public void setUp() {
+        value = Dataset.sample(type);
+        switch (type) {
+        case INT:
+            toClass = int.class;
+            break;
+        case DATE:
+            toClass = Date.class;
+            format = Dataset.DATE_FORMAT;
+            break;
+        case PERIOD:
+            toClass = Period.class;
+            format = Dataset.PERIOD_FORMAT;
+            break;
+        case ENUM:
+            toClass = Dataset.Level.class;
+            break;
+        case URL:
+            toClass = URL.class;
+            break;
+        default:
+            throw new IllegalArgumentException(type.name());
+        }
+        converter = TypeConverter.INSTANCE.converterFor(toClass, format);
+    }
+
+    /**
+     * Converts through {@link TypeConverter#fromString(String, Class, String)}.
+     *
+     * @return the converted value
+     */
+    @Benchmark
+    public Object fromString() {
+        return TypeConverter.INSTANCE.fromString(value, toClass, format);
+    }
+
+    /**
+     * Converts through a converter resolved beforehand, as the parser does.
+     *
+     * @return the converted value
+     */
+    @Benchmark
+    public Object converter() {
+        return converter.fromString(value);
+    }
+}
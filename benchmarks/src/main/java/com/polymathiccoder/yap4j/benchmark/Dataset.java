@@ -0,0 +1,201 @@
+package com.polymathiccoder.yap4j.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.Random;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Used to generate CSV datasets for the benchmarks. A dataset has a header, and its columns cycle through a mix of column types up to
+ * the requested width. A share of the fields, given by the quoting density, is quoted; quoted text fields also contain a delimiter and
+ * an escaped quote, so that the quoting rules are exercised.
+ *
+ * The same seed always generates the same dataset.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class Dataset {
+
+    /** The default mix of column types, matching {@link BenchmarkRecord}. */
+    public static final String DEFAULT_MIX = "INT,DATE,PERIOD,ENUM,URL,TEXT";
+
+    /** The format of the date columns. */
+    public static final String DATE_FORMAT = "MM/dd/yyyy";
+
+    /** The format of the period columns. */
+    public static final String PERIOD_FORMAT = "HH:mm:ss";
+
+    /** The seed. */
+    private static final long SEED = 4180L;
+
+    /** The letters text is made of. */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * The types of the columns of a dataset.
+     */
+    public enum ColumnType {
+        /** Integers. */
+        INT,
+        /** Dates, in {@link Dataset#DATE_FORMAT}. */
+        DATE,
+        /** Periods, in {@link Dataset#PERIOD_FORMAT}. */
+        PERIOD,
+        /** Constants of {@link Level}. */
+        ENUM,
+        /** URLs. */
+        URL,
+        /** Text. */
+        TEXT
+    }
+
+    /**
+     * The constants of the enum columns.
+     */
+    public enum Level {
+        /** Low. */
+        LOW,
+        /** Medium. */
+        MEDIUM,
+        /** High. */
+        HIGH
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private Dataset() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Generates a dataset into a file, in UTF-8.
+     *
+     * @param file the file
+     * @param rows the number of rows, excluding the header
+     * @param width the number of columns
+     * @param quoting the share of fields quoted, between 0 and 1
+     * @param mix the comma-separated column types the columns cycle through
+     * @throws IOException if the file could not be written
+     */
+    public static void generate(final File file, final int rows, final int width, final double quoting, final String mix) throws IOException {
+        final ColumnType[] columns = columns(width, mix);
+        final Random random = new Random(SEED);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charsets.UTF_8));
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                writer.write(i == 0 ? "" : ",");
+                writer.write(header(columns[i], i));
+            }
+            writer.write('\n');
+            for (int row = 0; row < rows; row++) {
+                for (int i = 0; i < columns.length; i++) {
+                    writer.write(i == 0 ? "" : ",");
+                    writeField(writer, columns[i], random, random.nextDouble() < quoting);
+                }
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Returns the header of a column.
+     *
+     * @param type the type of the column
+     * @param index the index of the column
+     * @return the header
+     */
+    public static String header(final ColumnType type, final int index) {
+        return type.name().toLowerCase(Locale.ENGLISH) + index;
+    }
+
+    /**
+     * Returns a sample value of a column type, as found in a dataset.
+     *
+     * @param type the column type
+     * @return the sample value
+     */
+    public static String sample(final ColumnType type) {
+        return value(type, new Random(SEED), false);
+    }
+
+    /**
+     * Resolves the types of the columns of a dataset.
+     *
+     * @param width the number of columns
+     * @param mix the comma-separated column types the columns cycle through
+     * @return the column types
+     */
+    private static ColumnType[] columns(final int width, final String mix) {
+        final String[] names = mix.split(",");
+        final ColumnType[] columns = new ColumnType[width];
+        for (int i = 0; i < width; i++) {
+            columns[i] = ColumnType.valueOf(names[i % names.length].trim().toUpperCase(Locale.ENGLISH));
+        }
+        return columns;
+    }
+
+    /**
+     * Writes a field.
+     *
+     * @param writer the writer
+     * @param type the type of the column
+     * @param random the source of values
+     * @param quoted whether the field is quoted
+     * @throws IOException if the field could not be written
+     */
+    private static void writeField(final Writer writer, final ColumnType type, final Random random, final boolean quoted) throws IOException {
+        if (quoted) {
+            writer.write('"');
+            writer.write(value(type, random, true).replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value(type, random, false));
+        }
+    }
+
+    /**
+     * Generates a value.
+     *
+     * @param type the column type
+     * @param random the source of values
+     * @param quoted whether the value is to be quoted, and may then contain delimiters and quotes
+     * @return the value
+     */
+    private static String value(final ColumnType type, final Random random, final boolean quoted) { // NOPMD
+        switch (type) {
+        case INT:
+            return String.valueOf(random.nextInt());
+        case DATE:
+            return String.format("%02d/%02d/%04d", 1 + random.nextInt(12), 1 + random.nextInt(28), 1970 + random.nextInt(60));
+        case PERIOD:
+            return String.format("%02d:%02d:%02d", random.nextInt(100), random.nextInt(60), random.nextInt(60));
+        case ENUM:
+            return Level.values()[random.nextInt(Level.values().length)].name();
+        case URL:
+            return "http://www.example.com/" + random.nextInt(1000000);
+        case TEXT:
+            final StringBuilder text = new StringBuilder();
+            final int length = 5 + random.nextInt(20);
+            for (int i = 0; i < length; i++) {
+                text.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+            if (quoted) {
+                text.insert(length / 2, ", \"").append('"');
+            }
+            return text.toString();
+        default:
+            throw new IllegalArgumentException(type.name());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.polymathiccoder.yap4j.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.polymathiccoder.yap4j.Parser;
+import com.polymathiccoder.yap4j.RecordHandler;
+import com.polymathiccoder.yap4j.csv.CsvParserFactory;
+import com.polymathiccoder.yap4j.csv.CsvParserSettings;
+
+/**
+ * Benchmarks deserializing a generated dataset into {@link BenchmarkRecord} end to end, from reading the file to binding the beans.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DeserializeBenchmark {
+
+    /** The number of rows. */
+    @Param("100000")
+    private int rows;
+
+    /** The number of columns. */
+    @Param({"6", "30" })
+    private int width;
+
+    /** The share of fields quoted. */
+    @Param({"0.0", "0.5" })
+    private double quoting;
+
+    /** The number of threads parsing. */
+    @Param({"1", "4" })
+    private int threads;
+
+    /** The parser. */
+    private Parser parser;
+
+    /**
+     * Generates the dataset and creates the parser.
+     *
+     * @throws IOException if the dataset could not be generated
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Dataset.generate(new File(BenchmarkRecord.FILE_NAME), rows, width, quoting, Dataset.DEFAULT_MIX);
+        parser = CsvParserFactory.createParser(BenchmarkRecord.class, new CsvParserSettings().threads(threads).chunkSize(1024 * 1024));
+    }
+
+    /**
+     * Deletes the dataset.
+     */
+    @TearDown
+    public void tearDown() {
+        new File(BenchmarkRecord.FILE_NAME).delete();
+    }
+
+    /**
+     * Deserializes into a list.
+     *
+     * @return the beans
+     */
+    @Benchmark
+    public List<BenchmarkRecord> deserialize() {
+        return parser.deserialize();
+    }
+
+    /**
+     * Deserializes into a record handler, without collecting the beans.
+     *
+     * @param blackhole the sink of the beans
+     */
+    @Benchmark
+    public void deserializeStreaming(final Blackhole blackhole) {
+        parser.deserialize(new RecordHandler<BenchmarkRecord>() {
+            @Override
+            public void handle(final BenchmarkRecord record) {
+                blackhole.consume(record);
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.polymathiccoder.yap4j.common.TypeConverter;
+
+/**
+ * Benchmarks binding a value to a primitive field, through a binder specialized for its type and through the reflective binder.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldBinderBenchmark {
+
+    /** The value to bind. */
+    private static final String VALUE = "123456";
+
+    /** The bean. */
+    private final Bean bean = new Bean();
+
+    /** The specialized binder. */
+    private FieldBinder specialized;
+
+    /** The reflective binder. */
+    private FieldBinder reflective;
+
+    /**
+     * Creates the binders.
+     *
+     * @throws NoSuchFieldException if the field could not be found
+     */
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        final Field field = Bean.class.getDeclaredField("value");
+        field.setAccessible(true);
+        specialized = FieldBinder.of(field, TypeConverter.INSTANCE.converterFor(int.class, null));
+        reflective = FieldBinder.reflective(field, TypeConverter.INSTANCE.converterFor(int.class, null));
+    }
+
+    /**
+     * Binds through the specialized binder.
+     *
+     * @return the bound value
+     * @throws IllegalAccessException if the field could not be set
+     */
+    @Benchmark
+    public int specialized() throws IllegalAccessException {
+        specialized.bind(bean, VALUE);
+        return bean.value;
+    }
+
+    /**
+     * Binds through the reflective binder.
+     *
+     * @return the bound value
+     * @throws IllegalAccessException if the field could not be set
+     */
+    @Benchmark
+    public int reflective() throws IllegalAccessException {
+        reflective.bind(bean, VALUE);
+        return bean.value;
+    }
+
+    /**
+     * The bean bound to.
+     */
+    static class Bean {
+
+        /** The value. */
+        private int value;
+    }
+}
@@ -0,0 +1,133 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.base.Charsets;
+import com.polymathiccoder.yap4j.benchmark.Dataset;
+
+/**
+ * Benchmarks tokenizing a generated dataset alone, without any conversion nor binding. It lives in the package of the tokenizers, which
+ * are not public.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TokenizerBenchmark {
+
+    /** The number of rows. */
+    @Param("100000")
+    private int rows;
+
+    /** The number of columns. */
+    @Param({"6", "30" })
+    private int width;
+
+    /** The share of fields quoted. */
+    @Param({"0.0", "0.5" })
+    private double quoting;
+
+    /** The mix of column types. */
+    @Param(Dataset.DEFAULT_MIX)
+    private String mix;
+
+    /** The dataset. */
+    private File file;
+
+    /**
+     * Generates the dataset.
+     *
+     * @throws IOException if the dataset could not be generated
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("yap4j-benchmark", ".csv");
+        Dataset.generate(file, rows, width, quoting, mix);
+    }
+
+    /**
+     * Deletes the dataset.
+     */
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Tokenizes the bytes of the file, decoding every field.
+     *
+     * @param blackhole the sink of the fields
+     * @throws IOException if the file could not be read
+     */
+    @Benchmark
+    public void bytes(final Blackhole blackhole) throws IOException {
+        consume(new ByteCsvTokenizer(new FileInputStream(file).getChannel(), 0, Long.MAX_VALUE, ',', Charsets.UTF_8), blackhole);
+    }
+
+    /**
+     * Tokenizes the bytes of the file, decoding the first field only.
+     *
+     * @param blackhole the sink of the fields
+     * @throws IOException if the file could not be read
+     */
+    @Benchmark
+    public void bytesProjected(final Blackhole blackhole) throws IOException {
+        final CsvTokenizer tokenizer = new ByteCsvTokenizer(new FileInputStream(file).getChannel(), 0, Long.MAX_VALUE, ',', Charsets.UTF_8);
+        tokenizer.project(new boolean[] {true });
+        consume(tokenizer, blackhole);
+    }
+
+    /**
+     * Tokenizes the characters of the file, decoding every field.
+     *
+     * @param blackhole the sink of the fields
+     * @throws IOException if the file could not be read
+     */
+    @Benchmark
+    public void chars(final Blackhole blackhole) throws IOException {
+        consume(new CharCsvTokenizer(new InputStreamReader(new FileInputStream(file), Charsets.UTF_8), ','), blackhole);
+    }
+
+    /**
+     * Tokenizes all the records and decodes all their fields.
+     *
+     * @param tokenizer the tokenizer
+     * @param blackhole the sink of the fields
+     * @throws IOException if the file could not be read
+     */
+    private static void consume(final CsvTokenizer tokenizer, final Blackhole blackhole) throws IOException {
+        try {
+            while (tokenizer.nextRecord()) {
+                for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                    blackhole.consume(tokenizer.field(i));
+                }
+            }
+        } finally {
+            tokenizer.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.polymathiccoder.yap4j;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Used to iterate over CSV records lazily, one record at a time. The underlying resource is released once the last record has been
+ * read, or when closed explicitly before that.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ *
+ * @param <T> the type of the records
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+
+    /**
+     * Releases the underlying resource without throwing a checked exception. It is safe to call more than once.
+     */
+    @Override
+    void close();
+}
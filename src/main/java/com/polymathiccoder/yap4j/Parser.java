@@ -1,7 +1,13 @@
 package com.polymathiccoder.yap4j;
 
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
 import java.util.List;
 
+import com.polymathiccoder.yap4j.table.Table;
+
 /**
  * Used a CSV file into a list of object and vice versa.
  *
@@ -20,11 +26,72 @@ public interface Parser {
     <T> List<T> deserialize();
 
     /**
-     * Serialize.
+     * Deserializes CSV records in file as objects of the specified type, handing each over to the handler as soon as it is parsed.
+     * Records are never accumulated, and the file is closed once the last record has been handled.
+     *
+     * @param <T> the type to parse into
+     * @param handler the handler of the CSV records
+     */
+    <T> void deserialize(RecordHandler<T> handler);
+
+    /**
+     * Deserializes CSV records in file lazily as objects of the specified type. A record is only read and parsed when requested.
+     *
+     * @param <T> the type to parse into
+     * @return the iterator over the CSV records as objects of the specified type
+     */
+    <T> CloseableIterator<T> iterator();
+
+    /**
+     * Deserializes CSV records in file column by column into a table, according to the same metadata as objects of the specified
+     * type, but without creating any of them. Numeric fields are stored in primitive arrays and strings are dictionary-encoded.
+     *
+     * @return the table of CSV records
+     */
+    Table deserializeTable();
+
+    /**
+     * Serializes objects of the specified type as CSV records in file, replacing its content.
      *
      * @param <T> the type to serialize from
      * @param list the list of CSV records as objects of the specified type
      */
     <T> void serialize(List<T> list);
 
-}
\ No newline at end of file
+    /**
+     * Serializes objects of the specified type as CSV records in file, replacing its content. Objects are written as soon as they are
+     * handed over by the iterator, and never accumulated.
+     *
+     * @param <T> the type to serialize from
+     * @param records the iterator over the CSV records as objects of the specified type
+     */
+    <T> void serialize(Iterator<T> records);
+
+    /**
+     * Serializes objects of the specified type as CSV records to a writer. The writer is flushed, but not closed.
+     *
+     * @param <T> the type to serialize from
+     * @param records the iterator over the CSV records as objects of the specified type
+     * @param writer the writer
+     */
+    <T> void serialize(Iterator<T> records, Writer writer);
+
+    /**
+     * Serializes objects of the specified type as CSV records to an output stream. The output stream is flushed, but not closed.
+     *
+     * @param <T> the type to serialize from
+     * @param records the iterator over the CSV records as objects of the specified type
+     * @param output the output stream
+     */
+    <T> void serialize(Iterator<T> records, OutputStream output);
+
+    /**
+     * Serializes objects of the specified type as CSV records to a channel, such as a file channel. The channel is not closed.
+     *
+     * @param <T> the type to serialize from
+     * @param records the iterator over the CSV records as objects of the specified type
+     * @param channel the channel
+     */
+    <T> void serialize(Iterator<T> records, WritableByteChannel channel);
+
+}
@@ -0,0 +1,20 @@
+package com.polymathiccoder.yap4j;
+
+/**
+ * A callback used to consume CSV records as soon as they are parsed.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ *
+ * @param <T> the type of the records
+ */
+public interface RecordHandler<T> {
+
+    /**
+     * Handles a parsed record.
+     *
+     * @param record the record as an object of the specified type
+     */
+    void handle(T record);
+}
@@ -0,0 +1,37 @@
+package com.polymathiccoder.yap4j.common;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Used to tell which types can be cached for good. A cache held by Yap4j that references a type strongly, directly or through what it
+ * builds for it, keeps the class loader of the type alive for as long as Yap4j is loaded. That is harmless for the types of the class
+ * loader of Yap4j and its parents, but would keep the classes of a redeployed application from ever being unloaded.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE) // CHECKSTYLE IGNORE
+public final class ClassLoaders {
+
+    /**
+     * Returns whether a type is loaded by the class loader of Yap4j or one of its parents, so that caching it, or anything referencing
+     * it, strongly cannot keep it from being unloaded.
+     *
+     * @param clazz the type
+     * @return true if it cannot outlive Yap4j, false otherwise
+     */
+    public static boolean isCacheSafe(final Class<?> clazz) {
+        final ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null) {
+            return true;
+        }
+        for (ClassLoader ancestor = ClassLoaders.class.getClassLoader(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (ancestor == classLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.polymathiccoder.yap4j.common;
+
+/**
+ * Used to convert strings to a specific type. A converter is resolved once for a type and a format, and then reused for every value.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ *
+ * @param <T> the type to convert to
+ */
+public interface Converter<T> {
+
+    /**
+     * Converts from string.
+     *
+     * @param value the string to be converted
+     * @return the converted object
+     */
+    T fromString(String value);
+}
@@ -0,0 +1,22 @@
+package com.polymathiccoder.yap4j.common;
+
+/**
+ * Used to create the converters to a specific type, one per format. Factories are registered with {@link TypeConverter}, and asked for
+ * a converter once per field type and format, when a parser is created.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ *
+ * @param <T> the type to convert to
+ */
+public interface ConverterFactory<T> {
+
+    /**
+     * Creates a converter for a format. The converter is shared by all threads, so any state it holds must be thread-safe.
+     *
+     * @param format the format of the strings to be converted, or null or an empty string if none was specified
+     * @return the converter
+     */
+    Converter<T> create(String format);
+}
@@ -0,0 +1,256 @@
+package com.polymathiccoder.yap4j.common;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTimeFieldType;
+import org.joda.time.MutablePeriod;
+import org.joda.time.Period;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeParser;
+import org.joda.time.format.DateTimeParserBucket;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The built-in converters registered with {@link TypeConverter}. Any state they need, such as the known locales and time zones, the
+ * compiled period formats, or the constants of an enum, is computed once when they are created, and never modified afterwards. Date
+ * formats, which cannot be shared between threads, are created once per thread.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class Converters {
+
+    /** The factory of URL converters. */
+    static final ConverterFactory<URL> URL_FACTORY = constant(new Converter<URL>() {
+        @Override
+        public URL fromString(final String value) {
+            try {
+                return new URL(value);
+            } catch (MalformedURLException malformedURLException) { // NOPMD
+                throw new ConversionException(String.class, URL.class); // NOPMD
+            }
+        }
+    });
+
+    /** The factory of locale converters. */
+    static final ConverterFactory<Locale> LOCALE_FACTORY = constant(new Converter<Locale>() {
+        /** The ISO languages. */
+        private final Set<String> languages = ImmutableSet.copyOf(Locale.getISOLanguages());
+
+        @Override
+        public Locale fromString(final String value) {
+            if (!languages.contains(value)) {
+                throw new ConversionException(String.class, Locale.class);
+            }
+            return new Locale(value);
+        }
+    });
+
+    /** The factory of time zone converters. */
+    static final ConverterFactory<TimeZone> TIME_ZONE_FACTORY = constant(new Converter<TimeZone>() {
+        /** The available time zone IDs. */
+        private final Set<String> ids = ImmutableSet.copyOf(TimeZone.getAvailableIDs());
+
+        @Override
+        public TimeZone fromString(final String value) {
+            if (!ids.contains(value)) {
+                throw new ConversionException(String.class, TimeZone.class);
+            }
+            return TimeZone.getTimeZone(value);
+        }
+    });
+
+    /** The factory of date converters. */
+    static final ConverterFactory<Date> DATE_FACTORY = new ConverterFactory<Date>() {
+        @Override
+        public Converter<Date> create(final String format) {
+            if (StringUtils.isEmpty(format)) {
+                return missingFormat();
+            }
+            //Patterns keep the meaning they have for SimpleDateFormat, whose instances are cached per thread rather than per value
+            return IsoDateConverter.forPattern(format, new ThreadLocalDateFormat(format));
+        }
+    };
+
+    /** The factory of period converters. */
+    static final ConverterFactory<Period> PERIOD_FACTORY = new ConverterFactory<Period>() {
+        @Override
+        public Converter<Period> create(final String format) {
+            if (StringUtils.isEmpty(format)) {
+                return missingFormat();
+            }
+            DateTimeParser parser; // NOPMD
+            try {
+                parser = DateTimeFormat.forPattern(format).getParser();
+            } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+                parser = null;
+            }
+            final DateTimeParser resolvedParser = parser;
+            return new Converter<Period>() {
+                @Override
+                public Period fromString(final String value) {
+                    if (resolvedParser == null) {
+                        throw new ConversionException(String.class); // NOPMD
+                    }
+                    return new PeriodBucket(value, resolvedParser).toPeriod();
+                }
+            };
+        }
+    };
+
+    /**
+     * Prevents instantiation.
+     */
+    private Converters() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a factory always returning the same converter, whatever the format.
+     *
+     * @param <T> the type to convert to
+     * @param converter the converter
+     * @return the converter factory
+     */
+    static <T> ConverterFactory<T> constant(final Converter<T> converter) {
+        return new ConverterFactory<T>() {
+            @Override
+            public Converter<T> create(final String format) {
+                return converter;
+            }
+        };
+    }
+
+    /**
+     * Creates a converter to an enum, from the name or the ordinal of its constants.
+     *
+     * @param toClass the enum
+     * @return the converter
+     */
+    static Converter<Object> forEnum(final Class<?> toClass) {
+        final Object[] constants = toClass.getEnumConstants();
+        final ImmutableMap.Builder<String, Object> builder = ImmutableMap.builder();
+        for (Object constant : constants) {
+            builder.put(((Enum<?>) constant).name(), constant);
+        }
+        final Map<String, Object> constantsByName = builder.build();
+        return new Converter<Object>() {
+            @Override
+            public Object fromString(final String value) {
+                Object converted; // NOPMD
+                if (StringUtils.isNumeric(value)) {
+                    final int ordinal = Integer.parseInt(value);
+                    converted = ordinal < constants.length ? constants[ordinal] : null;
+                } else {
+                    converted = constantsByName.get(value);
+                }
+                if (converted == null) {
+                    throw new ConversionException(String.class, toClass);
+                }
+                return converted;
+            }
+        };
+    }
+
+    /**
+     * Creates a converter through the Commons BeanUtils converter registered for a type, looked up once, falling back to the string
+     * converter as {@link ConvertUtils#convert(String, Class)} does.
+     *
+     * @param toClass the type to convert to
+     * @return the converter
+     */
+    static Converter<Object> forBeanUtils(final Class<?> toClass) {
+        final org.apache.commons.beanutils.Converter registered = ConvertUtils.lookup(toClass);
+        final org.apache.commons.beanutils.Converter converter = registered == null ? ConvertUtils.lookup(String.class) : registered;
+        return new Converter<Object>() {
+            @Override
+            public Object fromString(final String value) {
+                try {
+                    return converter.convert(toClass, value);
+                } catch (org.apache.commons.beanutils.ConversionException conversionException) { // NOPMD
+                    throw new ConversionException(String.class, toClass); // NOPMD
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates a converter failing on any value, since the format it requires is missing.
+     *
+     * @param <T> the type to convert to
+     * @return the converter
+     */
+    private static <T> Converter<T> missingFormat() {
+        return new Converter<T>() {
+            @Override
+            public T fromString(final String value) {
+                throw new IllegalArgumentException(TypeConversionErrorMessages.ERROR_MISSING_FORMAT);
+            }
+        };
+    }
+
+    /**
+     * Used to convert periods from string in a specific format, by parsing it into a bucket that accumulates the parsed fields into a
+     * period as they are saved rather than resolving them to an instant.
+     */
+    private static class PeriodBucket extends DateTimeParserBucket {
+
+        /** The parsed period. */
+        private final transient MutablePeriod period = new MutablePeriod();
+
+        /** Whether a parsed field cannot be part of a period. */
+        private transient boolean unsupported;
+
+        /* (non-Javadoc)
+         * @see org.joda.time.format.DateTimeParserBucket#saveField(org.joda.time.DateTimeFieldType, int)
+         */
+        @Override
+        public void saveField(final DateTimeFieldType fieldType, final int value) {
+            //Intercept the call to saveField
+            try {
+                period.set(fieldType.getDurationType(), value);
+            } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+                unsupported = true;
+            }
+            super.saveField(fieldType, value);
+        }
+
+        /**
+         * Instantiates a new period bucket, parsing the value.
+         *
+         * @param value the value
+         * @param parser the parser of the format
+         */
+        public PeriodBucket(final String value, final DateTimeParser parser) {
+            super(0, null, null, 0, 0);
+            try {
+                parser.parseInto(this, value, 0);
+            } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+                throw new ConversionException(String.class); // NOPMD
+            }
+        }
+
+        /**
+         * To period.
+         *
+         * @return the period
+         */
+        public Period toPeriod() {
+            if (unsupported) {
+                throw new ConversionException(String.class, Period.class);
+            }
+            return period.toPeriod();
+        }
+    }
+}
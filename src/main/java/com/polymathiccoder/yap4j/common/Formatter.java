@@ -0,0 +1,22 @@
+package com.polymathiccoder.yap4j.common;
+
+/**
+ * Used to convert a specific type to strings, the reverse of a {@link Converter}. A formatter is resolved once for a type and a format,
+ * and then reused for every value.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ *
+ * @param <T> the type to convert from
+ */
+public interface Formatter<T> {
+
+    /**
+     * Converts to string.
+     *
+     * @param value the non-null object to be converted
+     * @return the string
+     */
+    String toString(T value);
+}
@@ -0,0 +1,22 @@
+package com.polymathiccoder.yap4j.common;
+
+/**
+ * Used to create the formatters of a specific type, one per format. Factories are registered with {@link TypeConverter}, and asked for
+ * a formatter once per field type and format, when a parser is created.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ *
+ * @param <T> the type to convert from
+ */
+public interface FormatterFactory<T> {
+
+    /**
+     * Creates a formatter for a format. The formatter is shared by all threads, so any state it holds must be thread-safe.
+     *
+     * @param format the format of the strings to be created, or null or an empty string if none was specified
+     * @return the formatter
+     */
+    Formatter<T> create(String format);
+}
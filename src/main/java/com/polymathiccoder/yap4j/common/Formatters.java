@@ -0,0 +1,185 @@
+package com.polymathiccoder.yap4j.common;
+
+import java.net.URL;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.apache.commons.beanutils.ConvertUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.LocalDateTime;
+import org.joda.time.Period;
+import org.joda.time.chrono.ISOChronology;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * The built-in formatters registered with {@link TypeConverter}, each the reverse of the built-in converter of the same type and
+ * format in {@link Converters}, so that a formatted value converts back to an equal value.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class Formatters {
+
+    /** The factory of URL formatters. */
+    static final FormatterFactory<URL> URL_FACTORY = constant(new Formatter<URL>() {
+        @Override
+        public String toString(final URL value) {
+            return value.toExternalForm();
+        }
+    });
+
+    /** The factory of locale formatters. */
+    static final FormatterFactory<Locale> LOCALE_FACTORY = constant(new Formatter<Locale>() {
+        @Override
+        public String toString(final Locale value) {
+            return value.toString();
+        }
+    });
+
+    /** The factory of time zone formatters. */
+    static final FormatterFactory<TimeZone> TIME_ZONE_FACTORY = constant(new Formatter<TimeZone>() {
+        @Override
+        public String toString(final TimeZone value) {
+            return value.getID();
+        }
+    });
+
+    /** The factory of date formatters. */
+    static final FormatterFactory<Date> DATE_FACTORY = new FormatterFactory<Date>() {
+        @Override
+        public Formatter<Date> create(final String format) {
+            if (StringUtils.isEmpty(format)) {
+                return missingFormat();
+            }
+            //Formatted through a date format per thread, as they are parsed
+            final ThreadLocalDateFormat dateFormat = new ThreadLocalDateFormat(format);
+            return new Formatter<Date>() {
+                @Override
+                public String toString(final Date value) {
+                    return dateFormat.format(value);
+                }
+            };
+        }
+    };
+
+    /** The factory of period formatters. */
+    static final FormatterFactory<Period> PERIOD_FACTORY = new FormatterFactory<Period>() {
+        @Override
+        public Formatter<Period> create(final String format) {
+            if (StringUtils.isEmpty(format)) {
+                return missingFormat();
+            }
+            DateTimeFormatter formatter; // NOPMD
+            try {
+                formatter = DateTimeFormat.forPattern(format);
+            } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+                formatter = null;
+            }
+            final DateTimeFormatter resolvedFormatter = formatter;
+            return new Formatter<Period>() {
+                @Override
+                public String toString(final Period value) {
+                    if (resolvedFormatter == null) {
+                        throw new ConversionException(Period.class, String.class); // NOPMD
+                    }
+                    //Periods are parsed field by field, so they are printed as the date and time made of the same fields
+                    try {
+                        LocalDateTime fields = new LocalDateTime(0L, ISOChronology.getInstanceUTC()); // NOPMD
+                        if (value.getYears() != 0) {
+                            fields = fields.withYear(value.getYears());
+                        }
+                        if (value.getMonths() != 0) {
+                            fields = fields.withMonthOfYear(value.getMonths());
+                        }
+                        if (value.getDays() != 0) {
+                            fields = fields.withDayOfMonth(value.getDays());
+                        }
+                        fields = fields.withTime(value.getHours(), value.getMinutes(), value.getSeconds(), value.getMillis());
+                        return resolvedFormatter.print(fields);
+                    } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+                        throw new ConversionException(Period.class, String.class); // NOPMD
+                    }
+                }
+            };
+        }
+    };
+
+    /**
+     * Prevents instantiation.
+     */
+    private Formatters() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a factory always returning the same formatter, whatever the format.
+     *
+     * @param <T> the type to convert from
+     * @param formatter the formatter
+     * @return the formatter factory
+     */
+    static <T> FormatterFactory<T> constant(final Formatter<T> formatter) {
+        return new FormatterFactory<T>() {
+            @Override
+            public Formatter<T> create(final String format) {
+                return formatter;
+            }
+        };
+    }
+
+    /**
+     * Creates a formatter of an enum, to the name of its constants.
+     *
+     * @return the formatter
+     */
+    static Formatter<Object> forEnum() {
+        return new Formatter<Object>() {
+            @Override
+            public String toString(final Object value) {
+                return ((Enum<?>) value).name();
+            }
+        };
+    }
+
+    /**
+     * Creates a formatter through the Commons BeanUtils converter registered for a type, looked up once, falling back to the string
+     * converter as {@link ConvertUtils#convert(Object)} does.
+     *
+     * @param fromClass the type to convert from
+     * @return the formatter
+     */
+    static Formatter<Object> forBeanUtils(final Class<?> fromClass) {
+        final org.apache.commons.beanutils.Converter registered = ConvertUtils.lookup(fromClass);
+        final org.apache.commons.beanutils.Converter converter = registered == null ? ConvertUtils.lookup(String.class) : registered;
+        return new Formatter<Object>() {
+            @Override
+            public String toString(final Object value) {
+                final Object converted; // NOPMD
+                try {
+                    converted = converter.convert(String.class, value);
+                } catch (org.apache.commons.beanutils.ConversionException conversionException) { // NOPMD
+                    throw new ConversionException(fromClass, String.class); // NOPMD
+                }
+                return converted instanceof String ? (String) converted : value.toString();
+            }
+        };
+    }
+
+    /**
+     * Creates a formatter failing on any value, since the format it requires is missing.
+     *
+     * @param <T> the type to convert from
+     * @return the formatter
+     */
+    private static <T> Formatter<T> missingFormat() {
+        return new Formatter<T>() {
+            @Override
+            public String toString(final T value) {
+                throw new IllegalArgumentException(TypeConversionErrorMessages.ERROR_MISSING_FORMAT_TO_STRING);
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.polymathiccoder.yap4j.common;
+
+import java.util.Date;
+
+/**
+ * Used to convert dates in fixed ISO-8601 layouts from string by reading their digits at known offsets, without going through a
+ * general pattern engine. The instant is computed in the calendar and time zone of the date format of the same pattern, and values
+ * that do not follow the layout exactly, such as unpadded ones, are parsed by that date format, so the outcome is always the same.
+ *
+ * Supported formats: yyyy-MM-dd, yyyy-MM-dd'T'HH:mm:ss, yyyy-MM-dd HH:mm:ss, yyyy-MM-dd'T'HH:mm:ss.SSS, and yyyy-MM-dd HH:mm:ss.SSS.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class IsoDateConverter implements Converter<Date> {
+
+    /** The length of a date. */
+    private static final int DATE_LENGTH = 10;
+
+    /** The length of a date and time. */
+    private static final int DATE_TIME_LENGTH = 19;
+
+    /** The length of a date and time with milliseconds. */
+    private static final int DATE_TIME_MILLIS_LENGTH = 23;
+
+    /** The length of the layout. */
+    private final transient int length;
+
+    /** The separator between the date and the time. */
+    private final transient char separator;
+
+    /** The date format of the same pattern. */
+    private final transient ThreadLocalDateFormat dateFormat;
+
+    /**
+     * Instantiates a new ISO-8601 date converter.
+     *
+     * @param length the length of the layout
+     * @param separator the separator between the date and the time
+     * @param dateFormat the date format of the same pattern
+     */
+    private IsoDateConverter(final int length, final char separator, final ThreadLocalDateFormat dateFormat) {
+        this.length = length;
+        this.separator = separator;
+        this.dateFormat = dateFormat;
+    }
+
+    /**
+     * Creates a converter for a format, taking the fast path if the format is a supported ISO-8601 layout.
+     *
+     * @param format the format
+     * @param dateFormat the date format of the format
+     * @return the converter
+     */
+    static Converter<Date> forPattern(final String format, final ThreadLocalDateFormat dateFormat) {
+        if ("yyyy-MM-dd".equals(format)) {
+            return new IsoDateConverter(DATE_LENGTH, 'T', dateFormat);
+        } else if ("yyyy-MM-dd'T'HH:mm:ss".equals(format)) {
+            return new IsoDateConverter(DATE_TIME_LENGTH, 'T', dateFormat);
+        } else if ("yyyy-MM-dd HH:mm:ss".equals(format)) {
+            return new IsoDateConverter(DATE_TIME_LENGTH, ' ', dateFormat);
+        } else if ("yyyy-MM-dd'T'HH:mm:ss.SSS".equals(format)) {
+            return new IsoDateConverter(DATE_TIME_MILLIS_LENGTH, 'T', dateFormat);
+        } else if ("yyyy-MM-dd HH:mm:ss.SSS".equals(format)) {
+            return new IsoDateConverter(DATE_TIME_MILLIS_LENGTH, ' ', dateFormat);
+        }
+        return new Converter<Date>() {
+            @Override
+            public Date fromString(final String value) {
+                return dateFormat.parse(value);
+            }
+        };
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.common.Converter#fromString(java.lang.String)
+     */
+    @Override
+    public Date fromString(final String value) { // NOPMD
+        if (value.length() != length || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return dateFormat.parse(value);
+        }
+        final int year = digits(value, 0, 4);
+        final int month = digits(value, 5, 2);
+        final int day = digits(value, 8, 2);
+        int hour = 0; // NOPMD
+        int minute = 0; // NOPMD
+        int second = 0; // NOPMD
+        int millis = 0; // NOPMD
+        if (length > DATE_LENGTH) {
+            if (value.charAt(10) != separator || value.charAt(13) != ':' || value.charAt(16) != ':') {
+                return dateFormat.parse(value);
+            }
+            hour = digits(value, 11, 2);
+            minute = digits(value, 14, 2);
+            second = digits(value, 17, 2);
+            if (length > DATE_TIME_LENGTH) {
+                if (value.charAt(19) != '.') {
+                    return dateFormat.parse(value);
+                }
+                millis = digits(value, 20, 3);
+            }
+        }
+        if ((year | month | day | hour | minute | second | millis) < 0) {
+            return dateFormat.parse(value);
+        }
+        try {
+            return dateFormat.toDate(year, month, day, hour, minute, second, millis);
+        } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+            //Out of range fields, reported by the date format
+            return dateFormat.parse(value);
+        }
+    }
+
+    /**
+     * Reads a number made of a fixed count of digits.
+     *
+     * @param value the string to read from
+     * @param start the offset of the first digit
+     * @param count the count of digits
+     * @return the number, or -1 if any of the characters is not a digit
+     */
+    private static int digits(final String value, final int start, final int count) {
+        int number = 0; // NOPMD
+        for (int i = start; i < start + count; i++) {
+            final int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+}
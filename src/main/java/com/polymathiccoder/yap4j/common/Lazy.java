@@ -0,0 +1,106 @@
+package com.polymathiccoder.yap4j.common;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Used to hold a value that is converted from its string only when first read. A bean field declared as a lazy value of some type,
+ * such as <code>Lazy&lt;Date&gt;</code>, is bound to the raw string and the converter of its type, and pays for the conversion only if
+ * it is ever read; the string is released once converted. Writing an unconverted value back writes the raw string as is.
+ *
+ * Lazy values can be read by any number of threads.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ *
+ * @param <T> the type of the value
+ */
+public final class Lazy<T> {
+
+    /** The raw string, or null once converted. */
+    private transient String token;
+
+    /** The converter of the raw string, or null once converted. */
+    private transient Converter<? extends T> converter;
+
+    /** The value, once converted. */
+    private transient T value;
+
+    /**
+     * Instantiates a new lazy value.
+     *
+     * @param token the raw string, or null if converted
+     * @param converter the converter of the raw string, or null if converted
+     * @param value the value, if converted
+     */
+    private Lazy(final String token, final Converter<? extends T> converter, final T value) {
+        this.token = token;
+        this.converter = converter;
+        this.value = value;
+    }
+
+    /**
+     * Creates a lazy value to be converted from a string when first read.
+     *
+     * @param <T> the type of the value
+     * @param token the raw string
+     * @param converter the converter of the raw string
+     * @return the lazy value
+     */
+    public static <T> Lazy<T> of(final String token, final Converter<? extends T> converter) {
+        checkNotNull(token);
+        checkNotNull(converter);
+        return new Lazy<T>(token, converter, null);
+    }
+
+    /**
+     * Creates a lazy value that is already converted, such as the value of a bean built to be serialized.
+     *
+     * @param <T> the type of the value
+     * @param value the value
+     * @return the lazy value
+     */
+    public static <T> Lazy<T> ofValue(final T value) {
+        return new Lazy<T>(null, null, value);
+    }
+
+    /**
+     * Gets the value, converting it on first read. A conversion that fails is attempted again on the next read.
+     *
+     * @return the value
+     */
+    public synchronized T get() {
+        if (converter != null) {
+            value = converter.fromString(token);
+            token = null; // NOPMD
+            converter = null; // NOPMD
+        }
+        return value;
+    }
+
+    /**
+     * Returns whether the value has been converted.
+     *
+     * @return true if converted, false otherwise
+     */
+    public synchronized boolean isConverted() {
+        return converter == null;
+    }
+
+    /**
+     * Gets the raw string the value is converted from.
+     *
+     * @return the raw string, or null once converted
+     */
+    public synchronized String getToken() {
+        return token;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public synchronized String toString() {
+        return converter == null ? String.valueOf(value) : token;
+    }
+}
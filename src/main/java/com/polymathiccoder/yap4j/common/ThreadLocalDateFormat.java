@@ -0,0 +1,99 @@
+package com.polymathiccoder.yap4j.common;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Used to parse and format dates in a pattern through one {@link SimpleDateFormat} per thread, as date formats cannot be shared between
+ * threads. Dates are parsed the way the Commons BeanUtils date converter parses them, strictly and as a whole once trimmed, without
+ * creating a date format per value.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class ThreadLocalDateFormat extends ThreadLocal<SimpleDateFormat> {
+
+    /** The pattern. */
+    private final transient String pattern;
+
+    /**
+     * Instantiates a new date format per thread.
+     *
+     * @param pattern the pattern
+     */
+    ThreadLocalDateFormat(final String pattern) {
+        super();
+        this.pattern = pattern;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.ThreadLocal#initialValue()
+     */
+    @Override
+    protected SimpleDateFormat initialValue() {
+        final SimpleDateFormat dateFormat = new SimpleDateFormat(pattern);
+        dateFormat.setLenient(false);
+        return dateFormat;
+    }
+
+    /**
+     * Parses a date.
+     *
+     * @param value the string to parse
+     * @return the date
+     */
+    Date parse(final String value) {
+        final String trimmed = value.trim();
+        final ParsePosition position = new ParsePosition(0);
+        final Date date; // NOPMD
+        try {
+            date = get().parse(trimmed, position);
+        } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+            throw new ConversionException(String.class, Date.class); // NOPMD
+        }
+        if (date == null || position.getIndex() != trimmed.length()) {
+            throw new ConversionException(String.class, Date.class);
+        }
+        return date;
+    }
+
+    /**
+     * Computes the date of fields already read from a string, in the calendar and time zone of the date format, so that it is the date
+     * the string would be parsed into.
+     *
+     * @param year the year
+     * @param month the month, from 1
+     * @param day the day of the month
+     * @param hour the hour of the day
+     * @param minute the minute
+     * @param second the second
+     * @param millis the millisecond
+     * @return the date
+     * @throws IllegalArgumentException if a field is out of range
+     */
+    Date toDate(final int year, final int month, final int day, final int hour, final int minute, final int second, final int millis) { // NOPMD
+        //The calendar of the format is reset by every parse, and only ever used by this thread
+        final Calendar calendar = get().getCalendar();
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minute, second);
+        calendar.set(Calendar.MILLISECOND, millis);
+        return calendar.getTime();
+    }
+
+    /**
+     * Formats a date.
+     *
+     * @param value the date
+     * @return the string
+     */
+    String format(final Date value) {
+        try {
+            return get().format(value);
+        } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+            throw new ConversionException(Date.class, String.class); // NOPMD
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.polymathiccoder.yap4j.common;
+
+/**
+ * Used to lookup type conversions error messages.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.1.0
+ */
+final class TypeConversionErrorMessages {
+
+    // CHECKSTYLE:OFF
+    /** The error message when converting from a null or an empty string. */
+    public static final String ERROR_CONVERT_FROM_NULL_OR_EMPTY_STRING = "Cannot convert a null or empty String"; // NOPMD
+
+    /** The error message when the format is missing. */
+    public static final String ERROR_MISSING_FORMAT = "You must provide a format to convert from String"; // NOPMD
+
+    /** The error message when converting a null to a string. */
+    public static final String ERROR_CONVERT_NULL_TO_STRING = "Cannot convert a null to String"; // NOPMD
+
+    /** The error message when the format is missing to convert to a string. */
+    public static final String ERROR_MISSING_FORMAT_TO_STRING = "You must provide a format to convert to String"; // NOPMD
+    // CHECKSTYLE:ON
+    /**
+     * Prevents instantiation.
+     */
+    private TypeConversionErrorMessages() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -3,36 +3,71 @@ package com.polymathiccoder.yap4j.common;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.EnumSet;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.beanutils.ConvertUtils;
-import org.apache.commons.beanutils.converters.DateConverter;
-import org.apache.commons.lang3.EnumUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.joda.time.DateTimeFieldType;
 import org.joda.time.Period;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeParserBucket;
 
 /**
- * Used to perform type conversions.
+ * Used to perform type conversions through a registry of converters.
+ *
+ * A converter is resolved once per type and format, from the converter factory registered for the type, the converter of the enum,
+ * or the Commons BeanUtils converter of the type, in that order, and is then cached. Converters to custom types can be registered.
+ * Converters to types of other class loaders than that of Yap4j are resolved again every time rather than cached, so that the cache
+ * never keeps the classes of a redeployed application from being unloaded.
+ *
+ * Formatters, converting back to strings, are resolved and cached the same way from a registry of their own.
+ *
+ * The registries are versioned, so that whatever is built from their converters and formatters, such as parsing models, can tell that
+ * it is stale once a converter or formatter is registered or removed.
  *
  * @author  Abdelmonaim Remani
- * @version 0.1.0
+ * @version 0.2.0
  * @since 0.1.0
  */
-public enum TypeConverter { // FIXME Must refactor to relieve this horrible cyclomatic complexity
+public enum TypeConverter {
     /** The singleton instance. */
     INSTANCE;
 
+    /** The converter factories mapped to the type they convert to. */
+    private final transient Map<Class<?>, ConverterFactory<?>> factories = new ConcurrentHashMap<Class<?>, ConverterFactory<?>>();
+
+    /** The resolved converters mapped to their type and format. */
+    private final transient Map<List<Object>, Converter<Object>> converters = new ConcurrentHashMap<List<Object>, Converter<Object>>();
+
+    /** The formatter factories mapped to the type they convert from. */
+    private final transient Map<Class<?>, FormatterFactory<?>> formatterFactories = new ConcurrentHashMap<Class<?>, FormatterFactory<?>>();
+
+    /** The resolved formatters mapped to their type and format. */
+    private final transient Map<List<Object>, Formatter<Object>> formatters = new ConcurrentHashMap<List<Object>, Formatter<Object>>();
+
+    /** The version of the registries, incremented whenever a converter or formatter is registered or removed. */
+    private final transient AtomicInteger version = new AtomicInteger();
+
+    /**
+     * Instantiates the type converter, registering the built-in converters.
+     */
+    private TypeConverter() {
+        factories.put(URL.class, Converters.URL_FACTORY);
+        factories.put(Locale.class, Converters.LOCALE_FACTORY);
+        factories.put(Date.class, Converters.DATE_FACTORY);
+        factories.put(TimeZone.class, Converters.TIME_ZONE_FACTORY);
+        factories.put(Period.class, Converters.PERIOD_FACTORY);
+        formatterFactories.put(URL.class, Formatters.URL_FACTORY);
+        formatterFactories.put(Locale.class, Formatters.LOCALE_FACTORY);
+        formatterFactories.put(Date.class, Formatters.DATE_FACTORY);
+        formatterFactories.put(TimeZone.class, Formatters.TIME_ZONE_FACTORY);
+        formatterFactories.put(Period.class, Formatters.PERIOD_FACTORY);
+    }
+
     /**
      * Converts from string to many type.
      *
@@ -41,70 +76,139 @@ public enum TypeConverter { // FIXME Must refactor to relieve this horrible cycl
      * @param format the format of the string to be converted. This is required to convert to temporal types
      * @return the converted object
      */
-    @SuppressWarnings("unchecked")
-    public Object fromString(final String value, @SuppressWarnings("rawtypes") final Class toClass, final String format) { // FIXME Must refactor to relieve this horrible cyclomatic complexity
+    public Object fromString(final String value, @SuppressWarnings("rawtypes") final Class toClass, final String format) {
         checkArgument(!StringUtils.isEmpty(value), TypeConversionErrorMessages.ERROR_CONVERT_FROM_NULL_OR_EMPTY_STRING);
+        return converterFor(toClass, format).fromString(value);
+    }
 
-        Object converted = null; // NOPMD
-        // URL
-        if (toClass == URL.class) {
-            try {
-                converted = new URL(value); // NOPMD
-            } catch (MalformedURLException malformedURLException) { // NOPMD
-                throw new ConversionException(String.class, toClass); // NOPMD
-            }
-        // Locale
-        } else if (toClass == Locale.class) {
-            if (Arrays.asList(Locale.getISOLanguages()).contains(value)) {
-                converted = new Locale(value);
-            } else {
-                throw new ConversionException(String.class, toClass);
-            }
-        // Temporal
-        } else if (toClass == Date.class) {
-            checkArgument(!StringUtils.isEmpty(format), TypeConversionErrorMessages.ERROR_MISSING_FORMAT);
-            final DateConverter dateConverter = new DateConverter();
-            dateConverter.setPattern(format);
-            converted = dateConverter.convert(Date.class, value);
-        } else if (toClass == TimeZone.class) {
-            if (Arrays.asList(TimeZone.getAvailableIDs()).contains(value)) {
-                converted = TimeZone.getTimeZone(value);
-            } else {
-                throw new ConversionException(String.class, toClass);
-            }
-        } else if (toClass == Period.class) {
-            checkArgument(!StringUtils.isEmpty(format), TypeConversionErrorMessages.ERROR_MISSING_FORMAT);
-            converted = new JodaConverter(value, format).toPeriod();
-        // Enum
-        } else if (toClass.isEnum()) {
-            if (StringUtils.isNumeric(value)) {
-                final EnumSet<?> enumValues = EnumSet.allOf(toClass);
-                for (Enum<?> e : enumValues) {
-                    if (Integer.parseInt(value) == e.ordinal()) {
-                        converted = e; // NOPMD
-                        break;
-                    }
-                }
-                if (converted == null) {
-                    throw new ConversionException(String.class, toClass);
-                }
-            } else {
-                if (EnumUtils.isValidEnum(toClass, value)) {
-                    converted = EnumUtils.getEnum(toClass, value);
-                } else {
-                    throw new ConversionException(String.class, toClass);
-                }
-            }
-        // Other
-        } else {
-            try {
-                converted = ConvertUtils.convert(value, toClass); // NOPMD
-            } catch (org.apache.commons.beanutils.ConversionException conversionException) { // NOPMD
-                throw new ConversionException(String.class, toClass); // NOPMD
-            }
+    /**
+     * Resolves a converter from string to the specified type and format.
+     *
+     * @param toClass the type to convert to
+     * @param format the format of the strings to be converted. This is required to convert to temporal types
+     * @return the converter
+     */
+    public Converter<Object> converterFor(@SuppressWarnings("rawtypes") final Class toClass, final String format) {
+        checkNotNull(toClass);
+        if (!ClassLoaders.isCacheSafe(toClass)) {
+            return resolve(toClass, format);
+        }
+        final List<Object> key = Arrays.<Object>asList(toClass, format);
+        Converter<Object> converter = converters.get(key);
+        if (converter == null) {
+            converter = resolve(toClass, format);
+            converters.put(key, converter);
         }
+        return converter;
+    }
+
+    /**
+     * Registers a converter factory for a type, replacing any converter previously registered for it.
+     *
+     * @param <T> the type to convert to
+     * @param toClass the type to convert to
+     * @param factory the converter factory
+     */
+    public <T> void register(final Class<T> toClass, final ConverterFactory<T> factory) {
+        checkNotNull(toClass);
+        checkNotNull(factory);
+        factories.put(toClass, factory);
+        converters.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Registers a converter for a type, whatever the format, replacing any converter previously registered for it.
+     *
+     * @param <T> the type to convert to
+     * @param toClass the type to convert to
+     * @param converter the converter
+     */
+    public <T> void register(final Class<T> toClass, final Converter<T> converter) {
+        checkNotNull(converter);
+        register(toClass, Converters.constant(converter));
+    }
+
+    /**
+     * Removes the converter registered for a type, if any, so that it is converted by its built-in converter again.
+     *
+     * @param toClass the type to convert to
+     */
+    public void unregister(final Class<?> toClass) {
+        checkNotNull(toClass);
+        factories.remove(toClass);
+        converters.clear();
+        version.incrementAndGet();
+    }
 
-        return converted;
+    /**
+     * Returns whether a converter factory is registered for a type, either a built-in one, such as those of temporal types, or a
+     * custom one. Types without one are converted by their enum or Commons BeanUtils converter.
+     *
+     * @param toClass the type to convert to
+     * @return true if registered, false otherwise
+     */
+    public boolean isRegistered(final Class<?> toClass) {
+        return factories.containsKey(toClass);
+    }
+
+    /**
+     * Registers a formatter factory for a type, replacing any formatter previously registered for it.
+     *
+     * @param <T> the type to convert from
+     * @param fromClass the type to convert from
+     * @param factory the formatter factory
+     */
+    public <T> void registerFormatter(final Class<T> fromClass, final FormatterFactory<T> factory) {
+        checkNotNull(fromClass);
+        checkNotNull(factory);
+        formatterFactories.put(fromClass, factory);
+        formatters.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Registers a formatter for a type, whatever the format, replacing any formatter previously registered for it.
+     *
+     * @param <T> the type to convert from
+     * @param fromClass the type to convert from
+     * @param formatter the formatter
+     */
+    public <T> void registerFormatter(final Class<T> fromClass, final Formatter<T> formatter) {
+        checkNotNull(formatter);
+        registerFormatter(fromClass, Formatters.constant(formatter));
+    }
+
+    /**
+     * Removes the formatter registered for a type, if any, so that it is formatted by its built-in formatter again.
+     *
+     * @param fromClass the type to convert from
+     */
+    public void unregisterFormatter(final Class<?> fromClass) {
+        checkNotNull(fromClass);
+        formatterFactories.remove(fromClass);
+        formatters.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns whether a formatter factory is registered for a type, either a built-in one or a custom one. Types without one are
+     * formatted by their enum or Commons BeanUtils formatter.
+     *
+     * @param fromClass the type to convert from
+     * @return true if registered, false otherwise
+     */
+    public boolean isFormatterRegistered(final Class<?> fromClass) {
+        return formatterFactories.containsKey(fromClass);
+    }
+
+    /**
+     * Gets the version of the registries, which changes whenever a converter or formatter is registered or removed.
+     *
+     * @return the version
+     */
+    public int getVersion() {
+        return version.get();
     }
 
     /**
@@ -119,78 +223,78 @@ public enum TypeConverter { // FIXME Must refactor to relieve this horrible cycl
     }
 
     /**
-     * Used to convert temporal types from string in a specific format using
-     * standard Java date and time patterns. Refer to {@link java.text.SimpleDateFormat the list of the patterns}
+     * Converts many type to a string, the reverse of {@link #fromString(String, Class, String)}.
+     *
+     * @param value the value to convert
+     * @param fromClass the type to convert from
+     * @param format the format of the string. This is required to convert from temporal types
+     * @return the string
      */
-    private static class JodaConverter extends DateTimeParserBucket {
-
-        /** The parsed values mapped to their field type. */
-        private final transient Map<DateTimeFieldType, Integer> values;
+    public String toString(final Object value, @SuppressWarnings("rawtypes") final Class fromClass, final String format) {
+        checkNotNull(value, TypeConversionErrorMessages.ERROR_CONVERT_NULL_TO_STRING);
+        return formatterFor(fromClass, format).toString(value);
+    }
 
-        /* (non-Javadoc)
-         * @see org.joda.time.format.DateTimeParserBucket#saveField(org.joda.time.DateTimeFieldType, int)
-         */
-        @Override
-        public void saveField(final DateTimeFieldType fieldType, final int value) {
-            //Intercept the call to saveField
-            values.put(fieldType, value);
-            super.saveField(fieldType, value);
+    /**
+     * Resolves a formatter from the specified type to string in the specified format.
+     *
+     * @param fromClass the type to convert from
+     * @param format the format of the strings. This is required to convert from temporal types
+     * @return the formatter
+     */
+    public Formatter<Object> formatterFor(@SuppressWarnings("rawtypes") final Class fromClass, final String format) {
+        checkNotNull(fromClass);
+        if (!ClassLoaders.isCacheSafe(fromClass)) {
+            return resolveFormatter(fromClass, format);
         }
-
-        /**
-         * Instantiates a new joda converter.
-         *
-         * @param value the value
-         * @param format the format
-         */
-        public JodaConverter(final String value, final String format) {
-            super(0, null, null, 0, 0);
-            values = new HashMap<DateTimeFieldType, Integer>();
-            try {
-                //call to trigger parsing and construct the map. Refer to the overriden method above saveField.
-                DateTimeFormat.forPattern(format).getParser().parseInto(this, value, 0);
-            } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
-                throw new ConversionException(String.class); // NOPMD
-            }
+        final List<Object> key = Arrays.<Object>asList(fromClass, format);
+        Formatter<Object> formatter = formatters.get(key);
+        if (formatter == null) {
+            formatter = resolveFormatter(fromClass, format);
+            formatters.put(key, formatter);
         }
+        return formatter;
+    }
 
-        /**
-         * To period.
-         *
-         * @return the period
-         */
-        public Period toPeriod() {
-            Period period = new Period(); // NOPMD
-            for (Map.Entry<DateTimeFieldType, Integer> entry : values
-                    .entrySet()) {
-                try {
-                    period = period.withField(entry.getKey().getDurationType(),
-                            entry.getValue());
-                } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
-                    throw new ConversionException(String.class, Period.class); // NOPMD
-                }
-            }
-            return period;
+    /**
+     * Resolves a converter from string to the specified type and format, without caching it.
+     *
+     * @param toClass the type to convert to
+     * @param format the format of the strings to be converted
+     * @return the converter
+     */
+    @SuppressWarnings("unchecked")
+    private Converter<Object> resolve(final Class<?> toClass, final String format) {
+        final ConverterFactory<?> factory = factories.get(toClass);
+        Converter<Object> converter; // NOPMD
+        if (factory != null) {
+            converter = (Converter<Object>) factory.create(format);
+        } else if (toClass.isEnum()) {
+            converter = Converters.forEnum(toClass);
+        } else {
+            converter = Converters.forBeanUtils(toClass);
         }
+        return converter;
     }
-}
-
-/**
- * Used to lookup type conversions error messages.
- */
-final class TypeConversionErrorMessages {
 
-    // CHECKSTYLE:OFF
-    /** The error message when converting from a null or an empty string. */
-    public static final String ERROR_CONVERT_FROM_NULL_OR_EMPTY_STRING = "Cannot convert a null or empty String"; // NOPMD
-
-    /** The error message when the format is missing. */
-    public static final String ERROR_MISSING_FORMAT = "You must provide a format to convert from String"; // NOPMD
-    // CHECKSTYLE:ON
     /**
-     * Prevents instantiation.
+     * Resolves a formatter from the specified type to string in the specified format, without caching it.
+     *
+     * @param fromClass the type to convert from
+     * @param format the format of the strings
+     * @return the formatter
      */
-    private TypeConversionErrorMessages() {
-        throw new UnsupportedOperationException();
+    @SuppressWarnings("unchecked")
+    private Formatter<Object> resolveFormatter(final Class<?> fromClass, final String format) {
+        final FormatterFactory<?> factory = formatterFactories.get(fromClass);
+        Formatter<Object> formatter; // NOPMD
+        if (factory != null) {
+            formatter = (Formatter<Object>) factory.create(format);
+        } else if (fromClass.isEnum()) {
+            formatter = Formatters.forEnum();
+        } else {
+            formatter = Formatters.forBeanUtils(fromClass);
+        }
+        return formatter;
     }
 }
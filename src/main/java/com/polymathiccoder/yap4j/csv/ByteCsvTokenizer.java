@@ -0,0 +1,188 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Used to tokenize CSV records directly from the bytes of a file, without decoding them. Large ranges of the file are memory-mapped a
+ * window at a time, and small ranges are read into a reusable buffer. Only the fields actually requested are decoded, with a fast path
+ * for records made of ASCII bytes only.
+ *
+ * Only encodings supported by {@link RecordBoundaryScanner#supports(Charset, char)} can be tokenized this way.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class ByteCsvTokenizer extends CsvTokenizer {
+
+    /** The mask of the bits of a byte. */
+    private static final int UNSIGNED_BYTE = 0xFF;
+
+    /** The first byte beyond ASCII. */
+    private static final int NON_ASCII = 0x80;
+
+    /** The size of the read buffer. */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** The size from which a range of the file is memory-mapped rather than read. */
+    private static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+    /** The size of the memory-mapped windows. */
+    private static final int MAPPING_WINDOW = 32 * 1024 * 1024;
+
+    /** The file channel. */
+    private final transient FileChannel channel;
+
+    /** The offset of the end of the range. */
+    private final transient long end;
+
+    /** Whether the range is memory-mapped or read. */
+    private final transient boolean mapped;
+
+    /** The delimiter. */
+    private final transient char delimiter;
+
+    /** The charset. */
+    private final transient Charset charset;
+
+    /** The offset of the next byte to map or read. */
+    private transient long position;
+
+    /** The current memory-mapped window, or the read buffer. */
+    private transient ByteBuffer buffer;
+
+    /** The unescaped bytes of the current record. */
+    private transient byte[] record = new byte[INITIAL_RECORD_SIZE];
+
+    /** The bitwise or of the bytes of the current record, at least {@link #NON_ASCII} if any is not ASCII. */
+    private transient int asciiMask;
+
+    /**
+     * Instantiates a new CSV tokenizer over a range of a file.
+     *
+     * @param channel the file channel
+     * @param start the offset of the start of the range
+     * @param end the offset of the end of the range, past the end of the file to read it all
+     * @param delimiter the delimiter
+     * @param charset the charset
+     * @throws IOException if the size of the file could not be read
+     */
+    ByteCsvTokenizer(final FileChannel channel, final long start, final long end, final char delimiter, final Charset charset) throws IOException {
+        super();
+        this.channel = channel;
+        this.end = Math.min(end, channel.size());
+        this.position = start;
+        this.mapped = this.end - start >= MAPPING_THRESHOLD;
+        this.buffer = mapped ? ByteBuffer.allocate(0) : (ByteBuffer) ByteBuffer.allocate(READ_BUFFER_SIZE).limit(0);
+        this.delimiter = delimiter;
+        this.charset = charset;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#readRecord()
+     */
+    @Override
+    protected boolean readRecord() throws IOException {
+        asciiMask = 0;
+        recordOffset = position - buffer.remaining();
+        return tokenizeRecord(delimiter);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#nextUnit()
+     */
+    @Override
+    protected int nextUnit() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return END_OF_INPUT;
+        }
+        return buffer.get() & UNSIGNED_BYTE;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#decode(int, int)
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    protected String decode(final int start, final int end) {
+        if (asciiMask < NON_ASCII) {
+            //ASCII bytes map one-to-one to characters whatever the charset
+            return new String(record, 0, start, end - start);
+        }
+        return new String(record, start, end - start, charset);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#charAt(int)
+     */
+    @Override
+    protected char charAt(final int offset) {
+        return (char) record[offset];
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#isViewable()
+     */
+    @Override
+    protected boolean isViewable() {
+        //ASCII bytes map one-to-one to characters whatever the charset
+        return asciiMask < NON_ASCII;
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        report();
+        channel.close();
+    }
+
+    /**
+     * Maps the next window of the range, or reads the next bytes of the range.
+     *
+     * @return true if bytes are available, false at the end of the range
+     * @throws IOException if the file could not be read
+     */
+    private boolean fill() throws IOException {
+        if (position >= end) {
+            return false;
+        }
+        final long start = readStarted();
+        if (mapped) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPING_WINDOW, end - position));
+            position += buffer.remaining();
+            readEnded(start, buffer.remaining());
+            return true;
+        }
+        buffer.clear();
+        if (end - position < buffer.capacity()) {
+            buffer.limit((int) (end - position));
+        }
+        final int read = channel.read(buffer, position);
+        if (read < 0) {
+            return false;
+        }
+        readEnded(start, read);
+        position += read;
+        buffer.flip();
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#append(int)
+     */
+    @Override
+    protected void append(final int unit) {
+        if (recordLength == record.length) {
+            final byte[] grown = new byte[record.length << 1];
+            System.arraycopy(record, 0, grown, 0, recordLength);
+            record = grown;
+        }
+        asciiMask |= unit;
+        record[recordLength++] = (byte) unit;
+    }
+}
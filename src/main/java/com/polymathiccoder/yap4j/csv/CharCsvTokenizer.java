@@ -0,0 +1,130 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Used to tokenize CSV records from characters, whatever their encoding.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class CharCsvTokenizer extends CsvTokenizer {
+
+    /** The size of the read buffer. */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** The reader. */
+    private final transient Reader reader;
+
+    /** The delimiter. */
+    private final transient char delimiter;
+
+    /** The read buffer. */
+    private final transient char[] readBuffer = new char[READ_BUFFER_SIZE];
+
+    /** The position in the read buffer. */
+    private transient int readPosition;
+
+    /** The number of characters in the read buffer. */
+    private transient int readLimit;
+
+    /** The number of characters read before the read buffer. */
+    private transient long consumed;
+
+    /** The unescaped characters of the current record. */
+    private transient char[] record = new char[INITIAL_RECORD_SIZE];
+
+    /**
+     * Instantiates a new CSV tokenizer.
+     *
+     * @param reader the reader of the CSV records
+     * @param delimiter the delimiter
+     */
+    CharCsvTokenizer(final Reader reader, final char delimiter) {
+        super();
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#readRecord()
+     */
+    @Override
+    protected boolean readRecord() throws IOException {
+        recordOffset = consumed + readPosition;
+        return tokenizeRecord(delimiter);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#nextUnit()
+     */
+    @Override
+    protected int nextUnit() throws IOException {
+        if (readPosition == readLimit && !fill()) {
+            return END_OF_INPUT;
+        }
+        return readBuffer[readPosition++];
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#decode(int, int)
+     */
+    @Override
+    protected String decode(final int start, final int end) {
+        return new String(record, start, end - start);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#charAt(int)
+     */
+    @Override
+    protected char charAt(final int offset) {
+        return record[offset];
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        report();
+        reader.close();
+    }
+
+    /**
+     * Fills the read buffer.
+     *
+     * @return true if characters have been read, false at the end of the input
+     * @throws IOException if the input could not be read
+     */
+    private boolean fill() throws IOException {
+        final long start = readStarted();
+        int read;
+        do {
+            read = reader.read(readBuffer, 0, readBuffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        readEnded(start, read);
+        consumed += readLimit;
+        readPosition = 0;
+        readLimit = read;
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#append(int)
+     */
+    @Override
+    protected void append(final int unit) {
+        if (recordLength == record.length) {
+            final char[] grown = new char[record.length << 1];
+            System.arraycopy(record, 0, grown, 0, recordLength);
+            record = grown;
+        }
+        record[recordLength++] = (char) unit;
+    }
+}
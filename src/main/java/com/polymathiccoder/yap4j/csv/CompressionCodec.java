@@ -0,0 +1,54 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Used to compress and decompress CSV files transparently. A codec is chosen for a source from the extension of its name or from its
+ * first bytes, and for a file to be written from its extension.
+ *
+ * Gzip is built in. Other codecs, such as LZ4 or Zstandard, are discovered through {@link java.util.ServiceLoader}, by listing their
+ * implementation in a <code>META-INF/services/com.polymathiccoder.yap4j.csv.CompressionCodec</code> file, and are only used when they
+ * can be loaded.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public interface CompressionCodec {
+
+    /**
+     * Returns the extension of the names of compressed files, such as <code>.gz</code>.
+     *
+     * @return the extension, including the leading dot
+     */
+    String getExtension();
+
+    /**
+     * Returns whether the first bytes of a source are the magic bytes of compressed data.
+     *
+     * @param magic the first bytes
+     * @param length the number of first bytes, which may be fewer than the magic bytes for short sources
+     * @return true if compressed, false otherwise
+     */
+    boolean matches(byte[] magic, int length);
+
+    /**
+     * Wraps a stream of compressed bytes into a stream of decompressed bytes.
+     *
+     * @param input the compressed bytes
+     * @return the decompressed bytes
+     * @throws IOException if the compressed bytes could not be read
+     */
+    InputStream decompress(InputStream input) throws IOException;
+
+    /**
+     * Wraps a stream to write compressed bytes to into a stream of bytes to be compressed.
+     *
+     * @param output the stream to write compressed bytes to
+     * @return the stream of bytes to be compressed
+     * @throws IOException if the compressed bytes could not be written
+     */
+    OutputStream compress(OutputStream output) throws IOException;
+}
@@ -0,0 +1,199 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.extern.java.Log;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Used to detect the compression of CSV sources, and to decompress them as they are read. The built-in gzip codec comes first,
+ * followed by the codecs discovered on the classpath.
+ *
+ * Compressed sources are decompressed on a separate thread, which fills buffers ahead of the tokenizer, so that decompressing and
+ * parsing overlap.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@Log
+final class CompressionCodecs {
+
+    /** The number of first bytes compression is detected from. */
+    private static final int MAGIC_LENGTH = 4;
+
+    /** The error message when a codec could not be loaded. */
+    private static final String ERROR_LOADING_CODEC = "Could not load a compression codec: %s";
+
+    /** The size of the buffers of the compressed streams. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The gzip codec. */
+    private static final CompressionCodec GZIP = new CompressionCodec() {
+        @Override
+        public String getExtension() {
+            return ".gz";
+        }
+
+        @Override
+        public boolean matches(final byte[] magic, final int length) {
+            return length >= 2 && magic[0] == (byte) GZIPInputStream.GZIP_MAGIC && magic[1] == (byte) (GZIPInputStream.GZIP_MAGIC >> 8);
+        }
+
+        @Override
+        public InputStream decompress(final InputStream input) throws IOException {
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        }
+
+        @Override
+        public OutputStream compress(final OutputStream output) throws IOException {
+            return new GZIPOutputStream(output, BUFFER_SIZE);
+        }
+    };
+
+    /** The codecs. */
+    private static final List<CompressionCodec> CODECS = load();
+
+    /**
+     * Prevents instantiation.
+     */
+    private CompressionCodecs() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the codec of a name, from its extension.
+     *
+     * @param name the name, or null if there is none
+     * @return the codec, or null if the name is not the one of a compressed file
+     */
+    static CompressionCodec forName(final String name) {
+        if (name != null) {
+            for (CompressionCodec codec : CODECS) {
+                if (name.endsWith(codec.getExtension())) {
+                    return codec;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the codec of a file, from its extension or from its first bytes.
+     *
+     * @param file the file
+     * @return the codec, or null if the file is not compressed
+     * @throws IOException if the file could not be read
+     */
+    static CompressionCodec forFile(final File file) throws IOException {
+        final CompressionCodec codec = forName(file.getName());
+        if (codec != null) {
+            return codec;
+        }
+        final InputStream input = new FileInputStream(file);
+        try {
+            final byte[] magic = new byte[MAGIC_LENGTH];
+            return forMagic(magic, readFully(input, magic));
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Detects the compression of a source from the extension of its name or from its first bytes, and decompresses it on a separate
+     * thread if it is compressed. In a pipelined parse, the source is read on a separate thread even if it is not compressed.
+     *
+     * @param input the bytes of the source
+     * @param name the name of the source, or null if there is none
+     * @param metrics the stage metrics of a pipelined parse, or null
+     * @return the decompressed bytes, or the bytes of the source as they are if it is neither compressed nor pipelined
+     * @throws IOException if the source could not be read
+     */
+    static InputStream decompress(final InputStream input, final String name, final StageMetrics metrics) throws IOException {
+        CompressionCodec codec = forName(name); // NOPMD
+        final PushbackInputStream pushback = new PushbackInputStream(input, MAGIC_LENGTH);
+        if (codec == null) {
+            final byte[] magic = new byte[MAGIC_LENGTH];
+            final int length = readFully(pushback, magic);
+            pushback.unread(magic, 0, length);
+            codec = forMagic(magic, length);
+        }
+        if (codec == null) {
+            return metrics == null ? pushback : new ReadAheadInputStream(pushback, metrics);
+        }
+        return new ReadAheadInputStream(codec.decompress(pushback), metrics);
+    }
+
+    /**
+     * Returns the codec of the first bytes of a source.
+     *
+     * @param magic the first bytes
+     * @param length the number of first bytes
+     * @return the codec, or null if the source is not compressed
+     */
+    private static CompressionCodec forMagic(final byte[] magic, final int length) {
+        for (CompressionCodec codec : CODECS) {
+            if (codec.matches(magic, length)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads bytes until the buffer is full or the input ends.
+     *
+     * @param input the input
+     * @param buffer the buffer
+     * @return the number of bytes read
+     * @throws IOException if the input could not be read
+     */
+    private static int readFully(final InputStream input, final byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            final int read = input.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Loads the built-in codec and the codecs discovered on the classpath, skipping those that cannot be loaded.
+     *
+     * @return the codecs
+     */
+    private static List<CompressionCodec> load() {
+        final ImmutableList.Builder<CompressionCodec> codecs = ImmutableList.builder();
+        codecs.add(GZIP);
+        final Iterator<CompressionCodec> discovered = ServiceLoader.load(CompressionCodec.class).iterator();
+        try {
+            while (discovered.hasNext()) {
+                try {
+                    codecs.add(discovered.next());
+                } catch (ServiceConfigurationError serviceConfigurationError) { // NOPMD
+                    //The codec or its compression library is missing
+                    log.warning(String.format(ERROR_LOADING_CODEC, serviceConfigurationError.getMessage()));
+                }
+            }
+        } catch (ServiceConfigurationError serviceConfigurationError) { // NOPMD
+            //The provider configuration itself is malformed
+            log.warning(String.format(ERROR_LOADING_CODEC, serviceConfigurationError.getMessage()));
+        }
+        return codecs.build();
+    }
+}
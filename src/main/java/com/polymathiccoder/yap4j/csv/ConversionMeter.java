@@ -0,0 +1,160 @@
+package com.polymathiccoder.yap4j.csv;
+
+/**
+ * Used to meter the conversion of the records of a single tokenizer, chunk, or batch, on the thread parsing them, and to report the
+ * totals to the listener once done. Values are counted by entry, and one record in {@link ParsingListener#SAMPLING_INTERVAL} is timed,
+ * the time spent on the others being estimated from it.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class ConversionMeter {
+
+    /** The listener. */
+    private final transient ParsingListener listener;
+
+    /** The types of the entries. */
+    private final transient Class<?>[] types;
+
+    /** The number of values converted by entry. */
+    private final transient long[] values;
+
+    /** The number of values that have fallen back to the converter by entry. */
+    private final transient long[] fallbacks;
+
+    /** The number of values timed by entry. */
+    private final transient long[] timedValues;
+
+    /** The time spent converting the values timed by entry, in nanoseconds. */
+    private final transient long[] nanos;
+
+    /** The number of beans instantiated. */
+    private transient long instances;
+
+    /** The number of beans timed. */
+    private transient long timedInstances;
+
+    /** The time spent instantiating the beans timed, in nanoseconds. */
+    private transient long instantiateNanos;
+
+    /** The number of records until the next one timed. */
+    private transient int countdown;
+
+    /**
+     * Instantiates a new conversion meter.
+     *
+     * @param listener the listener
+     * @param entries the bound entries
+     */
+    ConversionMeter(final ParsingListener listener, final CsvParserFactory.ParsingModel.Entry[] entries) {
+        this(listener, typesOf(entries));
+    }
+
+    /**
+     * Instantiates a new conversion meter of the columns of a schema, or of any values indexed by type.
+     *
+     * @param listener the listener
+     * @param types the types converted to, by index
+     */
+    ConversionMeter(final ParsingListener listener, final Class<?>[] types) {
+        this.listener = listener;
+        this.types = types;
+        this.values = new long[types.length];
+        this.fallbacks = new long[types.length];
+        this.timedValues = new long[types.length];
+        this.nanos = new long[types.length];
+    }
+
+    /**
+     * Gets the types of the fields of entries.
+     *
+     * @param entries the entries
+     * @return the types, by entry
+     */
+    private static Class<?>[] typesOf(final CsvParserFactory.ParsingModel.Entry[] entries) {
+        final Class<?>[] types = new Class<?>[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            types[i] = entries[i].field.getType();
+        }
+        return types;
+    }
+
+    /**
+     * Starts a record.
+     *
+     * @return true if the record is to be timed, false otherwise
+     */
+    boolean sample() {
+        if (countdown > 0) {
+            countdown--;
+            return false;
+        }
+        countdown = ParsingListener.SAMPLING_INTERVAL - 1;
+        return true;
+    }
+
+    /**
+     * Counts a bean instantiated.
+     *
+     * @param elapsed the time spent instantiating it in nanoseconds, or a negative value if it was not timed
+     */
+    void instantiated(final long elapsed) {
+        instances++;
+        if (elapsed >= 0) {
+            timedInstances++;
+            instantiateNanos += elapsed;
+        }
+    }
+
+    /**
+     * Counts a value converted.
+     *
+     * @param entry the index of the entry
+     * @param fallback whether the value has fallen back to the converter
+     * @param elapsed the time spent converting it in nanoseconds, or a negative value if it was not timed
+     */
+    void converted(final int entry, final boolean fallback, final long elapsed) {
+        values[entry]++;
+        if (fallback) {
+            fallbacks[entry]++;
+        }
+        if (elapsed >= 0) {
+            timedValues[entry]++;
+            nanos[entry] += elapsed;
+        }
+    }
+
+    /**
+     * Reports the totals counted so far to the listener, and starts counting again.
+     */
+    void flush() {
+        if (instances > 0) {
+            listener.instantiated(instances, estimate(instantiateNanos, timedInstances, instances));
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (values[i] > 0) {
+                listener.converted(types[i], values[i], fallbacks[i], estimate(nanos[i], timedValues[i], values[i]));
+            }
+            values[i] = 0;
+            fallbacks[i] = 0;
+            timedValues[i] = 0;
+            nanos[i] = 0;
+        }
+        instances = 0;
+        timedInstances = 0;
+        instantiateNanos = 0;
+    }
+
+    /**
+     * Estimates the time spent on all the occurrences of an operation from the occurrences timed.
+     *
+     * @param timedNanos the time spent on the occurrences timed, in nanoseconds
+     * @param timed the number of occurrences timed
+     * @param count the number of occurrences
+     * @return the estimated time, in nanoseconds
+     */
+    static long estimate(final long timedNanos, final long timed, final long count) {
+        return timed == 0 ? 0 : (long) ((double) timedNanos * count / timed);
+    }
+}
@@ -0,0 +1,251 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableList;
+import com.polymathiccoder.yap4j.CloseableIterator;
+import com.polymathiccoder.yap4j.RecordHandler;
+
+/**
+ * Used to parse a set of CSV files of the same type, such as the shards of a directory, concurrently. The files share the parsing
+ * model of the type, and each binds its own header.
+ *
+ * Files are parsed whole on the configured number of threads, or on the executor, and files larger than a chunk are split into chunks
+ * parsed alongside the other files, so that a single large file does not hold back the others. Records are handed over in the order of
+ * the files, or as soon as their file or chunk is parsed.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class CsvFileSetParser {
+
+    /** The type to parse into. */
+    private final transient Class<?> clazz;
+
+    /** The files. */
+    private final transient List<File> files;
+
+    /** The settings. */
+    private final transient CsvParserSettings settings;
+
+    /** The parser the parsers of the files are derived from, parsing on the thread it is invoked on. */
+    private final transient CsvParser prototype;
+
+    /**
+     * Instantiates a new CSV file set parser.
+     *
+     * @param clazz the type to parse into
+     * @param parsingModel the parsing model
+     * @param settings the settings
+     * @param files the files
+     */
+    public CsvFileSetParser(final Class<?> clazz, final CsvParserFactory.ParsingModel parsingModel, final CsvParserSettings settings,
+            final Collection<File> files) {
+        this.clazz = clazz;
+        this.files = ImmutableList.copyOf(files);
+        this.settings = new CsvParserSettings(settings);
+        //Each file or chunk is parsed sequentially, the files being parsed concurrently
+        final CsvParserSettings fileSettings = new CsvParserSettings(settings).threads(1).pipelined(false);
+        this.prototype = new CsvParser(clazz, parsingModel, fileSettings, CsvSource.of(new File(parsingModel.record.fileName)));
+    }
+
+    /**
+     * Lists the files of a directory whose names match a glob pattern, in the order of their names. The pattern supports the
+     * {@code *} and {@code ?} wildcards, matching any number of characters and a single character respectively.
+     *
+     * @param directory the directory
+     * @param glob the glob pattern, such as {@code "*.csv"}
+     * @return the files
+     */
+    public static List<File> listFiles(final File directory, final String glob) {
+        final Pattern pattern = toPattern(glob);
+        final File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(final File file) {
+                return file.isFile() && pattern.matcher(file.getName()).matches();
+            }
+        });
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        Arrays.sort(files);
+        return Arrays.asList(files);
+    }
+
+    /**
+     * Gets the files.
+     *
+     * @return the files
+     */
+    public List<File> getFiles() {
+        return files;
+    }
+
+    /**
+     * Parses all the files into a single list of records.
+     *
+     * @param <T> the type to parse into
+     * @return the records
+     */
+    public <T> List<T> deserialize() {
+        final List<T> list = new ArrayList<T>();
+        deserialize(new RecordHandler<T>() {
+            @Override
+            public void handle(final T record) {
+                list.add(record);
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Parses all the files, handing the records over to a handler on the calling thread as they are parsed.
+     *
+     * @param <T> the type to parse into
+     * @param handler the handler of the records
+     */
+    public <T> void deserialize(final RecordHandler<T> handler) { // NOPMD
+        final boolean dedicatedPool = settings.getExecutor() == null;
+        final ExecutorService executor = dedicatedPool ? Executors.newFixedThreadPool(settings.getThreads(), CsvParser.THREAD_FACTORY) : settings.getExecutor();
+        final CompletionService<List<T>> completionService = new ExecutorCompletionService<List<T>>(executor);
+        final LinkedList<Future<List<T>>> pending = new LinkedList<Future<List<T>>>();
+        //The budget of errors is shared by all the files
+        final ErrorBudget errors = new ErrorBudget(settings.getErrorPolicy(), settings.getRejects(), settings.getListener(), String.format(FileSetErrorMessages.SOURCE_NAME, files.size()));
+        try {
+            //Keep at most two files or chunks per thread in flight
+            final int window = settings.getThreads() << 1;
+            for (File file : files) {
+                final CloseableIterator<Callable<List<T>>> tasks = prototype.withSource(CsvSource.of(file)).planTasks(errors);
+                try {
+                    while (tasks.hasNext()) {
+                        pending.add(completionService.submit(tasks.next()));
+                        if (pending.size() >= window) {
+                            handleAll(next(pending, completionService), handler);
+                        }
+                    }
+                } finally {
+                    tasks.close();
+                }
+            }
+            while (!pending.isEmpty()) {
+                handleAll(next(pending, completionService), handler);
+            }
+            errors.finish();
+        } finally {
+            for (Future<List<T>> future : pending) {
+                future.cancel(true);
+            }
+            if (dedicatedPool) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Waits for the records of the next file or chunk, in the order of the files or in completion order.
+     *
+     * @param <T> the type to parse into
+     * @param pending the files and chunks in flight in order
+     * @param completionService the completion service they have been submitted to
+     * @return the records
+     */
+    private <T> List<T> next(final LinkedList<Future<List<T>>> pending, final CompletionService<List<T>> completionService) {
+        try {
+            final Future<List<T>> future;
+            if (settings.isOrdered()) {
+                future = pending.removeFirst();
+            } else {
+                future = completionService.take();
+                pending.remove(future);
+            }
+            return future.get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new ParsingException(String.format(FileSetErrorMessages.ERROR_INTERRUPTED, clazz.getSimpleName()), interruptedException);
+        } catch (ExecutionException executionException) {
+            final Throwable cause = executionException.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ParsingException(String.format(FileSetErrorMessages.ERROR_GENERIC, List.class.getSimpleName(), clazz.getSimpleName()), cause);
+        }
+    }
+
+    /**
+     * Hands records over to a handler.
+     *
+     * @param <T> the type to parse into
+     * @param records the records
+     * @param handler the handler of the records
+     */
+    private static <T> void handleAll(final List<T> records, final RecordHandler<T> handler) {
+        for (T record : records) {
+            handler.handle(record);
+        }
+    }
+
+    /**
+     * Translates a glob pattern into a regular expression.
+     *
+     * @param glob the glob pattern
+     * @return the regular expression
+     */
+    private static Pattern toPattern(final String glob) {
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            final char character = glob.charAt(i);
+            if (character == '*' || character == '?') {
+                if (literal.length() > 0) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(character == '*' ? ".*" : ".");
+            } else {
+                literal.append(character);
+            }
+        }
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Used to lookup file set parsing error messages.
+     */
+    private static final class FileSetErrorMessages {
+
+        /** The generic error message. */
+        private static final String ERROR_GENERIC = "Could not parse the files into a %s<%s>";
+
+        /** The name of the set of files, for error messages. */
+        private static final String SOURCE_NAME = "a set of %d files";
+
+        /** The error message when interrupted. */
+        private static final String ERROR_INTERRUPTED = "Interrupted while parsing the files of %s";
+
+        /**
+         * Prevents instantiation.
+         */
+        private FileSetErrorMessages() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -1,26 +1,58 @@
 package com.polymathiccoder.yap4j.csv;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.lang.reflect.Field;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Scanner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
 
-import lombok.Cleanup;
 import lombok.extern.java.Log;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.LimitInputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.polymathiccoder.yap4j.CloseableIterator;
 import com.polymathiccoder.yap4j.Parser;
-import com.polymathiccoder.yap4j.common.TypeConverter;
+import com.polymathiccoder.yap4j.RecordHandler;
 import com.polymathiccoder.yap4j.csv.annotation.CsvEntry;
+import com.polymathiccoder.yap4j.table.Column;
+import com.polymathiccoder.yap4j.table.Table;
 
 /**
  * Used a CSV file into a list of object and vice versa.
  *
+ * A parser is immutable and can be invoked by any number of threads at once: the positions of the fields are bound from the header
+ * by every invocation, and the parsing model is only read. Sources that can only be read once, such as streams, still allow a single
+ * invocation.
+ *
  * @author  Abdelmonaim Remani
  * @version 0.2.0
  * @since 0.1.0
@@ -28,12 +60,27 @@ import com.polymathiccoder.yap4j.csv.annotation.CsvEntry;
 @Log
 public final class CsvParser implements Parser {
 
+    /** The factory of the threads of dedicated pools. */
+    static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("yap4j-csv-%d").build();
+
     /** The type to parse into. */
     private final transient Class<?> clazz;
 
     /** The parsing model. */
     private final transient CsvParserFactory.ParsingModel parsingModel;
 
+    /** The settings. */
+    private final transient CsvParserSettings settings;
+
+    /** The delimiter. */
+    private final transient char delimiter;
+
+    /** The charset of the file. */
+    private final transient Charset charset;
+
+    /** The source of the CSV records. */
+    private final transient CsvSource source;
+
     /**
      * Instantiates a new CSV parser.
      *
@@ -41,39 +88,546 @@ public final class CsvParser implements Parser {
      * @param parsingModel the parsing model
      */
     public CsvParser(final Class<?> clazz, final CsvParserFactory.ParsingModel parsingModel) {
+        this(clazz, parsingModel, new CsvParserSettings());
+    }
+
+    /**
+     * Instantiates a new CSV parser.
+     *
+     * @param clazz the type to parse into
+     * @param parsingModel the parsing model
+     * @param settings the settings
+     */
+    public CsvParser(final Class<?> clazz, final CsvParserFactory.ParsingModel parsingModel, final CsvParserSettings settings) {
+        this(clazz, parsingModel, settings, CsvSource.of(new File(parsingModel.record.fileName)));
+    }
+
+    /**
+     * Instantiates a new CSV parser reading from a source other than the file of the parsing model.
+     *
+     * @param clazz the type to parse into
+     * @param parsingModel the parsing model
+     * @param settings the settings
+     * @param source the source of the CSV records
+     */
+    public CsvParser(final Class<?> clazz, final CsvParserFactory.ParsingModel parsingModel, final CsvParserSettings settings, final CsvSource source) {
         this.clazz = clazz;
         this.parsingModel = parsingModel;
+        this.settings = new CsvParserSettings(settings);
+        if (parsingModel.record.delimiter.length() != 1) {
+            throw new ParsingException(ParsingErrorMessages.ERROR_INVALID_DELIMITER);
+        }
+        this.delimiter = parsingModel.record.delimiter.charAt(0);
+        this.charset = this.settings.getCharset();
+        this.source = source;
+    }
+
+    /**
+     * Creates a parser of the same type and settings reading from another source. The parsing model is shared rather than compiled
+     * again, so that a single parser per type can serve any number of sources.
+     *
+     * @param source the source of the CSV records
+     * @return the CSV parser
+     */
+    public CsvParser withSource(final CsvSource source) {
+        return new CsvParser(clazz, parsingModel, settings, source);
     }
 
     /* (non-Javadoc)
-     * @see com.polymathiccoder.yap4j.csv.Parser#deserialize()
+     * @see com.polymathiccoder.yap4j.Parser#deserialize()
      */
     @Override
-    @SuppressWarnings("unchecked")
     public <T> List<T> deserialize() {
         final List<T> list = new ArrayList<T>();
-        final File file = new File(parsingModel.record.fileName);
+        deserialize(new RecordHandler<T>() {
+            @Override
+            public void handle(final T record) {
+                list.add(record);
+            }
+        });
+        return list;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.Parser#deserialize(com.polymathiccoder.yap4j.RecordHandler)
+     */
+    @Override
+    public <T> void deserialize(final RecordHandler<T> handler) {
+        final boolean pipelined = settings.isPipelined();
+        if (pipelined || isParallel()) {
+            final RecordHandler<List<T>> chunkHandler = new RecordHandler<List<T>>() {
+                @Override
+                public void handle(final List<T> records) {
+                    for (T record : records) {
+                        handler.handle(record);
+                    }
+                }
+            };
+            if (pipelined) {
+                parsePipelined(new RecordsChunkParser<T>(), chunkHandler, settings.isOrdered());
+            } else {
+                parseInParallel(new RecordsChunkParser<T>(), chunkHandler, settings.isOrdered());
+            }
+            return;
+        }
+
+        final CloseableIterator<T> iterator = iterator();
         try {
-            @Cleanup final Scanner scanner = new Scanner(file);
+            while (iterator.hasNext()) {
+                handler.handle(iterator.next());
+            }
+        } finally {
+            iterator.close();
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.Parser#iterator()
+     */
+    @Override
+    public <T> CloseableIterator<T> iterator() {
+        final CsvTokenizer tokenizer = open();
+        if (tokenizer == null) {
+            return new RecordIterator<T>(null, null);
+        }
+        return new RecordIterator<T>(tokenizer, bindHeader(tokenizer, newErrorBudget()));
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.Parser#deserializeTable()
+     */
+    @Override
+    public Table deserializeTable() {
+        final TableChunkParser tableChunkParser = new TableChunkParser();
+        final boolean pipelined = settings.isPipelined();
+        if (pipelined || isParallel()) {
+            //Chunks are appended in file order
+            final TableCollector collector = new TableCollector();
+            final Binding binding = pipelined ? parsePipelined(tableChunkParser, collector, true) : parseInParallel(tableChunkParser, collector, true);
+            if (collector.table != null) {
+                return collector.table.build();
+            }
+            return binding == null ? new Table(Collections.<Column>emptyList(), 0) : new TableBuilder(binding.entries).build();
+        }
+
+        final CsvTokenizer tokenizer = open();
+        if (tokenizer == null) {
+            return new Table(Collections.<Column>emptyList(), 0);
+        }
+        try {
+            final Binding binding = bindHeader(tokenizer, newErrorBudget());
+            final TableBuilder table = tableChunkParser.parse(tokenizer, binding);
+            binding.errors.finish();
+            return table.build();
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_READING, source), ioException);
+        } finally {
+            closeQuietly(tokenizer);
+        }
+    }
+
+    /**
+     * Returns whether the file is to be parsed in chunks concurrently, warning if it was requested but its source or charset does not
+     * allow it.
+     *
+     * @return true if parsed concurrently, false otherwise
+     */
+    private boolean isParallel() {
+        if (settings.getThreads() > 1) {
+            if (!source.isSplittable()) {
+                log.warning(String.format(ParsingErrorMessages.ERROR_SOURCE_NOT_SPLITTABLE, source));
+            } else if (RecordBoundaryScanner.supports(charset, delimiter)) {
+                return true;
+            } else {
+                log.warning(String.format(ParsingErrorMessages.ERROR_CHARSET_NOT_SPLITTABLE, charset, delimiter));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Opens a tokenizer over the whole source. Uncompressed files are opened as a range spanning all of the file, and other sources
+     * are decompressed and decoded into characters as they are read.
+     *
+     * @return the tokenizer, or null if the source could not be found
+     */
+    private CsvTokenizer open() {
+        return open(null);
+    }
+
+    /**
+     * Opens a tokenizer over the whole source, reading it ahead on a separate thread if the parse is pipelined. Uncompressed files are
+     * opened as a range spanning all of the file, and read while tokenizing.
+     *
+     * @param metrics the stage metrics of a pipelined parse, or null
+     * @return the tokenizer, or null if the source could not be found
+     */
+    private CsvTokenizer open(final StageMetrics metrics) {
+        try {
+            if (source.isSplittable()) {
+                return openRange(source.getFile(), 0, Long.MAX_VALUE);
+            }
+            return metered(new CharCsvTokenizer(source.openReader(charset, metrics), delimiter));
+        } catch (FileNotFoundException fileNotFoundException) { // NOPMD
+            log.severe("Could not find " + source);
+            return null;
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_READING, source), ioException);
+        }
+    }
+
+    /**
+     * Reads the record header if the file has one, compiles the binding plan, and restricts the tokenizer to the bound columns. The
+     * tokenizer is closed if this fails.
+     *
+     * @param tokenizer the tokenizer positioned at the start of the file
+     * @param errors the error budget of the invocation
+     * @return the binding plan
+     */
+    private Binding bindHeader(final CsvTokenizer tokenizer, final ErrorBudget errors) {
+        final Binding binding;
+        try {
+            binding = bind(parsingModel.record.noHeader || !tokenizer.nextRecord() ? null : tokenizer.fields(), errors);
+        } catch (IOException ioException) {
+            closeQuietly(tokenizer);
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_READING, source), ioException);
+        } catch (RuntimeException runtimeException) {
+            closeQuietly(tokenizer);
+            throw runtimeException;
+        }
+        tokenizer.project(binding.projection);
+        return binding;
+    }
+
+    /**
+     * Parses CSV records in file by splitting it into chunks on record boundaries, and parsing the chunks concurrently.
+     *
+     * @param <R> the type of the result of parsing a chunk
+     * @param chunkParser the parser of the chunks
+     * @param chunkHandler the handler of the results of the chunks
+     * @param ordered whether the results are handed over in file order, rather than in completion order
+     * @return the binding plan, or null if the file could not be found
+     */
+    private <R> Binding parseInParallel(final ChunkParser<R> chunkParser, final RecordHandler<R> chunkHandler, final boolean ordered) { // NOPMD
+        final File file = source.getFile();
+        if (!file.isFile()) {
+            log.severe("Could not find " + source);
+            return null;
+        }
+
+        final boolean dedicatedPool = settings.getExecutor() == null;
+        final ExecutorService executor = dedicatedPool ? Executors.newFixedThreadPool(settings.getThreads(), THREAD_FACTORY) : settings.getExecutor();
+        final CompletionService<R> completionService = new ExecutorCompletionService<R>(executor);
+        final LinkedList<Future<R>> pending = new LinkedList<Future<R>>();
+        RecordBoundaryScanner scanner = null; // NOPMD
+        try {
+            scanner = new RecordBoundaryScanner(new FileInputStream(file), delimiter);
 
             //Map bean fields to position
-            if (parsingModel.record.noHeader) {
-                mapBeanFieldsToPositionsWithoutRecordHeader();
+            long start = 0;
+            String[] header = null; // NOPMD
+            while (!parsingModel.record.noHeader && header == null) {
+                final long end = scanner.nextBoundary(start);
+                if (end == start) {
+                    break;
+                }
+                header = readFirstRecord(file, start, end);
+                start = end;
+            }
+            final Binding binding = bind(header, newErrorBudget());
+
+            //Split into chunks, keeping at most two chunks per thread in flight
+            final int window = settings.getThreads() << 1;
+            for (long end = scanner.nextBoundary(start + settings.getChunkSize() - 1); end > start; end = scanner.nextBoundary(start + settings.getChunkSize() - 1)) {
+                pending.add(completionService.submit(new ChunkTask<R>(file, start, end, binding, chunkParser)));
+                start = end;
+                if (pending.size() >= window) {
+                    chunkHandler.handle(nextChunk(pending, completionService, ordered));
+                }
+            }
+            while (!pending.isEmpty()) {
+                chunkHandler.handle(nextChunk(pending, completionService, ordered));
+            }
+            binding.errors.finish();
+            return binding;
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_READING, source), ioException);
+        } finally {
+            for (Future<R> future : pending) {
+                future.cancel(true);
+            }
+            if (scanner != null) {
+                closeQuietly(scanner);
+            }
+            if (dedicatedPool) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Parses CSV records in a pipeline of stages: the source is read ahead, tokenized into batches of records on a separate thread, and
+     * the batches are converted concurrently while the calling thread hands the results over. Each stage blocks once the next one falls
+     * behind, so that at most a window of batches are in flight.
+     *
+     * @param <R> the type of the result of parsing a batch
+     * @param chunkParser the parser of the batches
+     * @param chunkHandler the handler of the results of the batches
+     * @param ordered whether the results are handed over in source order, rather than in completion order
+     * @return the binding plan, or null if the source could not be found
+     */
+    private <R> Binding parsePipelined(final ChunkParser<R> chunkParser, final RecordHandler<R> chunkHandler, final boolean ordered) { // NOPMD
+        final StageMetrics metrics = settings.getMetrics() == null ? new StageMetrics() : settings.getMetrics();
+        final CsvTokenizer tokenizer = open(metrics);
+        if (tokenizer == null) {
+            return null;
+        }
+        final Binding binding = bindHeader(tokenizer, newErrorBudget());
+
+        //Keep at most two batches per thread in flight, and one more being tokenized
+        final int window = settings.getThreads() << 1;
+        final RecordBatchReader reader = new RecordBatchReader(tokenizer, window + 1, metrics);
+        final boolean dedicatedPool = settings.getExecutor() == null;
+        final ExecutorService executor = dedicatedPool ? Executors.newFixedThreadPool(settings.getThreads(), THREAD_FACTORY) : settings.getExecutor();
+        final CompletionService<R> completionService = new ExecutorCompletionService<R>(executor);
+        final LinkedList<Future<R>> pending = new LinkedList<Future<R>>();
+        try {
+            while (true) {
+                final long start = System.nanoTime();
+                final RecordBatch batch = reader.take();
+                metrics.idle(StageMetrics.Stage.CONSUME, System.nanoTime() - start);
+                if (batch == null) {
+                    break;
+                }
+                pending.add(completionService.submit(new BatchTask<R>(batch, binding, chunkParser, reader, metrics)));
+                if (pending.size() >= window) {
+                    handleNextChunk(pending, completionService, ordered, chunkHandler, metrics);
+                }
+            }
+            while (!pending.isEmpty()) {
+                handleNextChunk(pending, completionService, ordered, chunkHandler, metrics);
+            }
+            binding.errors.finish();
+            return binding;
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_INTERRUPTED, source), interruptedException);
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_READING, source), ioException);
+        } finally {
+            reader.close();
+            for (Future<R> future : pending) {
+                future.cancel(true);
+            }
+            if (dedicatedPool) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Waits for the next batch of a pipelined parse and hands its result over, measuring both as the consume stage.
+     *
+     * @param <R> the type of the result of parsing a batch
+     * @param pending the batches in flight in source order
+     * @param completionService the completion service the batches have been submitted to
+     * @param ordered whether to wait for the batches in source order, rather than in completion order
+     * @param chunkHandler the handler of the results of the batches
+     * @param metrics the stage metrics
+     * @throws IOException if the batch could not be read
+     */
+    private <R> void handleNextChunk(final LinkedList<Future<R>> pending, final CompletionService<R> completionService, final boolean ordered,
+            final RecordHandler<R> chunkHandler, final StageMetrics metrics) throws IOException {
+        final long start = System.nanoTime();
+        final R chunk = nextChunk(pending, completionService, ordered);
+        final long taken = System.nanoTime();
+        metrics.idle(StageMetrics.Stage.CONSUME, taken - start);
+        chunkHandler.handle(chunk);
+        metrics.busy(StageMetrics.Stage.CONSUME, System.nanoTime() - taken);
+    }
+
+    /**
+     * Plans the tasks parsing the source into records, to be scheduled alongside the tasks of other sources. A file larger than a chunk
+     * is split into chunks on record boundaries as the tasks are iterated, its header being bound on the iterating thread, and any other
+     * source is parsed whole by a single task.
+     *
+     * @param <T> the type to parse into
+     * @param errors the error budget shared by the sources, to be finished once all the tasks are done
+     * @return the tasks, to be closed once iterated
+     */
+    <T> CloseableIterator<Callable<List<T>>> planTasks(final ErrorBudget errors) {
+        final RecordsChunkParser<T> chunkParser = new RecordsChunkParser<T>();
+        if (source.isSplittable() && RecordBoundaryScanner.supports(charset, delimiter) && source.getFile().length() > settings.getChunkSize()) {
+            return new TaskPlanner<List<T>>(source.getFile(), chunkParser, errors);
+        }
+        final Callable<List<T>> task = new Callable<List<T>>() {
+            @Override
+            public List<T> call() throws IOException {
+                final CsvTokenizer tokenizer = open();
+                if (tokenizer == null) {
+                    return new ArrayList<T>();
+                }
+                try {
+                    return chunkParser.parse(tokenizer, bindHeader(tokenizer, errors));
+                } finally {
+                    closeQuietly(tokenizer);
+                }
+            }
+        };
+        return new TaskPlanner<List<T>>(task);
+    }
+
+    /**
+     * Waits for the next chunk, in file order or in completion order.
+     *
+     * @param <R> the type of the result of parsing a chunk
+     * @param pending the chunks in flight in file order
+     * @param completionService the completion service the chunks have been submitted to
+     * @param ordered whether to wait for the chunks in file order, rather than in completion order
+     * @return the result of the chunk
+     * @throws IOException if the chunk could not be read
+     */
+    private <R> R nextChunk(final LinkedList<Future<R>> pending, final CompletionService<R> completionService, final boolean ordered) throws IOException {
+        try {
+            final Future<R> future;
+            if (ordered) {
+                future = pending.removeFirst();
             } else {
-                mapBeanFieldsToPositionsWithRecordHeader(scanner.nextLine());
+                future = completionService.take();
+                pending.remove(future);
+            }
+            return future.get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_INTERRUPTED, source), interruptedException);
+        } catch (ExecutionException executionException) {
+            final Throwable cause = executionException.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_GENERIC, source, List.class.getSimpleName(), clazz.getSimpleName()), cause);
+        }
+    }
+
+    /**
+     * Reads the first record in a range of the file.
+     *
+     * @param file the file
+     * @param start the offset of the start of the range
+     * @param end the offset of the end of the range
+     * @return the fields of the first record, or null if the range is blank
+     * @throws IOException if the file could not be read
+     */
+    private String[] readFirstRecord(final File file, final long start, final long end) throws IOException {
+        final CsvTokenizer tokenizer = openRange(file, start, end);
+        try {
+            return tokenizer.nextRecord() ? tokenizer.fields() : null;
+        } finally {
+            closeQuietly(tokenizer);
+        }
+    }
 
-            //Process data lines
-            while (scanner.hasNext()) {
-                list.add((T) parseDataLine(scanner.next()));
+    /**
+     * Opens a tokenizer over a range of the file. Files in a charset supported by the byte tokenizer are scanned directly on their
+     * bytes through their file channel, and other files are decoded into characters first.
+     *
+     * @param file the file
+     * @param start the offset of the start of the range
+     * @param end the offset of the end of the range, past the end of the file to read it all
+     * @return the tokenizer
+     * @throws IOException if the file could not be read
+     */
+    private CsvTokenizer openRange(final File file, final long start, final long end) throws IOException {
+        final FileInputStream input = new FileInputStream(file);
+        try {
+            if (RecordBoundaryScanner.supports(charset, delimiter)) {
+                return metered(new ByteCsvTokenizer(input.getChannel(), start, end, delimiter, charset));
             }
+            input.getChannel().position(start);
+            return metered(new CharCsvTokenizer(new InputStreamReader(new LimitInputStream(input, end - start), charset), delimiter));
+        } catch (IOException ioException) {
+            input.close();
+            throw ioException;
+        }
+    }
 
-        } catch (FileNotFoundException fileNotFoundException) { // NOPMD
-            log.severe("Could not find the file " + parsingModel.record.fileName);
-            return list; // NOPMD
+    /**
+     * Meters a tokenizer for the parsing listener, unless parsing is not instrumented.
+     *
+     * @param tokenizer the tokenizer
+     * @return the tokenizer
+     */
+    private CsvTokenizer metered(final CsvTokenizer tokenizer) {
+        if (settings.getListener() != ParsingListener.NO_OP) {
+            tokenizer.meter(settings.getListener());
         }
+        return tokenizer;
+    }
 
-        return (List<T>) list;
+    /**
+     * Creates the meter of the conversions of a single tokenizer, chunk, or batch, unless parsing is not instrumented.
+     *
+     * @param binding the binding plan
+     * @return the conversion meter, or null if parsing is not instrumented
+     */
+    private ConversionMeter newMeter(final Binding binding) {
+        return settings.getListener() == ParsingListener.NO_OP ? null : new ConversionMeter(settings.getListener(), binding.entries);
+    }
+
+    /**
+     * Maps the bean fields to their corresponding positions in the CSV file, and compiles the binding plan of a single invocation.
+     *
+     * @param header the record header, or null if the file has none
+     * @param errors the error budget of the invocation
+     * @return the binding plan
+     */
+    private Binding bind(final String[] header, final ErrorBudget errors) {
+        //Map bean fields to position
+        final Map<CsvParserFactory.ParsingModel.Entry, Integer> fieldPositions;
+        if (parsingModel.record.noHeader) {
+            fieldPositions = mapBeanFieldsToPositionsWithoutRecordHeader();
+        } else {
+            fieldPositions = mapBeanFieldsToPositionsWithRecordHeader(header == null ? new String[0] : header);
+        }
+
+        //Compile the per-invocation binding plan
+        final List<CsvParserFactory.ParsingModel.Entry> boundEntries = new ArrayList<CsvParserFactory.ParsingModel.Entry>();
+        final List<Integer> boundColumns = new ArrayList<Integer>();
+        for (CsvParserFactory.ParsingModel.Entry entry : parsingModel.entries) {
+            final Integer column = fieldPositions.get(entry);
+            if (column != null) {
+                boundEntries.add(entry);
+                boundColumns.add(column);
+            }
+        }
+        final int[] columns = new int[boundColumns.size()];
+        final FieldBinder[] boundBinders = new FieldBinder[columns.length];
+        int lastColumn = -1;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = boundColumns.get(i).intValue();
+            boundBinders[i] = parsingModel.binders.get(boundEntries.get(i));
+            lastColumn = Math.max(lastColumn, columns[i]);
+        }
+
+        //Only the bound columns need to be tokenized
+        final boolean[] projection = new boolean[lastColumn + 1];
+        for (int column : columns) {
+            projection[column] = true;
+        }
+        return new Binding(boundEntries.toArray(new CsvParserFactory.ParsingModel.Entry[columns.length]), boundBinders, columns, projection,
+                errors);
+    }
+
+    /**
+     * Creates the error budget of an invocation, applying the error policy of the settings.
+     *
+     * @return the error budget
+     */
+    ErrorBudget newErrorBudget() {
+        return new ErrorBudget(settings.getErrorPolicy(), settings.getRejects(), settings.getListener(), source.toString());
     }
 
     /**
@@ -85,51 +639,107 @@ public final class CsvParser implements Parser {
      *           / \
      *          /   \
      *         Exp Set
+     *
+     * @return the positions of the entries
      */
-    private void mapBeanFieldsToPositionsWithoutRecordHeader() {
+    private Map<CsvParserFactory.ParsingModel.Entry, Integer> mapBeanFieldsToPositionsWithoutRecordHeader() {
         //File with no header line
+        final Map<CsvParserFactory.ParsingModel.Entry, Integer> fieldPositions = new HashMap<CsvParserFactory.ParsingModel.Entry, Integer>();
         for (CsvParserFactory.ParsingModel.Entry field : parsingModel.entries) {
             if (field.ignore) {
                 continue;
             }
             if (field.position != CsvEntry.DEFAULT_POSITION) { // NOPMD
                 //Position set
-                parsingModel.fieldPositions.put(field, field.position);
+                fieldPositions.put(field, field.position);
             } else {
                 //No position set
                 throw new ParsingException(ParsingErrorMessages.ERROR_NO_POSITION_SPECIFIED_FOR_FILE_WITH_NO_RECORD_HEADER);
             }
         }
+        return fieldPositions;
     }
 
     /**
-     * Maps the bean fields to their corresponding positions in the CSV file according to the record header.
+     * Maps the bean fields to their corresponding positions in the CSV file according to the record header, in a single pass over the
+     * header looking the entries up in the header index of the parsing model. Mismatches are reported as header diagnostics, and
+     * logged at once if there is no handler of diagnostics.
      *
      * Logic Tree (Y is always to the right and N is always to the left):
      *
-     * Header? *
-     *        / \
-     *       /   \
-     *      Exp Set
+     *       Repeated? *
+     *                / \
+     *               /   \
+     *       Indexed?     Dup
+     *          / \
+     *         /   \
+     *   Ignored?   Set
+     *     / \
+     *    /   \
+     * Unmap  Skip
      *
-     * @param headerLine the record header line
+     * @param csvFileHeaders the record header
+     * @return the positions of the entries
      */
-    private void mapBeanFieldsToPositionsWithRecordHeader(final String headerLine) {
+    private Map<CsvParserFactory.ParsingModel.Entry, Integer> mapBeanFieldsToPositionsWithRecordHeader(final String[] csvFileHeaders) {
         //File with header line
-        final String[] csvFileHeaders = headerLine.split(parsingModel.record.delimiter);
+        final Map<CsvParserFactory.ParsingModel.Entry, Integer> fieldPositions = new HashMap<CsvParserFactory.ParsingModel.Entry, Integer>();
+        if (csvFileHeaders.length == 0) {
+            return fieldPositions;
+        }
+        if (parsingModel.unnamedEntries) {
+            //No header set
+            throw new ParsingException(ParsingErrorMessages.ERROR_NO_HEADER_SPECIFIED_FOR_FILE_WITH_RECORD_HEADER);
+        }
+        final Set<String> bound = new HashSet<String>();
+        final List<HeaderDiagnostic> mismatches = new ArrayList<HeaderDiagnostic>();
         for (int i = 0; i < csvFileHeaders.length; i++) {
-            for (CsvParserFactory.ParsingModel.Entry field : parsingModel.entries) {
-                if (field.ignore) {
-                    continue;
-                }
-                if (StringUtils.isEmpty(field.header)) {
-                    //No header set
-                    throw new ParsingException(ParsingErrorMessages.ERROR_NO_HEADER_SPECIFIED_FOR_FILE_WITH_RECORD_HEADER);
-                }
-                if (field.header.equals(csvFileHeaders[i])) {
-                    //Header set
-                    parsingModel.fieldPositions.put(field, Integer.valueOf(i));
+            final String header = csvFileHeaders[i];
+            if (!bound.add(header)) {
+                report(new HeaderDiagnostic(HeaderDiagnostic.Kind.DUPLICATE, header, i), mismatches);
+                continue;
+            }
+            final List<CsvParserFactory.ParsingModel.Entry> fields = parsingModel.entriesByHeader.get(header);
+            if (!fields.isEmpty()) {
+                //Header set
+                for (CsvParserFactory.ParsingModel.Entry field : fields) {
+                    fieldPositions.put(field, Integer.valueOf(i));
                 }
+            } else if (!parsingModel.ignoredHeaders.contains(header)) {
+                report(new HeaderDiagnostic(HeaderDiagnostic.Kind.UNMAPPED, header, i), mismatches);
+            }
+        }
+        for (String header : parsingModel.entriesByHeader.keySet()) {
+            if (!bound.contains(header)) {
+                report(new HeaderDiagnostic(HeaderDiagnostic.Kind.MISSING, header, HeaderDiagnostic.NO_COLUMN), mismatches);
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            log.warning(String.format(ParsingErrorMessages.ERROR_HEADER_MISMATCH, source, StringUtils.join(mismatches, ", ")));
+        }
+        return fieldPositions;
+    }
+
+    /**
+     * Reports a mismatch between the record header and the entries to the diagnostics handler. If there is none, unmapped headers are
+     * logged as fine, since files commonly have columns the type does not bind, and other mismatches are collected to be logged as a
+     * single warning.
+     *
+     * @param diagnostic the header diagnostic
+     * @param mismatches the mismatches to log as a warning
+     */
+    private void report(final HeaderDiagnostic diagnostic, final List<HeaderDiagnostic> mismatches) {
+        if (settings.getDiagnostics() == null) {
+            if (diagnostic.getKind() != HeaderDiagnostic.Kind.UNMAPPED) {
+                mismatches.add(diagnostic);
+            } else if (log.isLoggable(Level.FINE)) {
+                log.fine(String.format(ParsingErrorMessages.ERROR_HEADER_UNMAPPED, diagnostic, source));
+            }
+        } else {
+            final RecordHandler<HeaderDiagnostic> diagnostics = settings.getDiagnostics();
+            //Headers of the files of a set are bound concurrently
+            synchronized (diagnostics) {
+                diagnostics.handle(diagnostic);
             }
         }
     }
@@ -157,80 +767,714 @@ public final class CsvParser implements Parser {
      *     /     \
      *   Set     Exp
      *
-     * @param dataline the data line to be parsed
-     * @return the parsed object
+     * @param tokenizer the tokenizer positioned at the data line to be parsed
+     * @param binding the binding plan
+     * @param meter the conversion meter, or null if parsing is not instrumented
+     * @return the parsed object, or null if the data line has been rejected
      */
-    private Object parseDataLine(final String dataline) {
+    private Object parseDataLine(final CsvTokenizer tokenizer, final Binding binding, final ConversionMeter meter) { // NOPMD
+        final CsvParserFactory.ParsingModel.Entry[] entries = binding.entries;
+        final FieldBinder[] binders = binding.binders; // NOPMD
+        final int[] columns = binding.columns;
+        final boolean timed = meter != null && meter.sample();
+        long start = timed ? System.nanoTime() : 0;
+        //Construct the beans
+        final Object instance;
         try {
-            //Tokenize the data line
-            final List<String> csvFileHeaders = new ArrayList<String>(); // NOPMD
-            final StringBuilder regExBuilder = new StringBuilder();
-            regExBuilder.append("([^\"]+?)\"")
-                .append(parsingModel.record.delimiter)
-                .append("?|([^")
-                .append(parsingModel.record.delimiter)
-                .append("]+)")
-                .append(parsingModel.record.delimiter)
-                .append("?|")
-                .append(parsingModel.record.delimiter);
-            final Pattern regEx = Pattern.compile(regExBuilder.toString());
-            final Matcher regexMatcher = regEx.matcher(dataline);
-
-            while (regexMatcher.find()) {
-                csvFileHeaders.add(StringUtils.strip(regexMatcher.group(), "\"" + parsingModel.record.delimiter));
-            }
-
-            if (StringUtils.endsWith(dataline, ",")) { // Add missing token
-                csvFileHeaders.add(StringUtils.EMPTY);
-            }
-
-            //Construct the beans
-            final Object instance = clazz.newInstance(); // NOPMD
-            for (CsvParserFactory.ParsingModel.Entry entry : parsingModel.entries) {
-                if (parsingModel.fieldPositions.get(entry) != null) {
-                    final String value = csvFileHeaders.get(((Integer) parsingModel.fieldPositions.get(entry)).intValue());
-                    final Field beanField = clazz.getDeclaredField(entry.beanFieldName);
-                    beanField.setAccessible(true);
-                    //Value?
-                    Object convertedValue = null; // NOPMD
-                    if (!StringUtils.isEmpty(value)) { // NOPMD
-                        convertedValue = TypeConverter.INSTANCE.fromString(value, beanField.getType(), entry.format);
-                    } else {
-                        //Default Value?
-                        if (!StringUtils.isEmpty(entry.defaultValue)) { // NOPMD
-                            convertedValue = TypeConverter.INSTANCE.fromString(entry.defaultValue , beanField.getType(), entry.format);
-                        } else {
-                            //Optional?
-                            if (entry.optional) {
-                                //Primitive?
-                                if (beanField.getType().isPrimitive()) {
-                                    throw new ParsingException(ParsingErrorMessages.ERROR_OPTIONAL_PRIMITIVE_NO_VALUE_NO_DEFAULT);
-                                }
-                            } else {
-                                throw new ParsingException(ParsingErrorMessages.ERROR_NON_OPTIONAL_NO_VALUE_NO_DEFAULT);
-                            }
-                        }
+            instance = clazz.newInstance();
+        } catch (Exception exception) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_GENERIC, source, List.class.getSimpleName(), clazz.getSimpleName()), exception);
+        }
+        if (meter != null) {
+            meter.instantiated(timed ? System.nanoTime() - start : -1);
+        }
+        for (int i = 0; i < entries.length; i++) {
+            try {
+                final CharSequence value = valueOf(tokenizer, columns[i], entries[i]);
+                if (value != null) {
+                    if (timed) {
+                        start = System.nanoTime();
+                    }
+                    final boolean fallback = binders[i].bind(instance, value);
+                    if (meter != null) {
+                        meter.converted(i, fallback, timed ? System.nanoTime() - start : -1);
                     }
-
-                    beanField.set(instance, convertedValue);
                 }
+            } catch (IllegalAccessException illegalAccessException) {
+                throw new ParsingException(String.format(ParsingErrorMessages.ERROR_GENERIC, source, List.class.getSimpleName(), clazz.getSimpleName()), illegalAccessException);
+            } catch (RuntimeException runtimeException) {
+                binding.errors.reject(tokenizer, columns[i], runtimeException);
+                return null;
             }
-            return instance; // NOPMD
-        } catch (Exception exception) {
-            if (exception instanceof ParsingException) { // NOPMD
-                throw (ParsingException) exception;
-            }
-            log.severe(String.format(ParsingErrorMessages.ERROR_GENERIC, parsingModel.record.fileName, List.class.getSimpleName(), clazz.getSimpleName()));
+        }
+        return instance;
+    }
+
+    /**
+     * Resolves the value of an entry in a data line, following the logic tree of {@link #parseDataLine(CsvTokenizer, Binding, ConversionMeter)}.
+     *
+     * @param tokenizer the tokenizer positioned at the data line
+     * @param column the column of the entry
+     * @param entry the entry
+     * @return a view of the value or the default value, or null if the entry is optional and has neither
+     */
+    private static CharSequence valueOf(final CsvTokenizer tokenizer, final int column, final CsvParserFactory.ParsingModel.Entry entry) {
+        if (column >= tokenizer.fieldCount()) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_MISSING_COLUMN, column, tokenizer.fieldCount()));
+        }
+        //Value?
+        if (!tokenizer.isEmpty(column)) {
+            return tokenizer.fieldView(column);
+        }
+        //Default Value?
+        if (!StringUtils.isEmpty(entry.defaultValue)) {
+            return entry.defaultValue;
+        }
+        //Optional?
+        if (!entry.optional) {
+            throw new ParsingException(ParsingErrorMessages.ERROR_NON_OPTIONAL_NO_VALUE_NO_DEFAULT);
+        }
+        //Primitive?
+        if (entry.field.getType().isPrimitive()) {
+            throw new ParsingException(ParsingErrorMessages.ERROR_OPTIONAL_PRIMITIVE_NO_VALUE_NO_DEFAULT);
         }
         return null;
     }
 
+    /**
+     * Closes a tokenizer or a scanner, logging rather than throwing if it fails.
+     *
+     * @param closeable the tokenizer or the scanner
+     */
+    private void closeQuietly(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ioException) { // NOPMD
+            log.warning("Could not close " + source);
+        }
+    }
+
     /* (non-Javadoc)
-     * @see com.polymathiccoder.yap4j.csv.Parser#serialize(java.util.List)
+     * @see com.polymathiccoder.yap4j.Parser#serialize(java.util.List)
      */
     @Override
     public <T> void serialize(final List<T> list) {
-        //TODO
+        serialize(list.iterator());
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.Parser#serialize(java.util.Iterator)
+     */
+    @Override
+    public <T> void serialize(final Iterator<T> records) {
+        final File file = source.getFile() == null ? new File(parsingModel.record.fileName) : source.getFile();
+        final FileOutputStream output;
+        try {
+            output = new FileOutputStream(file);
+        } catch (FileNotFoundException fileNotFoundException) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_WRITING, file), fileNotFoundException);
+        }
+        //Files named after a compression codec are compressed as they are written
+        final CompressionCodec codec = CompressionCodecs.forName(file.getName());
+        final CsvWriter csvWriter;
+        try {
+            csvWriter = new CsvWriter(codec == null ? Channels.newWriter(output.getChannel(), charset.newEncoder(), -1)
+                    : new OutputStreamWriter(codec.compress(output), charset), delimiter);
+        } catch (IOException ioException) {
+            closeQuietly(output);
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_WRITING, file), ioException);
+        }
+        try {
+            write(records, csvWriter);
+            csvWriter.close();
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_WRITING, file), ioException);
+        } finally {
+            closeQuietly(csvWriter);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.Parser#serialize(java.util.Iterator, java.io.Writer)
+     */
+    @Override
+    public <T> void serialize(final Iterator<T> records, final Writer writer) {
+        try {
+            write(records, new CsvWriter(writer, delimiter));
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(ParsingErrorMessages.ERROR_WRITING, clazz.getSimpleName() + " records"), ioException);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.Parser#serialize(java.util.Iterator, java.io.OutputStream)
+     */
+    @Override
+    public <T> void serialize(final Iterator<T> records, final OutputStream output) {
+        serialize(records, new OutputStreamWriter(output, charset));
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.Parser#serialize(java.util.Iterator, java.nio.channels.WritableByteChannel)
+     */
+    @Override
+    public <T> void serialize(final Iterator<T> records, final WritableByteChannel channel) {
+        serialize(records, Channels.newWriter(channel, charset.newEncoder(), -1));
+    }
+
+    /**
+     * Writes the record header if the file has one, and then the records one at a time, flushing once all have been written.
+     *
+     * @param <T> the type to serialize from
+     * @param records the records
+     * @param csvWriter the CSV writer
+     * @throws IOException if the output could not be written
+     */
+    private <T> void write(final Iterator<T> records, final CsvWriter csvWriter) throws IOException {
+        final CsvParserFactory.ParsingModel.Entry[] layout = layOut();
+        final FieldWriter[] writers = new FieldWriter[layout.length];
+        for (int i = 0; i < layout.length; i++) {
+            if (layout[i] != null) {
+                writers[i] = FieldWriter.of(layout[i].field, layout[i].formatter);
+            }
+        }
+
+        //Record header
+        if (!parsingModel.record.noHeader) {
+            for (CsvParserFactory.ParsingModel.Entry entry : layout) {
+                csvWriter.field(entry == null ? null : entry.header);
+            }
+            csvWriter.endRecord();
+        }
+
+        //Data lines
+        while (records.hasNext()) {
+            final T record = records.next();
+            try {
+                for (FieldWriter writer : writers) {
+                    if (writer == null) {
+                        csvWriter.field((String) null);
+                    } else {
+                        writer.write(record, csvWriter);
+                    }
+                }
+            } catch (IllegalAccessException illegalAccessException) {
+                throw new ParsingException(String.format(ParsingErrorMessages.ERROR_WRITING, clazz.getSimpleName() + " records"), illegalAccessException);
+            }
+            csvWriter.endRecord();
+        }
+        csvWriter.flush();
+    }
+
+    /**
+     * Lays the entries out into columns. Entries assigned a position are written at that position, and the others fill the remaining
+     * columns in the order of their fields.
+     *
+     * Logic Tree (Y is always to the right and N is always to the left):
+     *
+     *  Ignore? *
+     *         / \
+     *        /   \
+     *   Position? Skip
+     *      / \
+     *     /   \
+     *  Next    Set
+     *  Free
+     *
+     * @return the entries by column, null for the columns no entry is written to
+     */
+    private CsvParserFactory.ParsingModel.Entry[] layOut() {
+        final List<CsvParserFactory.ParsingModel.Entry> unpositioned = new ArrayList<CsvParserFactory.ParsingModel.Entry>();
+        final Map<Integer, CsvParserFactory.ParsingModel.Entry> positioned = new HashMap<Integer, CsvParserFactory.ParsingModel.Entry>();
+        int width = 0;
+        for (CsvParserFactory.ParsingModel.Entry entry : parsingModel.entries) {
+            if (entry.ignore) {
+                continue;
+            }
+            if (parsingModel.record.noHeader && entry.position == CsvEntry.DEFAULT_POSITION) {
+                throw new ParsingException(ParsingErrorMessages.ERROR_NO_POSITION_SPECIFIED_FOR_FILE_WITH_NO_RECORD_HEADER);
+            }
+            if (!parsingModel.record.noHeader && StringUtils.isEmpty(entry.header)) {
+                throw new ParsingException(ParsingErrorMessages.ERROR_NO_HEADER_SPECIFIED_FOR_FILE_WITH_RECORD_HEADER);
+            }
+            if (entry.position == CsvEntry.DEFAULT_POSITION) {
+                unpositioned.add(entry);
+            } else if (positioned.put(Integer.valueOf(entry.position), entry) != null) {
+                throw new ParsingException(ParsingErrorMessages.ERROR_DUPLICATE_POSITION);
+            } else {
+                width = Math.max(width, entry.position + 1);
+            }
+        }
+        width = Math.max(width, positioned.size() + unpositioned.size());
+
+        final CsvParserFactory.ParsingModel.Entry[] layout = new CsvParserFactory.ParsingModel.Entry[width];
+        for (Map.Entry<Integer, CsvParserFactory.ParsingModel.Entry> entry : positioned.entrySet()) {
+            layout[entry.getKey().intValue()] = entry.getValue();
+        }
+        int column = 0;
+        for (CsvParserFactory.ParsingModel.Entry entry : unpositioned) {
+            while (layout[column] != null) {
+                column++;
+            }
+            layout[column] = entry;
+        }
+        return layout;
+    }
+
+    /**
+     * Used to lazily read and parse the data lines of the CSV file, one at a time.
+     *
+     * @param <T> the type to parse into
+     */
+    private final class RecordIterator<T> extends AbstractIterator<T> implements CloseableIterator<T> {
+
+        /** The tokenizer over the data lines, or null when there is nothing to read. */
+        private transient CsvTokenizer tokenizer;
+
+        /** The binding plan. */
+        private final transient Binding binding;
+
+        /** The number of data lines read. */
+        private transient long parsed;
+
+        /** The conversion meter, or null if parsing is not instrumented. */
+        private final transient ConversionMeter meter;
+
+        /**
+         * Instantiates a new record iterator.
+         *
+         * @param tokenizer the tokenizer positioned before the first data line
+         * @param binding the binding plan
+         */
+        RecordIterator(final CsvTokenizer tokenizer, final Binding binding) {
+            super();
+            this.tokenizer = tokenizer;
+            this.binding = binding;
+            this.meter = binding == null ? null : newMeter(binding);
+        }
+
+        /* (non-Javadoc)
+         * @see com.google.common.collect.AbstractIterator#computeNext()
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        protected T computeNext() {
+            if (tokenizer != null) {
+                try {
+                    while (tokenizer.nextRecord()) {
+                        parsed++;
+                        final Object record = parseDataLine(tokenizer, binding, meter);
+                        if (record != null) {
+                            return (T) record;
+                        }
+                    }
+                    binding.errors.parsed(parsed);
+                    close();
+                    binding.errors.finish();
+                } catch (IOException ioException) {
+                    close();
+                    throw new ParsingException(String.format(ParsingErrorMessages.ERROR_READING, source), ioException);
+                } catch (RuntimeException runtimeException) {
+                    close();
+                    throw runtimeException;
+                }
+            }
+            close();
+            return endOfData();
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.CloseableIterator#close()
+         */
+        @Override
+        public void close() {
+            if (tokenizer != null) {
+                closeQuietly(tokenizer);
+                tokenizer = null; // NOPMD
+                if (meter != null) {
+                    meter.flush();
+                }
+            }
+        }
+    }
+
+    /**
+     * Used to lazily split a file into the tasks parsing its chunks, or to hand over a single task parsing a whole source.
+     *
+     * @param <R> the type of the result of parsing a chunk
+     */
+    private final class TaskPlanner<R> extends AbstractIterator<Callable<R>> implements CloseableIterator<Callable<R>> {
+
+        /** The file, or null if a single task is handed over. */
+        private final transient File file;
+
+        /** The parser of the chunks. */
+        private final transient ChunkParser<R> chunkParser;
+
+        /** The single task, or null once handed over. */
+        private transient Callable<R> task;
+
+        /** The scanner of the record boundaries, or null until the first chunk or once closed. */
+        private transient RecordBoundaryScanner scanner;
+
+        /** The error budget of the file. */
+        private final transient ErrorBudget errors;
+
+        /** The binding plan of the file. */
+        private transient Binding binding;
+
+        /** The offset of the start of the next chunk. */
+        private transient long start;
+
+        /**
+         * Instantiates a new task planner splitting a file into chunks.
+         *
+         * @param file the file
+         * @param chunkParser the parser of the chunks
+         * @param errors the error budget of the file
+         */
+        TaskPlanner(final File file, final ChunkParser<R> chunkParser, final ErrorBudget errors) {
+            super();
+            this.file = file;
+            this.chunkParser = chunkParser;
+            this.errors = errors;
+        }
+
+        /**
+         * Instantiates a new task planner handing over a single task.
+         *
+         * @param task the task
+         */
+        TaskPlanner(final Callable<R> task) {
+            super();
+            this.file = null;
+            this.chunkParser = null;
+            this.errors = null;
+            this.task = task;
+        }
+
+        /* (non-Javadoc)
+         * @see com.google.common.collect.AbstractIterator#computeNext()
+         */
+        @Override
+        protected Callable<R> computeNext() {
+            if (file == null) {
+                final Callable<R> next = task;
+                task = null; // NOPMD
+                return next == null ? endOfData() : next;
+            }
+            try {
+                if (scanner == null) {
+                    scanner = new RecordBoundaryScanner(new FileInputStream(file), delimiter);
+                    //Map bean fields to position
+                    String[] header = null; // NOPMD
+                    while (!parsingModel.record.noHeader && header == null) {
+                        final long end = scanner.nextBoundary(start);
+                        if (end == start) {
+                            break;
+                        }
+                        header = readFirstRecord(file, start, end);
+                        start = end;
+                    }
+                    binding = bind(header, errors);
+                }
+                final long end = scanner.nextBoundary(start + settings.getChunkSize() - 1);
+                if (end > start) {
+                    final Callable<R> chunk = new ChunkTask<R>(file, start, end, binding, chunkParser);
+                    start = end;
+                    return chunk;
+                }
+            } catch (FileNotFoundException fileNotFoundException) { // NOPMD
+                log.severe("Could not find " + source);
+            } catch (IOException ioException) {
+                close();
+                throw new ParsingException(String.format(ParsingErrorMessages.ERROR_READING, source), ioException);
+            } catch (RuntimeException runtimeException) {
+                close();
+                throw runtimeException;
+            }
+            close();
+            return endOfData();
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.CloseableIterator#close()
+         */
+        @Override
+        public void close() {
+            if (scanner != null) {
+                closeQuietly(scanner);
+                scanner = null; // NOPMD
+            }
+        }
+    }
+
+    /**
+     * Used to parse the data lines of a tokenizer into a result.
+     *
+     * @param <R> the type of the result
+     */
+    private interface ChunkParser<R> {
+
+        /**
+         * Parses all the data lines of a tokenizer.
+         *
+         * @param tokenizer the tokenizer positioned before the first data line
+         * @param binding the binding plan
+         * @return the result
+         * @throws IOException if the file could not be read
+         */
+        R parse(CsvTokenizer tokenizer, Binding binding) throws IOException;
+    }
+
+    /**
+     * Used to parse data lines into a list of records.
+     *
+     * @param <T> the type to parse into
+     */
+    private final class RecordsChunkParser<T> implements ChunkParser<List<T>> {
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.CsvParser.ChunkParser#parse(com.polymathiccoder.yap4j.csv.CsvTokenizer, com.polymathiccoder.yap4j.csv.CsvParser.Binding)
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<T> parse(final CsvTokenizer tokenizer, final Binding binding) throws IOException {
+            final List<T> records = new ArrayList<T>();
+            final ConversionMeter meter = newMeter(binding);
+            long parsed = 0;
+            try {
+                while (tokenizer.nextRecord()) {
+                    parsed++;
+                    final Object record = parseDataLine(tokenizer, binding, meter);
+                    if (record != null) {
+                        records.add((T) record);
+                    }
+                }
+            } finally {
+                if (meter != null) {
+                    meter.flush();
+                }
+            }
+            binding.errors.parsed(parsed);
+            return records;
+        }
+    }
+
+    /**
+     * Used to parse data lines into the columns of a table. A data line that cannot be parsed is rejected, and left out of the table.
+     */
+    private final class TableChunkParser implements ChunkParser<TableBuilder> {
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.CsvParser.ChunkParser#parse(com.polymathiccoder.yap4j.csv.CsvTokenizer, com.polymathiccoder.yap4j.csv.CsvParser.Binding)
+         */
+        @Override
+        public TableBuilder parse(final CsvTokenizer tokenizer, final Binding binding) throws IOException {
+            final CsvParserFactory.ParsingModel.Entry[] entries = binding.entries;
+            final int[] columns = binding.columns;
+            final TableBuilder table = new TableBuilder(entries);
+            final ConversionMeter meter = newMeter(binding);
+            long parsed = 0;
+            try {
+                while (tokenizer.nextRecord()) {
+                    parsed++;
+                    final boolean timed = meter != null && meter.sample();
+                    int i = 0;
+                    try {
+                        for (; i < entries.length; i++) {
+                            final CharSequence value = valueOf(tokenizer, columns[i], entries[i]);
+                            final long start = timed ? System.nanoTime() : 0;
+                            final boolean fallback = table.append(i, value == null ? null : value.toString());
+                            if (meter != null && value != null) {
+                                meter.converted(i, fallback, timed ? System.nanoTime() - start : -1);
+                            }
+                        }
+                        table.endRow();
+                    } catch (RuntimeException runtimeException) {
+                        table.discardRow();
+                        binding.errors.reject(tokenizer, i < entries.length ? columns[i] : RejectedRecord.UNKNOWN, runtimeException);
+                    }
+                }
+            } finally {
+                if (meter != null) {
+                    meter.flush();
+                }
+            }
+            binding.errors.parsed(parsed);
+            return table;
+        }
+    }
+
+    /**
+     * Used to collect the tables of the chunks into a single table, in the order they are handed over.
+     */
+    private static final class TableCollector implements RecordHandler<TableBuilder> {
+
+        /** The table, or null until the first chunk is handed over. */
+        private transient TableBuilder table;
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.RecordHandler#handle(java.lang.Object)
+         */
+        @Override
+        public void handle(final TableBuilder chunk) {
+            if (table == null) {
+                table = chunk;
+            } else {
+                table.appendRows(chunk);
+            }
+        }
+    }
+
+    /**
+     * Used to parse a chunk of the CSV file.
+     *
+     * @param <R> the type of the result of parsing a chunk
+     */
+    private final class ChunkTask<R> implements Callable<R> {
+
+        /** The file. */
+        private final transient File file;
+
+        /** The offset of the start of the chunk. */
+        private final transient long start;
+
+        /** The offset of the end of the chunk. */
+        private final transient long end;
+
+        /** The binding plan. */
+        private final transient Binding binding;
+
+        /** The parser of the chunk. */
+        private final transient ChunkParser<R> chunkParser;
+
+        /**
+         * Instantiates a new chunk task.
+         *
+         * @param file the file
+         * @param start the offset of the start of the chunk
+         * @param end the offset of the end of the chunk
+         * @param binding the binding plan
+         * @param chunkParser the parser of the chunk
+         */
+        ChunkTask(final File file, final long start, final long end, final Binding binding, final ChunkParser<R> chunkParser) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+            this.binding = binding;
+            this.chunkParser = chunkParser;
+        }
+
+        /* (non-Javadoc)
+         * @see java.util.concurrent.Callable#call()
+         */
+        @Override
+        public R call() throws IOException {
+            final CsvTokenizer tokenizer = openRange(file, start, end);
+            tokenizer.project(binding.projection);
+            tokenizer.unnumbered();
+            try {
+                return chunkParser.parse(tokenizer, binding);
+            } finally {
+                closeQuietly(tokenizer);
+            }
+        }
+    }
+
+    /**
+     * Used to convert a batch of records of a pipelined parse, recycling the batch once converted.
+     *
+     * @param <R> the type of the result of parsing a batch
+     */
+    private static final class BatchTask<R> implements Callable<R> {
+
+        /** The batch. */
+        private final transient RecordBatch batch;
+
+        /** The binding plan. */
+        private final transient Binding binding;
+
+        /** The parser of the batch. */
+        private final transient ChunkParser<R> chunkParser;
+
+        /** The reader the batch is recycled to. */
+        private final transient RecordBatchReader reader;
+
+        /** The stage metrics. */
+        private final transient StageMetrics metrics;
+
+        /**
+         * Instantiates a new batch task.
+         *
+         * @param batch the batch
+         * @param binding the binding plan
+         * @param chunkParser the parser of the batch
+         * @param reader the reader the batch is recycled to
+         * @param metrics the stage metrics
+         */
+        BatchTask(final RecordBatch batch, final Binding binding, final ChunkParser<R> chunkParser, final RecordBatchReader reader,
+                final StageMetrics metrics) {
+            this.batch = batch;
+            this.binding = binding;
+            this.chunkParser = chunkParser;
+            this.reader = reader;
+            this.metrics = metrics;
+        }
+
+        /* (non-Javadoc)
+         * @see java.util.concurrent.Callable#call()
+         */
+        @Override
+        public R call() throws IOException {
+            final long start = System.nanoTime();
+            try {
+                return chunkParser.parse(batch, binding);
+            } finally {
+                metrics.busy(StageMetrics.Stage.CONVERT, System.nanoTime() - start);
+                reader.recycle(batch);
+            }
+        }
+    }
+
+    /**
+     * The binding plan of a single invocation: the entries bound to a column, their binders, their columns, the projection of the
+     * columns to tokenize, and the error budget.
+     */
+    private static final class Binding {
+
+        /** The bound entries. */
+        private final transient CsvParserFactory.ParsingModel.Entry[] entries;
+
+        /** The binders of the bound entries. */
+        private final transient FieldBinder[] binders;
+
+        /** The columns of the bound entries. */
+        private final transient int[] columns;
+
+        /** The columns to tokenize. */
+        private final transient boolean[] projection;
+
+        /** The error budget of the invocation. */
+        private final transient ErrorBudget errors;
+
+        /**
+         * Instantiates a new binding plan.
+         *
+         * @param entries the bound entries
+         * @param binders the binders of the bound entries
+         * @param columns the columns of the bound entries
+         * @param projection the columns to tokenize
+         * @param errors the error budget of the invocation
+         */
+        Binding(final CsvParserFactory.ParsingModel.Entry[] entries, final FieldBinder[] binders, final int[] columns,
+                final boolean[] projection, final ErrorBudget errors) {
+            this.entries = entries;
+            this.binders = binders;
+            this.columns = columns;
+            this.projection = projection;
+            this.errors = errors;
+        }
     }
 
     /**
@@ -241,6 +1485,24 @@ public final class CsvParser implements Parser {
         /** A generic error message. */
         private static final String ERROR_GENERIC = "Could not parse %s into a %s<%s>";
 
+        /** The error message when the file could not be read. */
+        private static final String ERROR_READING = "Could not read %s";
+
+        /** The error message when the file could not be written. */
+        private static final String ERROR_WRITING = "Could not write %s";
+
+        /** The error message when parsing has been interrupted. */
+        private static final String ERROR_INTERRUPTED = "Interrupted while parsing %s";
+
+        /** The error message when the source cannot be split into chunks. */
+        private static final String ERROR_SOURCE_NOT_SPLITTABLE = "Cannot split %s into chunks, parsing sequentially instead";
+
+        /** The error message when the charset or the delimiter cannot be split into chunks. */
+        private static final String ERROR_CHARSET_NOT_SPLITTABLE = "Cannot split %s encoded files delimited by %s into chunks, parsing sequentially instead";
+
+        /** The error message when the delimiter is not a single character. */
+        private static final String ERROR_INVALID_DELIMITER = "The delimiter must be a single character";
+
         /** The error message when a non optional has no value or default. */
         private static final String ERROR_NON_OPTIONAL_NO_VALUE_NO_DEFAULT = "A non-optional field must be assigned either a value or default value"; // NOPMD
 
@@ -253,6 +1515,18 @@ public final class CsvParser implements Parser {
         /** The error message when no corresponding position is specified for field and the file has a no record header. */
         private static final String ERROR_NO_POSITION_SPECIFIED_FOR_FILE_WITH_NO_RECORD_HEADER = "A field must be assigned a position when the file to-be-parsed has no record header"; // NOPMD
 
+        /** The error message when a record is missing a column. */
+        private static final String ERROR_MISSING_COLUMN = "Missing column %d in a record of %d columns"; // NOPMD
+
+        /** The error message when the record header does not match the entries. */
+        private static final String ERROR_HEADER_MISMATCH = "The record header of %s does not match the entries: %s"; // NOPMD
+
+        /** The error message when a column of the record header is not bound to any entry. */
+        private static final String ERROR_HEADER_UNMAPPED = "%s of %s"; // NOPMD
+
+        /** The error message when two fields are assigned the same position. */
+        private static final String ERROR_DUPLICATE_POSITION = "Two fields cannot be assigned the same position"; // NOPMD
+
         /**
          * Prevents instantiation.
          */
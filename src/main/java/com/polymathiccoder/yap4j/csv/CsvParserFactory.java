@@ -1,29 +1,104 @@
 package com.polymathiccoder.yap4j.csv;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ComputationException;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MapMaker;
 import com.polymathiccoder.yap4j.Parser;
+import com.polymathiccoder.yap4j.common.ClassLoaders;
+import com.polymathiccoder.yap4j.common.Converter;
+import com.polymathiccoder.yap4j.common.Formatter;
+import com.polymathiccoder.yap4j.common.Lazy;
+import com.polymathiccoder.yap4j.common.TypeConverter;
 import com.polymathiccoder.yap4j.csv.annotation.CsvEntry;
 import com.polymathiccoder.yap4j.csv.annotation.CsvFile;
 
 /**
  * Used to examines metadata to build a parsing model and instantiates a CSV parser.
  *
+ * Parsing models are immutable, and cached by type so that annotations are only processed once per type. The models of types loaded
+ * by the class loader of Yap4j or one of its parents are held strongly. The models of other types, such as those of redeployed
+ * applications, are held weakly along with their types, as a model references its type through its fields: they are kept only as long
+ * as a parser uses them, so that the cache never prevents their classes from being unloaded, and are built again by the next parse
+ * after that. Each cache is bounded to {@link #MAX_CACHED_MODELS} types.
+ *
+ * A model is built with the converters registered with the {@link TypeConverter} at the time, and is rebuilt on its next use once a
+ * converter or formatter is registered or removed. Parsers already created keep the model they were created with.
+ *
  * @author  Abdelmonaim Remani
  * @version 0.2.0
  * @since 0.1.0
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE) // CHECKSTYLE IGNORE
 public final class CsvParserFactory { // NOPMD
+
+    /** The maximum number of parsing models cached. */
+    public static final int MAX_CACHED_MODELS = 1024;
+
+    /** The error message when a type is not annotated with CsvFile. */
+    private static final String ERROR_NOT_ANNOTATED = "The type %s must be annotated with @CsvFile";
+
+    /** The error message when a lazy field does not declare the type of its value. */
+    private static final String ERROR_RAW_LAZY = "The lazy field %s must declare the class of its value, as in Lazy<Date>";
+
+    /** Builds the parsing model of a type. */
+    private static final Function<Class<?>, ParsingModel> MODEL_BUILDER = new Function<Class<?>, ParsingModel>() {
+        @Override
+        public ParsingModel apply(final Class<?> clazz) {
+            return createParsingModel(clazz);
+        }
+    };
+
+    /** The parsing models of the types that cannot outlive Yap4j, built on first use. */
+    private static final ConcurrentMap<Class<?>, ParsingModel> PARSING_MODELS = new MapMaker().maximumSize(MAX_CACHED_MODELS)
+            .makeComputingMap(MODEL_BUILDER);
+
+    /**
+     * The parsing models of the types of other class loaders, built on first use and held only while in use. The values are weak as
+     * well as the keys, since a model references its type through its fields and converters, and would otherwise keep it reachable.
+     */
+    private static final ConcurrentMap<Class<?>, ParsingModel> FOREIGN_PARSING_MODELS = new MapMaker().weakKeys().weakValues()
+            .maximumSize(MAX_CACHED_MODELS).makeComputingMap(MODEL_BUILDER);
+
+    /**
+     * Builds and caches the parsing models of types ahead of their first parse, such as at startup, so that the first parse does not
+     * pay for processing their annotations.
+     *
+     * Warming does not apply to types of other class loaders than that of Yap4j, such as those of a web application: their models are
+     * only kept while a parser uses them, so warming them only checks their annotations, and their first parse builds them again.
+     *
+     * @param classes the types
+     */
+    public static void warm(final Class<?>... classes) {
+        for (Class<?> clazz : classes) {
+            getParsingModel(clazz);
+        }
+    }
+
     /**
      * Creates a new CsvParser object.
      *
@@ -31,39 +106,232 @@ public final class CsvParserFactory { // NOPMD
      * @return the CSV parser
      */
     public static Parser createParser(final Class<?> clazz) {
+        return createParser(clazz, new CsvParserSettings());
+    }
+
+    /**
+     * Creates a new CsvParser object.
+     *
+     * @param clazz the type to create the parser for
+     * @param settings the settings of the parser
+     * @return the CSV parser
+     */
+    public static Parser createParser(final Class<?> clazz, final CsvParserSettings settings) {
+        return new CsvParser(clazz, getParsingModel(clazz), settings);
+    }
+
+    /**
+     * Creates a new CsvParser object reading from a source, rather than from the file name the type is annotated with.
+     *
+     * @param clazz the type to create the parser for
+     * @param source the source of the CSV records
+     * @return the CSV parser
+     */
+    public static Parser createParser(final Class<?> clazz, final CsvSource source) {
+        return createParser(clazz, source, new CsvParserSettings());
+    }
+
+    /**
+     * Creates a new CsvParser object reading from a source, rather than from the file name the type is annotated with.
+     *
+     * @param clazz the type to create the parser for
+     * @param source the source of the CSV records
+     * @param settings the settings of the parser
+     * @return the CSV parser
+     */
+    public static Parser createParser(final Class<?> clazz, final CsvSource source, final CsvParserSettings settings) {
+        return new CsvParser(clazz, getParsingModel(clazz), settings, source);
+    }
+
+    /**
+     * Creates a new CsvFileSetParser object parsing a set of files of the same type.
+     *
+     * @param clazz the type to create the parser for
+     * @param files the files
+     * @return the CSV file set parser
+     */
+    public static CsvFileSetParser createFileSetParser(final Class<?> clazz, final Collection<File> files) {
+        return createFileSetParser(clazz, files, new CsvParserSettings());
+    }
+
+    /**
+     * Creates a new CsvFileSetParser object parsing a set of files of the same type.
+     *
+     * @param clazz the type to create the parser for
+     * @param files the files
+     * @param settings the settings of the parser, the number of threads being the number of files or chunks parsed concurrently
+     * @return the CSV file set parser
+     */
+    public static CsvFileSetParser createFileSetParser(final Class<?> clazz, final Collection<File> files, final CsvParserSettings settings) {
+        return new CsvFileSetParser(clazz, getParsingModel(clazz), settings, files);
+    }
+
+    /**
+     * Creates a new CsvFileSetParser object parsing the files of a directory whose names match a glob pattern, such as
+     * {@code "*.csv"}, in the order of their names.
+     *
+     * @param clazz the type to create the parser for
+     * @param directory the directory
+     * @param glob the glob pattern
+     * @return the CSV file set parser
+     */
+    public static CsvFileSetParser createFileSetParser(final Class<?> clazz, final File directory, final String glob) {
+        return createFileSetParser(clazz, directory, glob, new CsvParserSettings());
+    }
+
+    /**
+     * Creates a new CsvFileSetParser object parsing the files of a directory whose names match a glob pattern, such as
+     * {@code "*.csv"}, in the order of their names.
+     *
+     * @param clazz the type to create the parser for
+     * @param directory the directory
+     * @param glob the glob pattern
+     * @param settings the settings of the parser, the number of threads being the number of files or chunks parsed concurrently
+     * @return the CSV file set parser
+     */
+    public static CsvFileSetParser createFileSetParser(final Class<?> clazz, final File directory, final String glob, final CsvParserSettings settings) {
+        return createFileSetParser(clazz, CsvFileSetParser.listFiles(directory, glob), settings);
+    }
+
+    /**
+     * Infers the schema of CSV records nothing is known about, from their first {@link SchemaInference#DEFAULT_SAMPLE_SIZE} records.
+     *
+     * @param source the source of the CSV records
+     * @return the schema
+     */
+    public static CsvSchema inferSchema(final CsvSource source) {
+        return new SchemaInference().infer(source);
+    }
+
+    /**
+     * Creates a new CsvSchemaParser object parsing CSV records nothing is known about into rows, inferring their schema from their
+     * first records. The source is read once to infer the schema, and must therefore be one that can be read again, such as a file.
+     *
+     * @param source the source of the CSV records
+     * @return the CSV schema parser
+     */
+    public static CsvSchemaParser createParser(final CsvSource source) {
+        return createParser(inferSchema(source), source);
+    }
+
+    /**
+     * Creates a new CsvSchemaParser object parsing CSV records described by a schema rather than by an annotated class.
+     *
+     * @param schema the schema of the CSV records
+     * @param source the source of the CSV records
+     * @return the CSV schema parser
+     */
+    public static CsvSchemaParser createParser(final CsvSchema schema, final CsvSource source) {
+        return createParser(schema, source, new CsvParserSettings());
+    }
+
+    /**
+     * Creates a new CsvSchemaParser object parsing CSV records described by a schema rather than by an annotated class.
+     *
+     * @param schema the schema of the CSV records
+     * @param source the source of the CSV records
+     * @param settings the settings of the parser
+     * @return the CSV schema parser
+     */
+    public static CsvSchemaParser createParser(final CsvSchema schema, final CsvSource source, final CsvParserSettings settings) {
+        checkNotNull(schema);
+        checkNotNull(source);
+        return new CsvSchemaParser(schema, settings, source);
+    }
+
+    /**
+     * Returns the cached parsing model of a type, building it on first use, and rebuilding it if converters were registered or removed
+     * since it was built.
+     *
+     * @param clazz the type
+     * @return the parsing model
+     */
+    static ParsingModel getParsingModel(final Class<?> clazz) {
+        checkNotNull(clazz);
+        final ConcurrentMap<Class<?>, ParsingModel> parsingModels = ClassLoaders.isCacheSafe(clazz) ? PARSING_MODELS : FOREIGN_PARSING_MODELS;
+        try {
+            final ParsingModel parsingModel = parsingModels.get(clazz);
+            if (parsingModel.version == TypeConverter.INSTANCE.getVersion()) {
+                return parsingModel;
+            }
+            parsingModels.remove(clazz, parsingModel);
+            return parsingModels.get(clazz);
+        } catch (ComputationException computationException) {
+            //Rethrow what building the model failed with
+            if (computationException.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) computationException.getCause();
+            }
+            throw computationException;
+        }
+    }
+
+    /**
+     * Processes the annotations of a type to build its parsing model.
+     *
+     * @param clazz the type
+     * @return the parsing model
+     */
+    private static ParsingModel createParsingModel(final Class<?> clazz) {
+        //Read the version first, so that a converter registered while building the model makes it stale
+        final int version = TypeConverter.INSTANCE.getVersion();
+
         //Process annotations and build parsing model
-        final CsvParserFactory.ParsingModel.Record fileParsingModel = new CsvParserFactory.ParsingModel.Record(
-                ((CsvFile) clazz.getAnnotation(CsvFile.class)).fileName(),
-                ((CsvFile) clazz.getAnnotation(CsvFile.class)).delimiter(),
-                ((CsvFile) clazz.getAnnotation(CsvFile.class)).noHeader());
+        final CsvFile csvFile = clazz.getAnnotation(CsvFile.class);
+        if (csvFile == null) {
+            throw new ParsingException(String.format(ERROR_NOT_ANNOTATED, clazz.getName()));
+        }
+        final CsvParserFactory.ParsingModel.Record fileParsingModel = new CsvParserFactory.ParsingModel.Record(csvFile.fileName(),
+                csvFile.delimiter(), csvFile.noHeader());
 
         final List<ParsingModel.Entry> fieldParsingModels = new ArrayList<ParsingModel.Entry>(); // NOPMD
         final Field[] fields = clazz.getDeclaredFields();
         for (Field field : fields) {
             final Annotation annotation = field.getAnnotation(CsvEntry.class);
             if (annotation != null) {
+                field.setAccessible(true);
+                final Class<?> valueType = valueType(field);
                 fieldParsingModels.add(new CsvParserFactory.ParsingModel.Entry(// NOPMD
+                        field,
+                        TypeConverter.INSTANCE.converterFor(valueType, ((CsvEntry) annotation).format()),
+                        TypeConverter.INSTANCE.formatterFor(valueType, ((CsvEntry) annotation).format()),
                         field.getName(),
                         ((CsvEntry) annotation).header(),
                         ((CsvEntry) annotation).position(),
                         ((CsvEntry) annotation).format(),
                         ((CsvEntry) annotation).optional(),
                         ((CsvEntry) annotation).ignore(),
-                        ((CsvEntry) annotation)
-                                .defaultValue()));
+                        ((CsvEntry) annotation).defaultValue(),
+                        ((CsvEntry) annotation).intern()));
             }
         }
 
-        //Create parser
-        return new CsvParser(clazz, new ParsingModel(fileParsingModel, fieldParsingModels));
+        return new ParsingModel(fileParsingModel, fieldParsingModels, version);
+    }
+
+    /**
+     * Gets the type the values of a field are converted to: the type of the field, or the type of the value of a {@link Lazy} field.
+     *
+     * @param field the field
+     * @return the type of the values
+     */
+    private static Class<?> valueType(final Field field) {
+        if (field.getType() != Lazy.class) {
+            return field.getType();
+        }
+        final Type type = field.getGenericType();
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getActualTypeArguments()[0] instanceof Class) {
+            return (Class<?>) ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        throw new ParsingException(String.format(ERROR_RAW_LAZY, field.getName()));
     }
 
     //CHECKSTYLE:OFF
     /**
-     * A Parsing model.
+     * A Parsing model, the schema of a type compiled from its annotations. It is immutable, so that it can be shared by any number of
+     * parsers and threads; the positions of the entries in a file are resolved by every invocation of a parser from its own header.
      *
      * @author  Abdelmonaim Remani
-     * @version 0.1.0
+     * @version 0.2.0
      * @since 0.1.0
      */
     public static class ParsingModel {
@@ -74,8 +342,20 @@ public final class CsvParserFactory { // NOPMD
         /** The parsing model - Bean Field/CSV entry metadata. */
         public final transient List<Entry> entries;
 
-        /** The CSV entry positions. */
-        public final transient Map<Entry, Integer> fieldPositions;
+        /** The binders of the entries. */
+        final transient Map<Entry, FieldBinder> binders;
+
+        /** The entries bound by header, in declaration order. */
+        final transient ListMultimap<String, Entry> entriesByHeader;
+
+        /** The headers of the ignored entries. */
+        final transient Set<String> ignoredHeaders;
+
+        /** Whether an entry to bind has no header. */
+        final transient boolean unnamedEntries;
+
+        /** The version of the type converter the converters of the entries were resolved from. */
+        final transient int version;
 
         /**
          * Instantiates a new parsing model.
@@ -84,21 +364,63 @@ public final class CsvParserFactory { // NOPMD
          * @param entries the Bean Field/CSV entry metadata
          */
         public ParsingModel(final Record record, final List<Entry> entries) {
+            this(record, entries, TypeConverter.INSTANCE.getVersion());
+        }
+
+        /**
+         * Instantiates a new parsing model.
+         *
+         * @param record the Class/CSV record metadata
+         * @param entries the Bean Field/CSV entry metadata
+         * @param version the version of the type converter the converters of the entries were resolved from
+         */
+        ParsingModel(final Record record, final List<Entry> entries, final int version) {
             this.record = record;
-            this.entries = entries;
-            this.fieldPositions = new HashMap<Entry, Integer>();
+            this.version = version;
+            this.entries = ImmutableList.copyOf(entries);
+            final ImmutableMap.Builder<Entry, FieldBinder> builder = ImmutableMap.builder();
+            for (Entry entry : this.entries) {
+                builder.put(entry, FieldBinder.of(entry.field, entry.converter, entry.intern));
+            }
+            this.binders = builder.build();
+
+            //Index the entries by header, so that a record header is bound in a single pass
+            final ImmutableListMultimap.Builder<String, Entry> headerIndex = ImmutableListMultimap.builder();
+            final ImmutableSet.Builder<String> ignored = ImmutableSet.builder();
+            boolean unnamed = false;
+            for (Entry entry : this.entries) {
+                if (entry.ignore) {
+                    ignored.add(entry.header);
+                } else if (StringUtils.isEmpty(entry.header)) {
+                    unnamed = true;
+                } else {
+                    headerIndex.put(entry.header, entry);
+                }
+            }
+            this.entriesByHeader = headerIndex.build();
+            this.ignoredHeaders = ignored.build();
+            this.unnamedEntries = unnamed;
         }
 
         /**
          * Bean Field/CSV entry metadata.
          *
          * @author  Abdelmonaim Remani
-         * @version 0.1.0
+         * @version 0.2.0
          * @since 0.1.0
          */
         @RequiredArgsConstructor
         public static class Entry {
 
+            /** The field in Java class, made accessible. */
+            public final transient Field field;
+
+            /** The converter to the type of the field in Java class, or of the value of a lazy field. */
+            public final transient Converter<Object> converter;
+
+            /** The formatter of the type of the field in Java class, or of the value of a lazy field. */
+            public final transient Formatter<Object> formatter;
+
             /** The field name in Java class. */
             public final transient String beanFieldName;
 
@@ -119,6 +441,9 @@ public final class CsvParserFactory { // NOPMD
 
             /** The default value. */
             public final transient String defaultValue;
+
+            /** Whether repeated values are deduplicated. */
+            public final transient boolean intern;
         }
 
         /**
@@ -0,0 +1,337 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+
+import com.polymathiccoder.yap4j.RecordHandler;
+
+/**
+ * Used to tune how a CSV parser reads a file. The settings are copied when the parser is created, so changing them afterwards does
+ * not affect existing parsers.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class CsvParserSettings {
+
+    /** The default number of threads. A single thread parses sequentially on the calling thread. */
+    public static final int DEFAULT_THREADS = 1;
+
+    /** The default size of the chunks the file is split into when parsing in parallel. */
+    public static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    /** The charset of the files. */
+    private transient Charset charset = Charset.defaultCharset();
+
+    /** The number of threads. */
+    private transient int threads = DEFAULT_THREADS;
+
+    /** The size of the chunks in bytes. */
+    private transient long chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /** Whether records are handed over in file order or not. */
+    private transient boolean ordered = true;
+
+    /** The executor, or null to use a dedicated pool. */
+    private transient ExecutorService executor;
+
+    /** Whether records are parsed in a pipeline of stages or not. */
+    private transient boolean pipelined;
+
+    /** The stage metrics, or null. */
+    private transient StageMetrics metrics;
+
+    /** The handler of header diagnostics, or null to log them. */
+    private transient RecordHandler<HeaderDiagnostic> diagnostics;
+
+    /** The error policy. */
+    private transient ErrorPolicy errorPolicy = ErrorPolicy.FAIL_FAST;
+
+    /** The sink of the rejected records, or null to log them. */
+    private transient RecordHandler<RejectedRecord> rejects;
+
+    /** The parsing listener. */
+    private transient ParsingListener listener = ParsingListener.NO_OP;
+
+    /**
+     * Instantiates new default settings.
+     */
+    public CsvParserSettings() {
+        super();
+    }
+
+    /**
+     * Instantiates a copy of the specified settings.
+     *
+     * @param settings the settings to copy
+     */
+    CsvParserSettings(final CsvParserSettings settings) {
+        super();
+        this.charset = settings.charset;
+        this.threads = settings.threads;
+        this.chunkSize = settings.chunkSize;
+        this.ordered = settings.ordered;
+        this.executor = settings.executor;
+        this.pipelined = settings.pipelined;
+        this.metrics = settings.metrics;
+        this.diagnostics = settings.diagnostics;
+        this.errorPolicy = settings.errorPolicy;
+        this.rejects = settings.rejects;
+        this.listener = settings.listener;
+    }
+
+    /**
+     * Sets the charset the files are decoded from and encoded to. By default, the default charset of the platform.
+     *
+     * @param charset the charset
+     * @return these settings
+     */
+    public CsvParserSettings charset(final Charset charset) {
+        this.charset = checkNotNull(charset);
+        return this;
+    }
+
+    /**
+     * Sets the number of threads. With more than one thread, the file is split into chunks that are tokenized and converted
+     * concurrently.
+     *
+     * @param threads the number of threads
+     * @return these settings
+     */
+    public CsvParserSettings threads(final int threads) {
+        checkArgument(threads > 0, SettingsErrorMessages.ERROR_NOT_POSITIVE, "threads");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the size of the chunks the file is split into when parsing in parallel. Chunks end on record boundaries, so their actual
+     * size is slightly larger.
+     *
+     * @param chunkSize the size of the chunks in bytes
+     * @return these settings
+     */
+    public CsvParserSettings chunkSize(final long chunkSize) {
+        checkArgument(chunkSize > 0, SettingsErrorMessages.ERROR_NOT_POSITIVE, "chunkSize");
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets whether records parsed in parallel are handed over in file order, or as soon as their chunk is parsed.
+     *
+     * @param ordered true for file order, false otherwise
+     * @return these settings
+     */
+    public CsvParserSettings ordered(final boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Sets the executor to parse chunks on. It is not shut down by the parser. By default, a dedicated pool of the configured number
+     * of threads is used for every file.
+     *
+     * @param executor the executor
+     * @return these settings
+     */
+    public CsvParserSettings executor(final ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets whether records are parsed in a pipeline of stages, whatever the source: the source is read ahead on a thread, tokenized
+     * into batches of records on another, and the batches are converted on the configured number of threads, or on the executor, while
+     * the calling thread hands the records over. The stages are connected by bounded queues, so that a slow stage holds back the
+     * others rather than buffering the whole source.
+     *
+     * This overlaps reading with converting for sources that cannot be split into chunks, such as streams and compressed files, and
+     * takes precedence over splitting files into chunks.
+     *
+     * @param pipelined true to parse in a pipeline, false otherwise
+     * @return these settings
+     */
+    public CsvParserSettings pipelined(final boolean pipelined) {
+        this.pipelined = pipelined;
+        return this;
+    }
+
+    /**
+     * Sets the metrics the time spent in each stage of a pipelined parse is accumulated into.
+     *
+     * @param metrics the stage metrics, or null not to measure the stages
+     * @return these settings
+     */
+    public CsvParserSettings metrics(final StageMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Sets the handler of the mismatches between the record header of every file parsed and the entries of the type, called before any
+     * record of the file is handed over. Files of a {@link CsvFileSetParser} may be bound by its worker threads, which call the handler
+     * one diagnostic at a time. By default, unmapped headers are logged as fine, and missing and duplicate headers as a single warning
+     * per file.
+     *
+     * @param diagnostics the handler of header diagnostics, or null to log them
+     * @return these settings
+     */
+    public CsvParserSettings diagnostics(final RecordHandler<HeaderDiagnostic> diagnostics) {
+        this.diagnostics = diagnostics;
+        return this;
+    }
+
+    /**
+     * Sets what happens to the records that cannot be parsed. By default, parsing fails on the first one.
+     *
+     * @param errorPolicy the error policy
+     * @return these settings
+     */
+    public CsvParserSettings errorPolicy(final ErrorPolicy errorPolicy) {
+        this.errorPolicy = checkNotNull(errorPolicy);
+        return this;
+    }
+
+    /**
+     * Sets the sink of the records that cannot be parsed. It is called by the thread that parsed the record, one record at a time. By
+     * default, records skipped are logged as warnings.
+     *
+     * @param rejects the sink of the rejected records, or null to log them
+     * @return these settings
+     */
+    public CsvParserSettings rejects(final RecordHandler<RejectedRecord> rejects) {
+        this.rejects = rejects;
+        return this;
+    }
+
+    /**
+     * Sets the listener of where parsing spends its time, such as {@link ParsingMetrics}. By default, parsing is not instrumented.
+     *
+     * @param listener the parsing listener
+     * @return these settings
+     */
+    public CsvParserSettings listener(final ParsingListener listener) {
+        this.listener = checkNotNull(listener);
+        return this;
+    }
+
+    /**
+     * Gets the charset of the files.
+     *
+     * @return the charset
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Gets the number of threads.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the size of the chunks in bytes.
+     *
+     * @return the size of the chunks
+     */
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Whether records parsed in parallel are handed over in file order or not.
+     *
+     * @return true for file order, false otherwise
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Gets the executor.
+     *
+     * @return the executor, or null to use a dedicated pool
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Whether records are parsed in a pipeline of stages or not.
+     *
+     * @return true if pipelined, false otherwise
+     */
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Gets the stage metrics.
+     *
+     * @return the stage metrics, or null not to measure the stages
+     */
+    public StageMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the handler of header diagnostics.
+     *
+     * @return the handler of header diagnostics, or null to log them
+     */
+    public RecordHandler<HeaderDiagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Gets the error policy.
+     *
+     * @return the error policy
+     */
+    public ErrorPolicy getErrorPolicy() {
+        return errorPolicy;
+    }
+
+    /**
+     * Gets the sink of the rejected records.
+     *
+     * @return the sink of the rejected records, or null to log them
+     */
+    public RecordHandler<RejectedRecord> getRejects() {
+        return rejects;
+    }
+
+    /**
+     * Gets the parsing listener.
+     *
+     * @return the parsing listener
+     */
+    public ParsingListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Used to lookup settings error messages.
+     */
+    private static final class SettingsErrorMessages {
+
+        /** The error message when a setting must be positive. */
+        private static final String ERROR_NOT_POSITIVE = "The setting %s must be positive"; // NOPMD
+
+        /**
+         * Prevents instantiation.
+         */
+        private SettingsErrorMessages() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
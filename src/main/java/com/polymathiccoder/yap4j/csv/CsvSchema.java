@@ -0,0 +1,214 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.polymathiccoder.yap4j.common.Converter;
+import com.polymathiccoder.yap4j.common.TypeConverter;
+
+/**
+ * Used to describe the layout of CSV records without a class annotated with {@link com.polymathiccoder.yap4j.csv.annotation.CsvFile}:
+ * their delimiter, whether they start with a header, and the name, type, and nullability of every column. Schemas are inferred from
+ * a sample of the records by {@link SchemaInference}, and parsed by the {@link CsvSchemaParser} created with
+ * {@link CsvParserFactory#createParser(CsvSchema, CsvSource)}.
+ *
+ * Schemas are immutable, and compiled once: the converters of the columns are resolved, and their names are indexed, when the schema
+ * is created.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class CsvSchema {
+
+    /** The index of a name that is not in the schema. */
+    public static final int NO_COLUMN = -1;
+
+    /** The delimiter. */
+    private final transient char delimiter;
+
+    /** Whether the records start with a header. */
+    private final transient boolean header;
+
+    /** The columns. */
+    private final transient List<Column> columns;
+
+    /** The indexes of the columns mapped to their names. */
+    private final transient Map<String, Integer> indexes;
+
+    /**
+     * Instantiates a new schema.
+     *
+     * @param delimiter the delimiter
+     * @param header whether the records start with a header
+     * @param columns the columns, in order
+     */
+    CsvSchema(final char delimiter, final boolean header, final List<Column> columns) {
+        this.delimiter = delimiter;
+        this.header = header;
+        this.columns = ImmutableList.copyOf(columns);
+        final ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+        for (Column column : columns) {
+            builder.put(column.name, column.index);
+        }
+        this.indexes = builder.build();
+    }
+
+    /**
+     * Gets the delimiter.
+     *
+     * @return the delimiter
+     */
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * Returns whether the records start with a header.
+     *
+     * @return true if they do, false otherwise
+     */
+    public boolean hasHeader() {
+        return header;
+    }
+
+    /**
+     * Gets the columns, in order.
+     *
+     * @return the columns
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the index of the column of a name.
+     *
+     * @param name the name
+     * @return the index, or {@link #NO_COLUMN} if no column has this name
+     */
+    public int indexOf(final String name) {
+        final Integer index = indexes.get(name);
+        return index == null ? NO_COLUMN : index;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "delimiter '" + delimiter + "', " + (header ? "header" : "no header") + ", columns " + columns;
+    }
+
+    /**
+     * Used to describe a column.
+     */
+    public static final class Column {
+
+        /** The name of the column, its header if the records start with one. */
+        private final transient String name;
+
+        /** The index of the column. */
+        private final transient int index;
+
+        /** The type of the values. */
+        private final transient Class<?> type;
+
+        /** The format of the values, or null if the type does not need one. */
+        private final transient String format;
+
+        /** Whether values may be missing. */
+        private final transient boolean nullable;
+
+        /** Whether the values are few distinct strings, repeated like the constants of an enum. */
+        private final transient boolean categorical;
+
+        /** The converter to the type of the values. */
+        final transient Converter<Object> converter; // NOPMD
+
+        /**
+         * Instantiates a new column.
+         *
+         * @param name the name of the column
+         * @param index the index of the column
+         * @param type the type of the values, a wrapper type rather than a primitive type if values may be missing
+         * @param format the format of the values, or null if the type does not need one
+         * @param nullable whether values may be missing
+         * @param categorical whether the values are few distinct strings
+         */
+        Column(final String name, final int index, final Class<?> type, final String format, final boolean nullable, final boolean categorical) {
+            this.name = name;
+            this.index = index;
+            this.type = type;
+            this.format = format;
+            this.nullable = nullable;
+            this.categorical = categorical;
+            this.converter = TypeConverter.INSTANCE.converterFor(type, format);
+        }
+
+        /**
+         * Gets the name of the column, its header if the records start with one.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the index of the column.
+         *
+         * @return the index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Gets the type of the values: int, long, double, {@link java.util.Date}, or {@link String}. Columns of numbers that may be
+         * missing are of the wrapper type.
+         *
+         * @return the type
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Gets the format of the values, such as the pattern of dates.
+         *
+         * @return the format, or null if the type does not need one
+         */
+        public String getFormat() {
+            return format;
+        }
+
+        /**
+         * Returns whether values may be missing.
+         *
+         * @return true if they may, false otherwise
+         */
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        /**
+         * Returns whether the values are few distinct strings, repeated like the constants of an enum.
+         *
+         * @return true if categorical, false otherwise
+         */
+        public boolean isCategorical() {
+            return categorical;
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return name + " " + type.getSimpleName() + (format == null ? "" : "(" + format + ")") + (nullable ? "?" : "") + (categorical ? " categorical" : "");
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.java.Log;
+
+import com.google.common.collect.AbstractIterator;
+import com.polymathiccoder.yap4j.CloseableIterator;
+import com.polymathiccoder.yap4j.RecordHandler;
+import com.polymathiccoder.yap4j.table.Table;
+
+/**
+ * Used to parse CSV records described by a schema rather than by an annotated class, such as a schema inferred by
+ * {@link SchemaInference}, into generic {@link Row}s or into a table. Rows convert their values lazily, when read. Tables convert them
+ * to the type of their column, and records with a value that does not fit it are rejected according to the error policy of the
+ * settings.
+ *
+ * Like {@link CsvParser}, a schema parser is immutable and can be invoked by any number of threads at once, although sources that can
+ * only be read once still allow a single invocation.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@Log
+public final class CsvSchemaParser {
+
+    /** The schema. */
+    private final transient CsvSchema schema;
+
+    /** The settings. */
+    private final transient CsvParserSettings settings;
+
+    /** The charset of the file. */
+    private final transient Charset charset;
+
+    /** The source of the CSV records. */
+    private final transient CsvSource source;
+
+    /**
+     * Instantiates a new schema parser.
+     *
+     * @param schema the schema
+     * @param settings the settings
+     * @param source the source of the CSV records
+     */
+    public CsvSchemaParser(final CsvSchema schema, final CsvParserSettings settings, final CsvSource source) {
+        this.schema = schema;
+        this.settings = new CsvParserSettings(settings);
+        this.charset = this.settings.getCharset();
+        this.source = source;
+    }
+
+    /**
+     * Gets the schema.
+     *
+     * @return the schema
+     */
+    public CsvSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Parses the CSV records into rows.
+     *
+     * @return the rows
+     */
+    public List<Row> deserialize() {
+        final List<Row> rows = new ArrayList<Row>();
+        deserialize(new RecordHandler<Row>() {
+            @Override
+            public void handle(final Row row) {
+                rows.add(row);
+            }
+        });
+        return rows;
+    }
+
+    /**
+     * Parses the CSV records into rows, handing each row over as soon as it is read.
+     *
+     * @param handler the handler of the rows
+     */
+    public void deserialize(final RecordHandler<Row> handler) {
+        final CloseableIterator<Row> rows = iterator();
+        try {
+            while (rows.hasNext()) {
+                handler.handle(rows.next());
+            }
+        } finally {
+            rows.close();
+        }
+    }
+
+    /**
+     * Streams the CSV records as rows, reading a record only when the next row is requested. The iterator is closed once exhausted,
+     * and must otherwise be closed by the caller.
+     *
+     * @return the iterator over the rows
+     */
+    public CloseableIterator<Row> iterator() {
+        final CsvTokenizer tokenizer = open();
+        try {
+            if (schema.hasHeader()) {
+                tokenizer.nextRecord();
+            }
+        } catch (IOException ioException) {
+            closeQuietly(tokenizer);
+            throw new ParsingException(String.format(SchemaParsingErrorMessages.ERROR_READING, source), ioException);
+        }
+        return new RowIterator(tokenizer);
+    }
+
+    /**
+     * Parses the CSV records into a table, one column per column of the schema.
+     *
+     * @return the table
+     */
+    public Table deserializeTable() {
+        final List<CsvSchema.Column> columns = schema.getColumns();
+        final Class<?>[] types = new Class<?>[columns.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = columns.get(i).getType();
+        }
+        final ErrorBudget errors = new ErrorBudget(settings.getErrorPolicy(), settings.getRejects(), settings.getListener(), source.toString());
+        final ConversionMeter meter = settings.getListener() == ParsingListener.NO_OP ? null : new ConversionMeter(settings.getListener(), types);
+        final TableBuilder table = new TableBuilder(schema);
+        final CsvTokenizer tokenizer = open();
+        long parsed = 0;
+        try {
+            if (schema.hasHeader()) {
+                tokenizer.nextRecord();
+            }
+            while (tokenizer.nextRecord()) {
+                parsed++;
+                final boolean timed = meter != null && meter.sample();
+                int i = 0;
+                try {
+                    for (; i < types.length; i++) {
+                        final String value = valueOf(tokenizer, columns.get(i));
+                        final long start = timed ? System.nanoTime() : 0;
+                        final boolean fallback = table.append(i, value);
+                        if (meter != null && value != null) {
+                            meter.converted(i, fallback, timed ? System.nanoTime() - start : -1);
+                        }
+                    }
+                    table.endRow();
+                } catch (RuntimeException runtimeException) {
+                    table.discardRow();
+                    errors.reject(tokenizer, i < types.length ? i : RejectedRecord.UNKNOWN, runtimeException);
+                }
+            }
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(SchemaParsingErrorMessages.ERROR_READING, source), ioException);
+        } finally {
+            if (meter != null) {
+                meter.flush();
+            }
+            closeQuietly(tokenizer);
+        }
+        errors.parsed(parsed);
+        errors.finish();
+        return table.build();
+    }
+
+    /**
+     * Opens a tokenizer over the whole source, splitting the records with the delimiter of the schema.
+     *
+     * @return the tokenizer
+     */
+    private CsvTokenizer open() {
+        final CsvTokenizer tokenizer;
+        try {
+            if (source.isSplittable() && RecordBoundaryScanner.supports(charset, schema.getDelimiter())) {
+                tokenizer = new ByteCsvTokenizer(new FileInputStream(source.getFile()).getChannel(), 0, Long.MAX_VALUE, schema.getDelimiter(), charset);
+            } else {
+                tokenizer = new CharCsvTokenizer(source.openReader(charset, null), schema.getDelimiter());
+            }
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(SchemaParsingErrorMessages.ERROR_READING, source), ioException);
+        }
+        if (settings.getListener() != ParsingListener.NO_OP) {
+            tokenizer.meter(settings.getListener());
+        }
+        return tokenizer;
+    }
+
+    /**
+     * Resolves the value of a column in a record.
+     *
+     * @param tokenizer the tokenizer positioned at the record
+     * @param column the column
+     * @return the value, or null if missing from a nullable column
+     */
+    private static String valueOf(final CsvTokenizer tokenizer, final CsvSchema.Column column) {
+        final int index = column.getIndex();
+        if (index < tokenizer.fieldCount() && !tokenizer.isEmpty(index)) {
+            return tokenizer.field(index);
+        }
+        if (column.getType().isPrimitive()) {
+            throw new ParsingException(String.format(SchemaParsingErrorMessages.ERROR_MISSING_VALUE, column.getName()));
+        }
+        return null;
+    }
+
+    /**
+     * Closes a tokenizer, logging rather than throwing if it fails.
+     *
+     * @param tokenizer the tokenizer
+     */
+    private void closeQuietly(final CsvTokenizer tokenizer) {
+        try {
+            tokenizer.close();
+        } catch (IOException ioException) { // NOPMD
+            log.warning("Could not close " + source);
+        }
+    }
+
+    /**
+     * Used to stream the records of a tokenizer as rows.
+     */
+    private final class RowIterator extends AbstractIterator<Row> implements CloseableIterator<Row> {
+
+        /** The tokenizer over the data lines, or null once closed. */
+        private transient CsvTokenizer tokenizer;
+
+        /**
+         * Instantiates a new row iterator.
+         *
+         * @param tokenizer the tokenizer positioned before the first data line
+         */
+        RowIterator(final CsvTokenizer tokenizer) {
+            super();
+            this.tokenizer = tokenizer;
+        }
+
+        /* (non-Javadoc)
+         * @see com.google.common.collect.AbstractIterator#computeNext()
+         */
+        @Override
+        protected Row computeNext() {
+            if (tokenizer != null) {
+                try {
+                    if (tokenizer.nextRecord()) {
+                        return Row.of(schema, tokenizer);
+                    }
+                } catch (IOException ioException) {
+                    close();
+                    throw new ParsingException(String.format(SchemaParsingErrorMessages.ERROR_READING, source), ioException);
+                }
+            }
+            close();
+            return endOfData();
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.CloseableIterator#close()
+         */
+        @Override
+        public void close() {
+            if (tokenizer != null) {
+                closeQuietly(tokenizer);
+                tokenizer = null; // NOPMD
+            }
+        }
+    }
+
+    /**
+     * Used to lookup schema parsing error messages.
+     */
+    private static final class SchemaParsingErrorMessages {
+
+        /** The error message when the source could not be read. */
+        private static final String ERROR_READING = "Could not read %s";
+
+        /** The error message when a column that is not nullable has no value. */
+        private static final String ERROR_MISSING_VALUE = "The column %s must be assigned a value";
+
+        /**
+         * Prevents instantiation.
+         */
+        private SchemaParsingErrorMessages() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Used to supply the CSV records a parser reads, in place of the file named by {@link com.polymathiccoder.yap4j.csv.annotation.CsvFile},
+ * which is only the default source.
+ *
+ * Only uncompressed files can be split into chunks and parsed in parallel, and read directly from their bytes. Other sources are read
+ * as they arrive, so parsing overlaps with the transfer of the data, and need not be copied to disk first. Streams, readers, and
+ * channels can only be read once, and are closed once read. Readers supply characters rather than bytes, and are neither decoded nor
+ * decompressed.
+ *
+ * Sources of bytes compressed with a {@link CompressionCodec} are decompressed as they are read, on a separate thread. The compression
+ * is detected from the extension of the name of files and classpath resources, or from the first bytes of any source.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public abstract class CsvSource {
+
+    /** The name of the source, for error messages. */
+    private final transient String name;
+
+    /** Whether the source is an uncompressed file, or null until detected. */
+    private transient volatile Boolean splittable;
+
+    /**
+     * Instantiates a new CSV source.
+     *
+     * @param name the name of the source, for error messages
+     */
+    CsvSource(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates a source reading a file.
+     *
+     * @param file the file
+     * @return the CSV source
+     */
+    public static CsvSource of(final File file) {
+        checkNotNull(file);
+        return new ByteSource("the file " + file.getPath()) {
+            @Override
+            File getFile() {
+                return file;
+            }
+
+            @Override
+            String getFileName() {
+                return file.getName();
+            }
+
+            @Override
+            InputStream openStream() throws IOException {
+                return new FileInputStream(file);
+            }
+        };
+    }
+
+    /**
+     * Creates a source reading an input stream, such as the body of an HTTP response, decoded in the charset of the parser.
+     *
+     * @param input the input stream
+     * @return the CSV source
+     */
+    public static CsvSource of(final InputStream input) {
+        checkNotNull(input);
+        return new ByteSource("an input stream") {
+            @Override
+            InputStream openStream() {
+                return input;
+            }
+        };
+    }
+
+    /**
+     * Creates a source reading characters from a reader, whatever their encoding.
+     *
+     * @param reader the reader
+     * @return the CSV source
+     */
+    public static CsvSource of(final Reader reader) {
+        checkNotNull(reader);
+        return new CsvSource("a reader") {
+            @Override
+            boolean isReader() {
+                return true;
+            }
+
+            @Override
+            Reader openReader(final Charset charset, final StageMetrics metrics) {
+                return reader;
+            }
+        };
+    }
+
+    /**
+     * Creates a source reading a channel, decoded in the charset of the parser.
+     *
+     * @param channel the channel
+     * @return the CSV source
+     */
+    public static CsvSource of(final ReadableByteChannel channel) {
+        checkNotNull(channel);
+        return new ByteSource("a channel") {
+            @Override
+            InputStream openStream() {
+                return Channels.newInputStream(channel);
+            }
+        };
+    }
+
+    /**
+     * Creates a source reading bytes held in memory, decoded in the charset of the parser. The bytes are not copied, and can be read
+     * any number of times.
+     *
+     * @param bytes the bytes
+     * @return the CSV source
+     */
+    public static CsvSource of(final byte[] bytes) { // NOPMD
+        checkNotNull(bytes);
+        return new ByteSource("a byte array") {
+            @Override
+            InputStream openStream() {
+                return new ByteArrayInputStream(bytes);
+            }
+        };
+    }
+
+    /**
+     * Creates a source reading a resource on the classpath of the context class loader, decoded in the charset of the parser. The
+     * resource can be read any number of times.
+     *
+     * @param resource the name of the resource
+     * @return the CSV source
+     */
+    public static CsvSource ofResource(final String resource) {
+        checkNotNull(resource);
+        return new ByteSource("the classpath resource " + resource) {
+            @Override
+            String getFileName() {
+                return resource;
+            }
+
+            @Override
+            InputStream openStream() throws IOException {
+                ClassLoader classLoader = Thread.currentThread().getContextClassLoader(); // NOPMD
+                if (classLoader == null) {
+                    classLoader = CsvSource.class.getClassLoader();
+                }
+                final InputStream input = classLoader.getResourceAsStream(resource);
+                if (input == null) {
+                    throw new FileNotFoundException(resource);
+                }
+                return input;
+            }
+        };
+    }
+
+    /**
+     * Returns the file read, which is also the file records are serialized to.
+     *
+     * @return the file, or null if the source is not a file
+     */
+    File getFile() {
+        return null;
+    }
+
+    /**
+     * Returns the name compression is detected from, the name of a file or of a classpath resource.
+     *
+     * @return the name, or null if the source has none
+     */
+    String getFileName() {
+        return null;
+    }
+
+    /**
+     * Returns whether the source supplies characters rather than bytes, so that the charset of the parser does not apply to it.
+     *
+     * @return true if a reader, false otherwise
+     */
+    boolean isReader() {
+        return false;
+    }
+
+    /**
+     * Returns whether the source is an uncompressed file, which can be split into chunks and read directly from its bytes. The
+     * compression of a file is detected from its first bytes once, when the file can be read, rather than on every call.
+     *
+     * @return true if splittable, false otherwise
+     */
+    boolean isSplittable() {
+        final File file = getFile();
+        if (isReader() || file == null) {
+            return false;
+        }
+        if (splittable == null) {
+            try {
+                splittable = CompressionCodecs.forFile(file) == null;
+            } catch (IOException ioException) { // NOPMD
+                //Reported once the file is opened
+                return true;
+            }
+        }
+        return splittable;
+    }
+
+    /**
+     * Opens the characters of the source, decompressing the bytes of a source of bytes if they are compressed.
+     *
+     * @param charset the charset the bytes of the source are decoded in
+     * @param metrics the stage metrics of a pipelined parse, or null
+     * @return the reader
+     * @throws IOException if the source could not be opened, a {@link FileNotFoundException} if it does not exist
+     */
+    abstract Reader openReader(Charset charset, StageMetrics metrics) throws IOException;
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Used to supply CSV records as bytes, decoded in the charset of the parser.
+     */
+    private abstract static class ByteSource extends CsvSource {
+
+        /**
+         * Instantiates a new source of bytes.
+         *
+         * @param name the name of the source, for error messages
+         */
+        ByteSource(final String name) {
+            super(name);
+        }
+
+        /**
+         * Opens the bytes of the source.
+         *
+         * @return the input stream
+         * @throws IOException if the source could not be opened, a {@link FileNotFoundException} if it does not exist
+         */
+        abstract InputStream openStream() throws IOException;
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.CsvSource#openReader(java.nio.charset.Charset, com.polymathiccoder.yap4j.csv.StageMetrics)
+         */
+        @Override
+        Reader openReader(final Charset charset, final StageMetrics metrics) throws IOException {
+            final InputStream input = openStream();
+            try {
+                return new InputStreamReader(CompressionCodecs.decompress(input, getFileName(), metrics), charset);
+            } catch (IOException ioException) {
+                input.close();
+                throw ioException;
+            }
+        }
+    }
+}
@@ -0,0 +1,567 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Used to split CSV records into fields in a single pass as described in RFC 4180. Quoted fields may contain delimiters, line breaks,
+ * and escaped (doubled) quotes. Blank lines are skipped.
+ *
+ * The unescaped content of the current record is copied into a reusable buffer, and the field boundaries are written into reusable
+ * offsets arrays, so that tokenizing allocates nothing once the buffers have grown to fit the widest record. Fields are only turned
+ * into strings when requested, or viewed in place as character sequences.
+ *
+ * A projection restricts tokenizing to the columns actually needed: the content of the other columns is never copied, and the rest of
+ * a record is skipped as soon as the last needed column has been read.
+ *
+ * The state machine is shared by the tokenizers of characters and of bytes, which only supply the units of their input one at a time
+ * and store the units of the current record.
+ *
+ * Logic Tree (states and their transitions):
+ *
+ *  Field start --quote--> Quoted --quote--> Quote in quoted --quote--> Quoted (escaped quote)
+ *       \                                         \
+ *        --other--> Unquoted                       --delimiter/line break--> Field end
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+abstract class CsvTokenizer implements Closeable {
+
+    /** The unit returned at the end of the input. */
+    protected static final int END_OF_INPUT = -1;
+
+    /** The quote. */
+    private static final int QUOTE = '"';
+
+    /** The line feed. */
+    private static final int LINE_FEED = '\n';
+
+    /** The carriage return. */
+    private static final int CARRIAGE_RETURN = '\r';
+
+    /** The state at the start of a field, entered by a delimiter or at the start of a record. */
+    static final int STATE_FIELD_START = 0;
+
+    /** The state within an unquoted field. */
+    private static final int STATE_UNQUOTED = 1;
+
+    /** The state within a quoted field. */
+    private static final int STATE_QUOTED = 2;
+
+    /** The state after a quote within a quoted field. */
+    private static final int STATE_QUOTE_IN_QUOTED = 3;
+
+    /** The state entered by a line break ending a record. */
+    static final int STATE_RECORD_END = 4;
+
+    /** The initial size of the record buffer. */
+    protected static final int INITIAL_RECORD_SIZE = 256;
+
+    /** The initial number of fields. */
+    private static final int INITIAL_FIELD_COUNT = 16;
+
+    /** The length of the current record in the record buffer. */
+    protected transient int recordLength;
+
+    /** Whether the current record is a blank line. */
+    private transient boolean blank;
+
+    /** Whether a line feed following a carriage return is to be skipped. */
+    private transient boolean skipLineFeed;
+
+    /** The offset of the current record in the input, or -1 if unknown. */
+    protected transient long recordOffset = -1;
+
+    /** The number of the current record, counting the header. */
+    protected transient long recordNumber;
+
+    /** Whether records are numbered from the start of the input, or from the middle of it. */
+    private transient boolean numbered = true;
+
+    /** The listener the tokenizer is metered for, or null if it is not metered. */
+    private transient ParsingListener listener;
+
+    /** The number of records metered. */
+    private transient long meteredRecords;
+
+    /** The number of records timed. */
+    private transient long timedRecords;
+
+    /** The time spent tokenizing the records timed, in nanoseconds. */
+    private transient long tokenizeNanos;
+
+    /** The number of bytes, or characters, read. */
+    private transient long bytesRead;
+
+    /** The time spent waiting for the input, in nanoseconds. */
+    private transient long readNanos;
+
+    /** The columns needed, or null if all are. */
+    private transient boolean[] projection;
+
+    /** The last column needed. */
+    private transient int lastProjected = Integer.MAX_VALUE;
+
+    /** The start offsets of the fields of the current record. */
+    private transient int[] fieldStarts = new int[INITIAL_FIELD_COUNT];
+
+    /** The end offsets of the fields of the current record. */
+    private transient int[] fieldEnds = new int[INITIAL_FIELD_COUNT];
+
+    /** The number of fields of the current record. */
+    private transient int fieldCount;
+
+    /** The reusable view of a field. */
+    private final transient FieldView fieldView = new FieldView();
+
+    /**
+     * Advances to the next record.
+     *
+     * @return true if a record has been read, false at the end of the input
+     * @throws IOException if the input could not be read
+     */
+    final boolean nextRecord() throws IOException {
+        final boolean timed = listener != null && meteredRecords % ParsingListener.SAMPLING_INTERVAL == 0;
+        //The time spent waiting for the input is not tokenizing
+        final long start = timed ? System.nanoTime() - readNanos : 0;
+        do {
+            recordLength = 0;
+            fieldCount = 0;
+            blank = false;
+            if (!readRecord()) {
+                report();
+                return false;
+            }
+        } while (blank);
+        recordNumber++;
+        if (listener != null) {
+            if (timed) {
+                tokenizeNanos += System.nanoTime() - readNanos - start;
+                timedRecords++;
+            }
+            meteredRecords++;
+        }
+        return true;
+    }
+
+    /**
+     * Meters the records read from now on for a listener, reported at the end of the input or once closed.
+     *
+     * @param listener the listener
+     */
+    final void meter(final ParsingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Starts reading the input.
+     *
+     * @return the start time, if metered
+     */
+    protected final long readStarted() {
+        return listener == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Ends reading the input.
+     *
+     * @param start the start time returned by {@link #readStarted()}
+     * @param count the number of bytes, or characters, read
+     */
+    protected final void readEnded(final long start, final long count) {
+        if (listener != null) {
+            readNanos += System.nanoTime() - start;
+            bytesRead += count;
+        }
+    }
+
+    /**
+     * Reports what has been metered so far to the listener, if metered, and starts metering again.
+     */
+    protected final void report() {
+        if (listener != null && (meteredRecords > 0 || bytesRead > 0)) {
+            listener.read(meteredRecords, bytesRead, readNanos, ConversionMeter.estimate(tokenizeNanos, timedRecords, meteredRecords));
+            meteredRecords = 0;
+            timedRecords = 0;
+            tokenizeNanos = 0;
+            bytesRead = 0;
+            readNanos = 0;
+        }
+    }
+
+    /**
+     * Returns the number of the current record, counting the header and not counting blank lines, which is its line number unless
+     * previous records span several lines.
+     *
+     * @return the number of the record, or -1 if the input does not start at the start of the source
+     */
+    final long recordNumber() {
+        return numbered ? recordNumber : -1;
+    }
+
+    /**
+     * Returns the offset of the current record in the source, in bytes when tokenizing bytes and in characters otherwise.
+     *
+     * @return the offset of the record, or -1 if unknown
+     */
+    final long recordOffset() {
+        return recordOffset;
+    }
+
+    /**
+     * Marks the input as starting in the middle of the source, such as a chunk of a file, where records cannot be numbered.
+     */
+    final void unnumbered() {
+        numbered = false;
+    }
+
+    /**
+     * Restricts tokenizing the next records to the needed columns. The fields of the other columns are always empty, and those past
+     * the last needed column are missing.
+     *
+     * @param columns the columns needed
+     */
+    final void project(final boolean[] columns) {
+        for (int i = columns.length - 1; i >= 0; i--) {
+            if (columns[i]) {
+                projection = columns;
+                lastProjected = i;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the content of a column is needed.
+     *
+     * @param index the index of the column
+     * @return true if needed, false otherwise
+     */
+    protected final boolean captures(final int index) {
+        return projection == null || index < projection.length && projection[index];
+    }
+
+    /**
+     * Returns whether the last needed column of the current record has been read.
+     *
+     * @return true if the rest of the record can be skipped, false otherwise
+     */
+    protected final boolean projectionRead() {
+        return fieldCount > lastProjected;
+    }
+
+    /**
+     * Reads a record, blank or not, ending each of its fields.
+     *
+     * @return true if a record has been read, false at the end of the input
+     * @throws IOException if the input could not be read
+     */
+    protected abstract boolean readRecord() throws IOException;
+
+    /**
+     * Reads the next unit of the input, a character or a byte.
+     *
+     * @return the unit, unsigned, or {@link #END_OF_INPUT} at the end of the input
+     * @throws IOException if the input could not be read
+     */
+    protected abstract int nextUnit() throws IOException;
+
+    /**
+     * Appends a unit to the record buffer, growing it if needed.
+     *
+     * @param unit the unit
+     */
+    protected abstract void append(int unit);
+
+    /**
+     * Moves the RFC 4180 quoting state machine past a unit. This is the only place quoting rules are defined: records are tokenized
+     * and skipped, and files are split into chunks by {@link RecordBoundaryScanner}, by following these transitions.
+     *
+     * A quote opens a quoted field only at the start of a field, and two quotes within a quoted field stand for one. Units following
+     * a closing quote are leniently taken as part of the field.
+     *
+     * @param state the current state
+     * @param unit the unit
+     * @param delimiter the delimiter
+     * @return the next state: {@link #STATE_FIELD_START} if the unit is a delimiter ending a field, {@link #STATE_RECORD_END} if it is
+     *         a line break ending a record, and otherwise the state within the field
+     */
+    static int transition(final int state, final int unit, final int delimiter) {
+        if (state == STATE_QUOTED) {
+            return unit == QUOTE ? STATE_QUOTE_IN_QUOTED : STATE_QUOTED;
+        }
+        if (unit == LINE_FEED || unit == CARRIAGE_RETURN) {
+            return STATE_RECORD_END;
+        }
+        if (unit == delimiter) {
+            return STATE_FIELD_START;
+        }
+        return unit == QUOTE && state != STATE_UNQUOTED ? STATE_QUOTED : STATE_UNQUOTED;
+    }
+
+    /**
+     * Tokenizes a record of the input, blank or not, ending each of its fields.
+     *
+     * @param delimiter the delimiter
+     * @return true if a record has been read, false at the end of the input
+     * @throws IOException if the input could not be read
+     */
+    protected final boolean tokenizeRecord(final int delimiter) throws IOException { // NOPMD
+        int state = STATE_FIELD_START;
+        int fieldStart = 0;
+        boolean capture = captures(0);
+        boolean read = false;
+        while (true) {
+            final int unit = nextUnit();
+            if (unit == END_OF_INPUT) {
+                if (!read) {
+                    return false;
+                }
+                endField(fieldStart);
+                return true;
+            }
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (unit == LINE_FEED) {
+                    recordOffset++;
+                    continue;
+                }
+            }
+            read = true;
+            final int next = transition(state, unit, delimiter);
+            if (next == STATE_RECORD_END) {
+                skipLineFeed = unit == CARRIAGE_RETURN;
+                blank = state == STATE_FIELD_START && fieldCount == 0;
+                endField(fieldStart);
+                return true;
+            }
+            if (next == STATE_FIELD_START) {
+                endField(fieldStart);
+                if (projectionRead()) {
+                    return skipRecord(delimiter);
+                }
+                fieldStart = recordLength;
+                capture = captures(fieldCount);
+            } else if (capture && (next == STATE_UNQUOTED || next == STATE_QUOTED && state != STATE_FIELD_START)) {
+                //Every unit but opening and closing quotes, an escaped quote being kept once
+                append(unit);
+            }
+            state = next;
+        }
+    }
+
+    /**
+     * Skips the rest of the current record, following quotes without copying any of its units.
+     *
+     * @param delimiter the delimiter
+     * @return true, as the record has been read
+     * @throws IOException if the input could not be read
+     */
+    private boolean skipRecord(final int delimiter) throws IOException {
+        int state = STATE_FIELD_START;
+        for (int unit = nextUnit(); unit != END_OF_INPUT; unit = nextUnit()) {
+            state = transition(state, unit, delimiter);
+            if (state == STATE_RECORD_END) {
+                skipLineFeed = unit == CARRIAGE_RETURN;
+                return true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Turns a range of the record buffer into a string.
+     *
+     * @param start the start offset
+     * @param end the end offset
+     * @return the string
+     */
+    protected abstract String decode(int start, int end);
+
+    /**
+     * Returns a character of the record buffer.
+     *
+     * @param offset the offset
+     * @return the character
+     */
+    protected abstract char charAt(int offset);
+
+    /**
+     * Returns whether the current record can be viewed in place, one character per offset of the record buffer.
+     *
+     * @return true if it can be viewed, false if its fields have to be decoded
+     */
+    protected boolean isViewable() {
+        return true;
+    }
+
+    /**
+     * Returns the number of fields of the current record.
+     *
+     * @return the number of fields
+     */
+    final int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns whether a field of the current record is empty.
+     *
+     * @param index the index of the field
+     * @return true if empty, false otherwise
+     */
+    final boolean isEmpty(final int index) {
+        checkIndex(index);
+        return fieldEnds[index] == fieldStarts[index];
+    }
+
+    /**
+     * Returns a field of the current record.
+     *
+     * @param index the index of the field
+     * @return the field
+     */
+    final String field(final int index) {
+        checkIndex(index);
+        return decode(fieldStarts[index], fieldEnds[index]);
+    }
+
+    /**
+     * Returns a view of a field of the current record, without creating a string if possible. The view is reused, and is only valid
+     * until the next call to this method or to {@link #nextRecord()}.
+     *
+     * @param index the index of the field
+     * @return the view of the field
+     */
+    final CharSequence fieldView(final int index) {
+        checkIndex(index);
+        if (!isViewable()) {
+            return decode(fieldStarts[index], fieldEnds[index]);
+        }
+        fieldView.start = fieldStarts[index];
+        fieldView.end = fieldEnds[index];
+        return fieldView;
+    }
+
+    /**
+     * Returns the fields of the current record.
+     *
+     * @return the fields
+     */
+    final String[] fields() {
+        final String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = field(i);
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the fields of the current record end to end, as a single string that can outlive the tokenizer. The record is decoded
+     * at once unless its characters are not one per byte, in which case the fields are decoded one by one.
+     *
+     * @param ends the array receiving the end offset of every field in the string, at least as long as the number of fields
+     * @return the fields end to end
+     */
+    final String record(final int[] ends) {
+        if (fieldCount == 0) {
+            return "";
+        }
+        final int start = fieldStarts[0];
+        final String record = decode(start, fieldEnds[fieldCount - 1]);
+        if (record.length() == fieldEnds[fieldCount - 1] - start) {
+            for (int i = 0; i < fieldCount; i++) {
+                ends[i] = fieldEnds[i] - start;
+            }
+            return record;
+        }
+        final StringBuilder builder = new StringBuilder(record.length());
+        for (int i = 0; i < fieldCount; i++) {
+            builder.append(decode(fieldStarts[i], fieldEnds[i]));
+            ends[i] = builder.length();
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Ends the current field.
+     *
+     * @param fieldStart the start offset of the current field
+     */
+    protected final void endField(final int fieldStart) {
+        if (fieldCount == fieldStarts.length) {
+            final int[] grownStarts = new int[fieldCount << 1];
+            final int[] grownEnds = new int[fieldCount << 1];
+            System.arraycopy(fieldStarts, 0, grownStarts, 0, fieldCount);
+            System.arraycopy(fieldEnds, 0, grownEnds, 0, fieldCount);
+            fieldStarts = grownStarts;
+            fieldEnds = grownEnds;
+        }
+        fieldStarts[fieldCount] = fieldStart;
+        fieldEnds[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    /**
+     * Checks that a field exists in the current record.
+     *
+     * @param index the index of the field
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+    }
+
+    /**
+     * Used to view a range of the record buffer as a character sequence.
+     */
+    private final class FieldView implements CharSequence {
+
+        /** The start offset. */
+        private transient int start;
+
+        /** The end offset. */
+        private transient int end;
+
+        /* (non-Javadoc)
+         * @see java.lang.CharSequence#length()
+         */
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.CharSequence#charAt(int)
+         */
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException(String.valueOf(index));
+            }
+            return CsvTokenizer.this.charAt(start + index);
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.CharSequence#subSequence(int, int)
+         */
+        @Override
+        public CharSequence subSequence(final int from, final int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException(String.valueOf(from));
+            }
+            return decode(start + from, start + to);
+        }
+
+        /* (non-Javadoc)
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return decode(start, end);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Used to write CSV records as described in RFC 4180. Fields are quoted only when they contain a delimiter, a quote, or a line break,
+ * and records end with a carriage return and a line feed.
+ *
+ * Records are written into a large reusable buffer, which is only handed over to the underlying writer when full, and integers are
+ * written digit by digit, so that writing allocates nothing but the strings of the formatted values.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class CsvWriter implements Closeable, Flushable {
+
+    /** The quote. */
+    private static final char QUOTE = '"';
+
+    /** The size of the write buffer. */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /** The maximum number of characters of a long. */
+    private static final int MAX_LONG_LENGTH = 20;
+
+    /** The writer. */
+    private final transient Writer writer;
+
+    /** The delimiter. */
+    private final transient char delimiter;
+
+    /** The write buffer. */
+    private final transient char[] buffer = new char[WRITE_BUFFER_SIZE];
+
+    /** The number of characters in the write buffer. */
+    private transient int position;
+
+    /** Whether the current record has no field yet. */
+    private transient boolean recordStart = true;
+
+    /**
+     * Instantiates a new CSV writer.
+     *
+     * @param writer the writer of the CSV records
+     * @param delimiter the delimiter
+     */
+    CsvWriter(final Writer writer, final char delimiter) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Writes a field, quoting it if needed.
+     *
+     * @param value the field, or null to write an empty field
+     * @throws IOException if the output could not be written
+     */
+    void field(final String value) throws IOException {
+        startField();
+        if (value == null) {
+            return;
+        }
+        final int length = value.length();
+        if (!needsQuotes(value)) {
+            write(value, 0, length);
+            return;
+        }
+        append(QUOTE);
+        int from = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == QUOTE) {
+                //Escape the quote by doubling it
+                write(value, from, i + 1);
+                from = i;
+            }
+        }
+        write(value, from, length);
+        append(QUOTE);
+    }
+
+    /**
+     * Writes an integer field.
+     *
+     * @param value the field
+     * @throws IOException if the output could not be written
+     */
+    void field(final long value) throws IOException {
+        startField();
+        if (value == Long.MIN_VALUE) {
+            //Cannot be negated
+            final String string = String.valueOf(value);
+            write(string, 0, string.length());
+            return;
+        }
+        if (position + MAX_LONG_LENGTH > buffer.length) {
+            flushBuffer();
+        }
+        long remaining = value < 0 ? -value : value;
+        int digits = 1;
+        for (long bound = 10; bound <= remaining && digits < MAX_LONG_LENGTH - 1; bound *= 10) {
+            digits++;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Ends the current record.
+     *
+     * @throws IOException if the output could not be written
+     */
+    void endRecord() throws IOException {
+        append('\r');
+        append('\n');
+        recordStart = true;
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Flushable#flush()
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes the delimiter before every field of a record but the first.
+     *
+     * @throws IOException if the output could not be written
+     */
+    private void startField() throws IOException {
+        if (recordStart) {
+            recordStart = false;
+        } else {
+            append(delimiter);
+        }
+    }
+
+    /**
+     * Returns whether a field needs to be quoted.
+     *
+     * @param value the field
+     * @return true if it contains a delimiter, a quote, or a line break, false otherwise
+     */
+    private boolean needsQuotes(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            if (character == delimiter || character == QUOTE || character == '\n' || character == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a range of a string into the write buffer.
+     *
+     * @param value the string
+     * @param from the start index
+     * @param to the end index
+     * @throws IOException if the output could not be written
+     */
+    private void write(final String value, final int from, final int to) throws IOException {
+        int start = from;
+        while (start < to) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            final int end = Math.min(to, start + buffer.length - position);
+            value.getChars(start, end, buffer, position);
+            position += end - start;
+            start = end;
+        }
+    }
+
+    /**
+     * Writes a character into the write buffer.
+     *
+     * @param character the character
+     * @throws IOException if the output could not be written
+     */
+    private void append(final char character) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = character;
+    }
+
+    /**
+     * Hands the write buffer over to the writer.
+     *
+     * @throws IOException if the output could not be written
+     */
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            writer.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
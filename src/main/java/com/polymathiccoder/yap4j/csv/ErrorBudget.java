@@ -0,0 +1,104 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.java.Log;
+
+import com.polymathiccoder.yap4j.RecordHandler;
+
+/**
+ * Used to apply the error policy to the records rejected by a single invocation of a parser, whatever the threads parsing its records.
+ * Nothing is allocated for the records parsed successfully; rejected records are counted, handed to the sink, and logged if there is
+ * none.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@Log
+final class ErrorBudget {
+
+    /** The error message when a record is rejected. */
+    private static final String ERROR_REJECTED = "Rejected %s of %s";
+
+    /** The error message when too many records are rejected. */
+    private static final String ERROR_TOO_MANY_REJECTED = "Rejected %d of the %d records of %s, more than %s%%";
+
+    /** The error policy. */
+    private final transient ErrorPolicy policy;
+
+    /** The sink of the rejected records, or null to log them. */
+    private final transient RecordHandler<RejectedRecord> rejects;
+
+    /** The parsing listener. */
+    private final transient ParsingListener listener;
+
+    /** The name of the source, for error messages. */
+    private final transient String source;
+
+    /** The number of records parsed, rejected or not. */
+    private final transient AtomicLong parsed = new AtomicLong();
+
+    /** The number of records rejected. */
+    private final transient AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Instantiates a new error budget.
+     *
+     * @param policy the error policy
+     * @param rejects the sink of the rejected records, or null to log them
+     * @param listener the parsing listener
+     * @param source the name of the source, for error messages
+     */
+    ErrorBudget(final ErrorPolicy policy, final RecordHandler<RejectedRecord> rejects, final ParsingListener listener, final String source) {
+        this.policy = policy;
+        this.rejects = rejects;
+        this.listener = listener;
+        this.source = source;
+    }
+
+    /**
+     * Counts records parsed, rejected or not.
+     *
+     * @param count the number of records
+     */
+    void parsed(final long count) {
+        parsed.addAndGet(count);
+    }
+
+    /**
+     * Rejects the current record of a tokenizer, failing if the policy does not allow one more rejected record.
+     *
+     * @param tokenizer the tokenizer positioned at the record
+     * @param column the column of the value rejected, or {@link RejectedRecord#UNKNOWN}
+     * @param cause the cause
+     */
+    void reject(final CsvTokenizer tokenizer, final int column, final RuntimeException cause) {
+        final String rawValue = column >= 0 && column < tokenizer.fieldCount() && !tokenizer.isEmpty(column) ? tokenizer.field(column) : null;
+        final RejectedRecord record = new RejectedRecord(tokenizer.recordNumber(), tokenizer.recordOffset(), column, rawValue, cause);
+        final boolean exceeded = rejected.incrementAndGet() > policy.getMaxRejected();
+        listener.rejected(1);
+        if (rejects != null) {
+            //The sink is called by whatever thread parsed the record
+            synchronized (rejects) {
+                rejects.handle(record);
+            }
+        } else if (!exceeded) {
+            log.warning(String.format(ERROR_REJECTED, record, source));
+        }
+        if (exceeded) {
+            throw new ParsingException(String.format(ERROR_REJECTED, record, source), cause);
+        }
+    }
+
+    /**
+     * Fails if more than the percentage of records allowed by the policy have been rejected, once the whole source has been parsed.
+     */
+    void finish() {
+        final long total = parsed.get();
+        final long count = rejected.get();
+        if (policy.getMaxPercent() >= 0 && count * 100d > policy.getMaxPercent() * total) {
+            throw new ParsingException(String.format(ERROR_TOO_MANY_REJECTED, count, total, source, policy.getMaxPercent()));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Used to decide what happens to the records that cannot be parsed, such as records missing a required value or holding a value that
+ * cannot be converted. Rejected records are always left out of the results and handed to the sink set with
+ * {@link CsvParserSettings#rejects(com.polymathiccoder.yap4j.RecordHandler)}; the policy decides whether parsing goes on.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ErrorPolicy {
+
+    /** The policy failing on the first rejected record, the default. */
+    public static final ErrorPolicy FAIL_FAST = new ErrorPolicy(0, -1);
+
+    /** The policy skipping all the rejected records. */
+    public static final ErrorPolicy SKIP = new ErrorPolicy(Long.MAX_VALUE, -1);
+
+    /** The maximum number of records rejected. */
+    private final transient long maxRejected;
+
+    /** The maximum percentage of records rejected, or a negative value if there is none. */
+    private final transient double maxPercent;
+
+    /**
+     * Instantiates a new error policy.
+     *
+     * @param maxRejected the maximum number of records rejected
+     * @param maxPercent the maximum percentage of records rejected, or a negative value if there is none
+     */
+    private ErrorPolicy(final long maxRejected, final double maxPercent) {
+        this.maxRejected = maxRejected;
+        this.maxPercent = maxPercent;
+    }
+
+    /**
+     * Creates a policy skipping rejected records, and failing once more than a number of records have been rejected.
+     *
+     * @param maxRejected the maximum number of records rejected
+     * @return the error policy
+     */
+    public static ErrorPolicy skipUpTo(final long maxRejected) {
+        checkArgument(maxRejected >= 0, PolicyErrorMessages.ERROR_NEGATIVE);
+        return new ErrorPolicy(maxRejected, -1);
+    }
+
+    /**
+     * Creates a policy skipping rejected records, and failing if more than a percentage of the records of a source have been rejected.
+     * The percentage is checked once the whole source has been parsed, as the records are handed over as they are parsed.
+     *
+     * @param maxPercent the maximum percentage of records rejected, between 0 and 100
+     * @return the error policy
+     */
+    public static ErrorPolicy skipUpToPercent(final double maxPercent) {
+        checkArgument(maxPercent >= 0 && maxPercent <= 100, PolicyErrorMessages.ERROR_NOT_PERCENTAGE);
+        return new ErrorPolicy(Long.MAX_VALUE, maxPercent);
+    }
+
+    /**
+     * Gets the maximum number of records rejected.
+     *
+     * @return the maximum number of records rejected
+     */
+    public long getMaxRejected() {
+        return maxRejected;
+    }
+
+    /**
+     * Gets the maximum percentage of records rejected.
+     *
+     * @return the maximum percentage, or a negative value if there is none
+     */
+    public double getMaxPercent() {
+        return maxPercent;
+    }
+
+    /**
+     * Used to lookup error policy error messages.
+     */
+    private static final class PolicyErrorMessages {
+
+        /** The error message when a maximum number is negative. */
+        private static final String ERROR_NEGATIVE = "The maximum number of records rejected cannot be negative"; // NOPMD
+
+        /** The error message when a maximum percentage is not a percentage. */
+        private static final String ERROR_NOT_PERCENTAGE = "The maximum percentage of records rejected must be between 0 and 100"; // NOPMD
+
+        /**
+         * Prevents instantiation.
+         */
+        private PolicyErrorMessages() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
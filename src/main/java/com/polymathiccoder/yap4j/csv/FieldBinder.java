@@ -0,0 +1,531 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.lang.reflect.Field;
+
+import com.polymathiccoder.yap4j.common.Converter;
+import com.polymathiccoder.yap4j.common.Lazy;
+import com.polymathiccoder.yap4j.common.TypeConverter;
+
+/**
+ * Used to convert a CSV value and assign it to a bean field. A binder is specialized once per field type, so that primitive fields
+ * are parsed and assigned directly through {@link Field#setInt(Object, int)} and the like, without boxing. Values the specialized
+ * parsing does not understand fall back to the converter of the field, so that the outcome is always the same as converting through
+ * {@link TypeConverter}. Primitive types with a converter registered in {@link TypeConverter} are always bound through it.
+ *
+ * Values are bound from character sequences, typically reusable views over the record buffer of the tokenizer, so that plain integers
+ * and booleans are parsed without creating a string at all. Fields declared as {@link Lazy} values are bound to the raw string, and
+ * converted only when read.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+abstract class FieldBinder {
+
+    /** The field in Java class, made accessible. */
+    protected final transient Field field;
+
+    /** The converter to the type of the field in Java class. */
+    protected final transient Converter<Object> converter;
+
+    /**
+     * Instantiates a new field binder.
+     *
+     * @param field the field in Java class, made accessible
+     * @param converter the converter to the type of the field in Java class
+     */
+    protected FieldBinder(final Field field, final Converter<Object> converter) {
+        this.field = field;
+        this.converter = converter;
+    }
+
+    /** The maximum number of digits of a plain int, which cannot overflow. */
+    private static final int MAX_INT_DIGITS = 9;
+
+    /** The maximum number of digits of a plain long, which cannot overflow. */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Creates a binder specialized for the type of the field.
+     *
+     * @param field the field in Java class, made accessible
+     * @param converter the converter to the type of the field in Java class
+     * @return the field binder
+     */
+    static FieldBinder of(final Field field, final Converter<Object> converter) {
+        return of(field, converter, false);
+    }
+
+    /**
+     * Creates a binder specialized for the type of the field, deduplicating repeated values of a string field if requested.
+     *
+     * @param field the field in Java class, made accessible
+     * @param converter the converter to the type of the field in Java class
+     * @param intern whether repeated values of a string field are deduplicated
+     * @return the field binder
+     */
+    static FieldBinder of(final Field field, final Converter<Object> converter, final boolean intern) { // NOPMD
+        final Class<?> type = field.getType();
+        FieldBinder binder; // NOPMD
+        if (type.isPrimitive() && TypeConverter.INSTANCE.isRegistered(type)) {
+            binder = reflective(field, converter);
+        } else if (intern && type == String.class) {
+            binder = new InterningBinder(field, converter);
+        } else if (type == int.class) {
+            binder = new IntBinder(field, converter);
+        } else if (type == long.class) {
+            binder = new LongBinder(field, converter);
+        } else if (type == double.class) {
+            binder = new DoubleBinder(field, converter);
+        } else if (type == float.class) {
+            binder = new FloatBinder(field, converter);
+        } else if (type == short.class) {
+            binder = new ShortBinder(field, converter);
+        } else if (type == byte.class) {
+            binder = new ByteBinder(field, converter);
+        } else if (type == boolean.class) {
+            binder = new BooleanBinder(field, converter);
+        } else if (type == char.class) {
+            binder = new CharBinder(field, converter);
+        } else if (type == Lazy.class) {
+            binder = new LazyBinder(field, converter);
+        } else {
+            binder = reflective(field, converter);
+        }
+        return binder;
+    }
+
+    /**
+     * Creates a binder that converts through the converter and assigns the converted object, whatever the type of the field.
+     *
+     * @param field the field in Java class, made accessible
+     * @param converter the converter to the type of the field in Java class
+     * @return the field binder
+     */
+    static FieldBinder reflective(final Field field, final Converter<Object> converter) {
+        return new ReflectiveBinder(field, converter);
+    }
+
+    /**
+     * Converts a non-empty value and assigns it to the field of an instance.
+     *
+     * @param instance the instance
+     * @param value the value
+     * @return true if the value has fallen back to the converter, as the specialized parsing of the field did not understand it
+     * @throws IllegalAccessException if the field could not be assigned
+     */
+    abstract boolean bind(Object instance, CharSequence value) throws IllegalAccessException;
+
+    /**
+     * Converts a non-empty value through the converter and assigns it to the field of an instance.
+     *
+     * @param instance the instance
+     * @param value the value
+     * @throws IllegalAccessException if the field could not be assigned
+     */
+    protected final void bindConverted(final Object instance, final CharSequence value) throws IllegalAccessException {
+        field.set(instance, converter.fromString(value.toString()));
+    }
+
+    /**
+     * Returns whether a value is a plain decimal integer, an optional minus sign followed by ASCII digits, short enough not to
+     * overflow.
+     *
+     * @param value the value
+     * @param maxDigits the maximum number of digits
+     * @return true if plain, false otherwise
+     */
+    private static boolean isPlainInteger(final CharSequence value, final int maxDigits) {
+        final int length = value.length();
+        final int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        if (length == start || length - start > maxDigits) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            final char digit = value.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a plain decimal integer.
+     *
+     * @param value the value, known to be plain
+     * @return the parsed value
+     * @see #isPlainInteger(CharSequence, int)
+     */
+    private static long parsePlainInteger(final CharSequence value) {
+        final int length = value.length();
+        final boolean negative = value.charAt(0) == '-';
+        long parsed = 0;
+        for (int i = negative ? 1 : 0; i < length; i++) {
+            parsed = parsed * 10 + value.charAt(i) - '0';
+        }
+        return negative ? -parsed : parsed;
+    }
+
+    /**
+     * Binds any type through the converter.
+     */
+    private static final class ReflectiveBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        ReflectiveBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            bindConverted(instance, value);
+            return false;
+        }
+    }
+
+    /**
+     * Binds int.
+     */
+    private static final class IntBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        IntBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            if (isPlainInteger(value, MAX_INT_DIGITS)) {
+                field.setInt(instance, (int) parsePlainInteger(value));
+                return false;
+            }
+            final String string = value.toString();
+            try {
+                field.setInt(instance, Integer.parseInt(string));
+                return false;
+            } catch (NumberFormatException numberFormatException) { // NOPMD
+                bindConverted(instance, string);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Binds long.
+     */
+    private static final class LongBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        LongBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            if (isPlainInteger(value, MAX_LONG_DIGITS)) {
+                field.setLong(instance, parsePlainInteger(value));
+                return false;
+            }
+            final String string = value.toString();
+            try {
+                field.setLong(instance, Long.parseLong(string));
+                return false;
+            } catch (NumberFormatException numberFormatException) { // NOPMD
+                bindConverted(instance, string);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Binds double.
+     */
+    private static final class DoubleBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        DoubleBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            final String string = value.toString();
+            try {
+                field.setDouble(instance, Double.parseDouble(string));
+                return false;
+            } catch (NumberFormatException numberFormatException) { // NOPMD
+                bindConverted(instance, string);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Binds float.
+     */
+    private static final class FloatBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        FloatBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            final String string = value.toString();
+            try {
+                field.setFloat(instance, Float.parseFloat(string));
+                return false;
+            } catch (NumberFormatException numberFormatException) { // NOPMD
+                bindConverted(instance, string);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Binds short.
+     */
+    private static final class ShortBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        ShortBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            if (isPlainInteger(value, MAX_INT_DIGITS)) {
+                final long parsed = parsePlainInteger(value);
+                if (parsed >= Short.MIN_VALUE && parsed <= Short.MAX_VALUE) {
+                    field.setShort(instance, (short) parsed);
+                    return false;
+                }
+            }
+            final String string = value.toString();
+            try {
+                field.setShort(instance, Short.parseShort(string));
+                return false;
+            } catch (NumberFormatException numberFormatException) { // NOPMD
+                bindConverted(instance, string);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Binds byte.
+     */
+    private static final class ByteBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        ByteBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            if (isPlainInteger(value, MAX_INT_DIGITS)) {
+                final long parsed = parsePlainInteger(value);
+                if (parsed >= Byte.MIN_VALUE && parsed <= Byte.MAX_VALUE) {
+                    field.setByte(instance, (byte) parsed);
+                    return false;
+                }
+            }
+            final String string = value.toString();
+            try {
+                field.setByte(instance, Byte.parseByte(string));
+                return false;
+            } catch (NumberFormatException numberFormatException) { // NOPMD
+                bindConverted(instance, string);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Binds boolean.
+     */
+    private static final class BooleanBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        BooleanBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            if (contentEquals("true", value)) {
+                field.setBoolean(instance, true);
+            } else if (contentEquals("false", value)) {
+                field.setBoolean(instance, false);
+            } else {
+                bindConverted(instance, value);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether a value has the same characters as a string.
+     *
+     * @param string the string
+     * @param value the value
+     * @return true if equal, false otherwise
+     */
+    private static boolean contentEquals(final String string, final CharSequence value) {
+        if (string.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Binds string, sharing a single instance among equal values.
+     */
+    private static final class InterningBinder extends FieldBinder {
+
+        /** The dictionary of the values bound so far. */
+        private final transient StringDictionary dictionary = new StringDictionary();
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        InterningBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            bindConverted(instance, dictionary.get(value));
+            return false;
+        }
+    }
+
+    /**
+     * Binds char.
+     */
+    private static final class CharBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter
+         */
+        CharBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            field.setChar(instance, value.charAt(0));
+            return false;
+        }
+    }
+
+    /**
+     * Binds lazy values, deferring the conversion to the first read.
+     */
+    private static final class LazyBinder extends FieldBinder {
+
+        /**
+         * Instantiates a new binder.
+         *
+         * @param field the field
+         * @param converter the converter to the type of the lazy value
+         */
+        LazyBinder(final Field field, final Converter<Object> converter) {
+            super(field, converter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldBinder#bind(java.lang.Object, java.lang.CharSequence)
+         */
+        @Override
+        boolean bind(final Object instance, final CharSequence value) throws IllegalAccessException {
+            field.set(instance, Lazy.of(value.toString(), converter));
+            return false;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+
+import com.polymathiccoder.yap4j.common.Formatter;
+import com.polymathiccoder.yap4j.common.Lazy;
+import com.polymathiccoder.yap4j.common.TypeConverter;
+
+/**
+ * Used to read a bean field and write it as a CSV field, the reverse of a {@link FieldBinder}. A writer is specialized once per field
+ * type, so that integral and boolean fields are read and written directly, without boxing nor creating a string. {@link Lazy} values
+ * that were never read are written as their raw string, without a round trip through their type. Other fields, and primitive fields
+ * with a formatter registered in {@link TypeConverter}, are formatted through the formatter of the field.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+abstract class FieldWriter {
+
+    /** The field in Java class, made accessible. */
+    protected final transient Field field;
+
+    /** The formatter of the type of the field in Java class. */
+    protected final transient Formatter<Object> formatter;
+
+    /**
+     * Instantiates a new field writer.
+     *
+     * @param field the field in Java class, made accessible
+     * @param formatter the formatter of the type of the field in Java class
+     */
+    protected FieldWriter(final Field field, final Formatter<Object> formatter) {
+        this.field = field;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Creates a writer specialized for the type of the field.
+     *
+     * @param field the field in Java class, made accessible
+     * @param formatter the formatter of the type of the field in Java class
+     * @return the field writer
+     */
+    static FieldWriter of(final Field field, final Formatter<Object> formatter) {
+        final Class<?> type = field.getType();
+        FieldWriter writer; // NOPMD
+        if (type.isPrimitive() && TypeConverter.INSTANCE.isFormatterRegistered(type)) {
+            writer = new FormattingWriter(field, formatter);
+        } else if (type == int.class || type == long.class || type == short.class || type == byte.class) {
+            writer = new IntegralWriter(field, formatter);
+        } else if (type == boolean.class) {
+            writer = new BooleanWriter(field, formatter);
+        } else if (type == Lazy.class) {
+            writer = new LazyWriter(field, formatter);
+        } else {
+            writer = new FormattingWriter(field, formatter);
+        }
+        return writer;
+    }
+
+    /**
+     * Reads the field of an instance and writes it.
+     *
+     * @param instance the instance
+     * @param csvWriter the CSV writer
+     * @throws IllegalAccessException if the field could not be read
+     * @throws IOException if the output could not be written
+     */
+    abstract void write(Object instance, CsvWriter csvWriter) throws IllegalAccessException, IOException;
+
+    /**
+     * Writes any type through the formatter, null values as empty fields.
+     */
+    private static final class FormattingWriter extends FieldWriter {
+
+        /**
+         * Instantiates a new writer.
+         *
+         * @param field the field
+         * @param formatter the formatter
+         */
+        FormattingWriter(final Field field, final Formatter<Object> formatter) {
+            super(field, formatter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldWriter#write(java.lang.Object, com.polymathiccoder.yap4j.csv.CsvWriter)
+         */
+        @Override
+        void write(final Object instance, final CsvWriter csvWriter) throws IllegalAccessException, IOException {
+            final Object value = field.get(instance);
+            csvWriter.field(value == null ? null : formatter.toString(value));
+        }
+    }
+
+    /**
+     * Writes int, long, short, and byte.
+     */
+    private static final class IntegralWriter extends FieldWriter {
+
+        /**
+         * Instantiates a new writer.
+         *
+         * @param field the field
+         * @param formatter the formatter
+         */
+        IntegralWriter(final Field field, final Formatter<Object> formatter) {
+            super(field, formatter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldWriter#write(java.lang.Object, com.polymathiccoder.yap4j.csv.CsvWriter)
+         */
+        @Override
+        void write(final Object instance, final CsvWriter csvWriter) throws IllegalAccessException, IOException {
+            csvWriter.field(field.getLong(instance));
+        }
+    }
+
+    /**
+     * Writes boolean.
+     */
+    private static final class BooleanWriter extends FieldWriter {
+
+        /**
+         * Instantiates a new writer.
+         *
+         * @param field the field
+         * @param formatter the formatter
+         */
+        BooleanWriter(final Field field, final Formatter<Object> formatter) {
+            super(field, formatter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldWriter#write(java.lang.Object, com.polymathiccoder.yap4j.csv.CsvWriter)
+         */
+        @Override
+        void write(final Object instance, final CsvWriter csvWriter) throws IllegalAccessException, IOException {
+            csvWriter.field(field.getBoolean(instance) ? "true" : "false");
+        }
+    }
+
+    /**
+     * Writes lazy values, as their raw string unless they have been converted.
+     */
+    private static final class LazyWriter extends FieldWriter {
+
+        /**
+         * Instantiates a new writer.
+         *
+         * @param field the field
+         * @param formatter the formatter of the type of the lazy value
+         */
+        LazyWriter(final Field field, final Formatter<Object> formatter) {
+            super(field, formatter);
+        }
+
+        /* (non-Javadoc)
+         * @see com.polymathiccoder.yap4j.csv.FieldWriter#write(java.lang.Object, com.polymathiccoder.yap4j.csv.CsvWriter)
+         */
+        @Override
+        void write(final Object instance, final CsvWriter csvWriter) throws IllegalAccessException, IOException {
+            final Lazy<?> lazy = (Lazy<?>) field.get(instance);
+            if (lazy == null) {
+                csvWriter.field(null);
+                return;
+            }
+            final String token = lazy.getToken();
+            if (token != null) {
+                csvWriter.field(token);
+                return;
+            }
+            final Object value = lazy.get();
+            csvWriter.field(value == null ? null : formatter.toString(value));
+        }
+    }
+}
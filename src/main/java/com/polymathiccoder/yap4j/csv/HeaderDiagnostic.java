@@ -0,0 +1,85 @@
+package com.polymathiccoder.yap4j.csv;
+
+/**
+ * Used to report a mismatch between the record header of a file and the entries of the type it is parsed into. Mismatches do not fail
+ * the parse; they are handed to the handler set with {@link CsvParserSettings#diagnostics(com.polymathiccoder.yap4j.RecordHandler)}, or
+ * logged if there is none.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class HeaderDiagnostic {
+
+    /** The column of a header that is not in the file. */
+    public static final int NO_COLUMN = -1;
+
+    /**
+     * The kinds of mismatches.
+     */
+    public static enum Kind {
+        /** A header of the file that no entry is bound to. Its column is skipped. */
+        UNMAPPED,
+        /** A header repeated in the file. Entries are bound to its first column, and the repeated column is skipped. */
+        DUPLICATE,
+        /** The header of an entry that is not in the file. The entry is left unset. */
+        MISSING;
+    }
+
+    /** The kind of mismatch. */
+    private final transient Kind kind;
+
+    /** The header. */
+    private final transient String header;
+
+    /** The column of the header in the file. */
+    private final transient int column;
+
+    /**
+     * Instantiates a new header diagnostic.
+     *
+     * @param kind the kind of mismatch
+     * @param header the header
+     * @param column the column of the header in the file, or {@link #NO_COLUMN} if it is missing
+     */
+    HeaderDiagnostic(final Kind kind, final String header, final int column) {
+        this.kind = kind;
+        this.header = header;
+        this.column = column;
+    }
+
+    /**
+     * Gets the kind of mismatch.
+     *
+     * @return the kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the header.
+     *
+     * @return the header
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Gets the column of the header in the file.
+     *
+     * @return the column, or {@link #NO_COLUMN} if the header is missing
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return column == NO_COLUMN ? kind + " header " + header : kind + " header " + header + " in column " + column;
+    }
+}
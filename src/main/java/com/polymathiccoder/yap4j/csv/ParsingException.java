@@ -27,4 +27,14 @@ public class ParsingException extends RuntimeException {
     public ParsingException(final String message) {
         super(message);
     }
+
+    /**
+     * Instantiates a new parsing exception.
+     *
+     * @param message the message
+     * @param cause the cause
+     */
+    public ParsingException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,70 @@
+package com.polymathiccoder.yap4j.csv;
+
+/**
+ * Used to observe where parsing spends its time, set with {@link CsvParserSettings#listener(ParsingListener)}. The default listener,
+ * {@link #NO_OP}, turns the instrumentation off entirely, so that the hot path does not even read the clock.
+ *
+ * Events are not reported per record: every thread parsing a tokenizer, a chunk, or a batch counts locally, and reports its totals
+ * once it is done with them. Counts are exact. Timings are estimated from a sample of one record in {@link #SAMPLING_INTERVAL}, so
+ * that reading the clock does not cost more than what it measures.
+ *
+ * Listeners are called concurrently by the threads parsing, and have to be thread-safe. {@link ParsingMetrics} accumulates the events
+ * in counters that can be read or exposed through JMX.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public abstract class ParsingListener {
+
+    /** The number of records per record timed. */
+    public static final int SAMPLING_INTERVAL = 16;
+
+    /** The listener ignoring all the events, the default. */
+    public static final ParsingListener NO_OP = new ParsingListener() {
+    };
+
+    /**
+     * Called once records have been read and tokenized.
+     *
+     * @param records the number of records, counting the header and not counting blank lines
+     * @param bytes the number of bytes read, or of characters for sources decoded before tokenizing
+     * @param readNanos the time spent waiting for the input, in nanoseconds. Memory-mapped files are read while tokenizing
+     * @param tokenizeNanos the estimated time spent tokenizing, in nanoseconds
+     */
+    public void read(final long records, final long bytes, final long readNanos, final long tokenizeNanos) { // NOPMD
+        //Ignored by default
+    }
+
+    /**
+     * Called once beans have been instantiated.
+     *
+     * @param instances the number of beans
+     * @param nanos the estimated time spent instantiating them, in nanoseconds
+     */
+    public void instantiated(final long instances, final long nanos) { // NOPMD
+        //Ignored by default
+    }
+
+    /**
+     * Called once values have been converted to a type, whether bound to bean fields or appended to table columns.
+     *
+     * @param type the type converted to
+     * @param values the number of values
+     * @param fallbacks the number of values the specialized parsing of a primitive type did not understand, which have fallen back to
+     *            the converter of the field, typically Commons BeanUtils
+     * @param nanos the estimated time spent converting them, in nanoseconds
+     */
+    public void converted(final Class<?> type, final long values, final long fallbacks, final long nanos) { // NOPMD
+        //Ignored by default
+    }
+
+    /**
+     * Called once a record has been rejected, whether the error policy skips it or not.
+     *
+     * @param records the number of records
+     */
+    public void rejected(final long records) { // NOPMD
+        //Ignored by default
+    }
+}
@@ -0,0 +1,290 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Used to accumulate the events of every parse it listens to in striped counters, which are cheap enough to stay enabled in
+ * production. The metrics can be read while parsing, and exposed through JMX once registered with {@link #register(String)}.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ParsingMetrics extends ParsingListener implements ParsingMetricsMXBean {
+
+    /** The domain of the JMX object names. */
+    private static final String JMX_DOMAIN = "com.polymathiccoder.yap4j";
+
+    /** The time the metrics were created. */
+    private final transient long createdNanos = System.nanoTime();
+
+    /** The number of records read. */
+    private final transient StripedCounter records = new StripedCounter();
+
+    /** The number of bytes read. */
+    private final transient StripedCounter bytes = new StripedCounter();
+
+    /** The number of records rejected. */
+    private final transient StripedCounter rejected = new StripedCounter();
+
+    /** The time spent waiting for the input, in nanoseconds. */
+    private final transient StripedCounter readNanos = new StripedCounter();
+
+    /** The time spent tokenizing, in nanoseconds. */
+    private final transient StripedCounter tokenizeNanos = new StripedCounter();
+
+    /** The time spent instantiating beans, in nanoseconds. */
+    private final transient StripedCounter instantiateNanos = new StripedCounter();
+
+    /** The conversion counters mapped to the type converted to. */
+    private final transient ConcurrentMap<Class<?>, ConversionCounters> conversions = new ConcurrentHashMap<Class<?>, ConversionCounters>();
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingListener#read(long, long, long, long)
+     */
+    @Override
+    public void read(final long records, final long bytes, final long readNanos, final long tokenizeNanos) {
+        this.records.add(records);
+        this.bytes.add(bytes);
+        this.readNanos.add(readNanos);
+        this.tokenizeNanos.add(tokenizeNanos);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingListener#instantiated(long, long)
+     */
+    @Override
+    public void instantiated(final long instances, final long nanos) {
+        instantiateNanos.add(nanos);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingListener#converted(java.lang.Class, long, long, long)
+     */
+    @Override
+    public void converted(final Class<?> type, final long values, final long fallbacks, final long nanos) {
+        ConversionCounters counters = conversions.get(type);
+        if (counters == null) {
+            final ConversionCounters created = new ConversionCounters();
+            counters = conversions.putIfAbsent(type, created);
+            if (counters == null) {
+                counters = created;
+            }
+        }
+        counters.values.add(values);
+        counters.fallbacks.add(fallbacks);
+        counters.nanos.add(nanos);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingListener#rejected(long)
+     */
+    @Override
+    public void rejected(final long records) {
+        rejected.add(records);
+    }
+
+    /**
+     * Registers the metrics as an MXBean with the platform MBean server, under the name
+     * <code>com.polymathiccoder.yap4j:type=ParsingMetrics,name=</code><i>name</i>.
+     *
+     * @param name the name of the metrics, such as the name of the feed parsed
+     * @return the object name the metrics are registered under, to unregister them
+     * @throws JMException if the name is malformed or already registered
+     */
+    public ObjectName register(final String name) throws JMException {
+        final ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + ParsingMetrics.class.getSimpleName() + ",name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getRecords()
+     */
+    @Override
+    public long getRecords() {
+        return records.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getBytes()
+     */
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getRejected()
+     */
+    @Override
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getReadNanos()
+     */
+    @Override
+    public long getReadNanos() {
+        return readNanos.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getTokenizeNanos()
+     */
+    @Override
+    public long getTokenizeNanos() {
+        return tokenizeNanos.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getInstantiateNanos()
+     */
+    @Override
+    public long getInstantiateNanos() {
+        return instantiateNanos.sum();
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getConversions()
+     */
+    @Override
+    public long getConversions() {
+        long sum = 0;
+        for (ConversionCounters counters : conversions.values()) {
+            sum += counters.values.sum();
+        }
+        return sum;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getConvertNanos()
+     */
+    @Override
+    public long getConvertNanos() {
+        long sum = 0;
+        for (ConversionCounters counters : conversions.values()) {
+            sum += counters.nanos.sum();
+        }
+        return sum;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getFallbacks()
+     */
+    @Override
+    public long getFallbacks() {
+        long sum = 0;
+        for (ConversionCounters counters : conversions.values()) {
+            sum += counters.fallbacks.sum();
+        }
+        return sum;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getConversionsByType()
+     */
+    @Override
+    public Map<String, Long> getConversionsByType() {
+        final Map<String, Long> byType = new TreeMap<String, Long>();
+        for (Map.Entry<Class<?>, ConversionCounters> entry : conversions.entrySet()) {
+            byType.put(entry.getKey().getName(), entry.getValue().values.sum());
+        }
+        return byType;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getConvertNanosByType()
+     */
+    @Override
+    public Map<String, Long> getConvertNanosByType() {
+        final Map<String, Long> byType = new TreeMap<String, Long>();
+        for (Map.Entry<Class<?>, ConversionCounters> entry : conversions.entrySet()) {
+            byType.put(entry.getKey().getName(), entry.getValue().nanos.sum());
+        }
+        return byType;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getFallbacksByType()
+     */
+    @Override
+    public Map<String, Long> getFallbacksByType() {
+        final Map<String, Long> byType = new TreeMap<String, Long>();
+        for (Map.Entry<Class<?>, ConversionCounters> entry : conversions.entrySet()) {
+            byType.put(entry.getKey().getName(), entry.getValue().fallbacks.sum());
+        }
+        return byType;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getFallbackRate()
+     */
+    @Override
+    public double getFallbackRate() {
+        final long values = getConversions();
+        return values == 0 ? 0 : (double) getFallbacks() / values;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getRecordsPerSecond()
+     */
+    @Override
+    public double getRecordsPerSecond() {
+        return perSecond(getRecords());
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.ParsingMetricsMXBean#getBytesPerSecond()
+     */
+    @Override
+    public double getBytesPerSecond() {
+        return perSecond(getBytes());
+    }
+
+    /**
+     * Computes the rate of a count since the metrics were created.
+     *
+     * @param count the count
+     * @return the count per second
+     */
+    private double perSecond(final long count) {
+        final long elapsed = System.nanoTime() - createdNanos;
+        return elapsed <= 0 ? 0 : (double) count * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "records=" + getRecords() + ", bytes=" + getBytes() + ", rejected=" + getRejected() + ", read="
+                + TimeUnit.NANOSECONDS.toMillis(getReadNanos()) + "ms, tokenize=" + TimeUnit.NANOSECONDS.toMillis(getTokenizeNanos())
+                + "ms, instantiate=" + TimeUnit.NANOSECONDS.toMillis(getInstantiateNanos()) + "ms, convert="
+                + TimeUnit.NANOSECONDS.toMillis(getConvertNanos()) + "ms, fallbacks=" + getFallbacks();
+    }
+
+    /**
+     * The counters of the conversions to a type.
+     */
+    private static final class ConversionCounters {
+
+        /** The number of values converted. */
+        private final transient StripedCounter values = new StripedCounter();
+
+        /** The number of values that have fallen back to the converter. */
+        private final transient StripedCounter fallbacks = new StripedCounter();
+
+        /** The time spent converting, in nanoseconds. */
+        private final transient StripedCounter nanos = new StripedCounter();
+    }
+}
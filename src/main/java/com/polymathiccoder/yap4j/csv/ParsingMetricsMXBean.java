@@ -0,0 +1,118 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link ParsingMetrics}, through which they are exposed as a JMX MXBean once registered.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public interface ParsingMetricsMXBean {
+
+    /**
+     * Gets the number of records read.
+     *
+     * @return the number of records
+     */
+    long getRecords();
+
+    /**
+     * Gets the number of bytes read, or of characters for sources decoded before tokenizing.
+     *
+     * @return the number of bytes
+     */
+    long getBytes();
+
+    /**
+     * Gets the number of records rejected.
+     *
+     * @return the number of records
+     */
+    long getRejected();
+
+    /**
+     * Gets the time spent waiting for the input.
+     *
+     * @return the time in nanoseconds
+     */
+    long getReadNanos();
+
+    /**
+     * Gets the estimated time spent tokenizing.
+     *
+     * @return the time in nanoseconds
+     */
+    long getTokenizeNanos();
+
+    /**
+     * Gets the estimated time spent instantiating beans.
+     *
+     * @return the time in nanoseconds
+     */
+    long getInstantiateNanos();
+
+    /**
+     * Gets the number of values converted, whatever their type.
+     *
+     * @return the number of values
+     */
+    long getConversions();
+
+    /**
+     * Gets the estimated time spent converting values, whatever their type.
+     *
+     * @return the time in nanoseconds
+     */
+    long getConvertNanos();
+
+    /**
+     * Gets the number of values that have fallen back to the converter of their field.
+     *
+     * @return the number of values
+     */
+    long getFallbacks();
+
+    /**
+     * Gets the number of values converted by type, keyed by the name of the type.
+     *
+     * @return the number of values by type
+     */
+    Map<String, Long> getConversionsByType();
+
+    /**
+     * Gets the estimated time spent converting values by type, keyed by the name of the type.
+     *
+     * @return the time in nanoseconds by type
+     */
+    Map<String, Long> getConvertNanosByType();
+
+    /**
+     * Gets the number of values that have fallen back to the converter of their field by type, keyed by the name of the type.
+     *
+     * @return the number of values by type
+     */
+    Map<String, Long> getFallbacksByType();
+
+    /**
+     * Gets the share of the values converted that have fallen back to the converter of their field.
+     *
+     * @return the rate, between 0 and 1
+     */
+    double getFallbackRate();
+
+    /**
+     * Gets the number of records read per second since the metrics were created.
+     *
+     * @return the number of records per second
+     */
+    double getRecordsPerSecond();
+
+    /**
+     * Gets the number of bytes read per second since the metrics were created.
+     *
+     * @return the number of bytes per second
+     */
+    double getBytesPerSecond();
+}
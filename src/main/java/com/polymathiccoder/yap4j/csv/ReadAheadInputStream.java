@@ -0,0 +1,233 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Used to read an input stream on a separate thread, which fills a few reusable buffers ahead of the reader, so that producing the
+ * bytes, such as decompressing them, overlaps with consuming them. The thread blocks once all the buffers are filled, and is stopped
+ * when the stream is closed, closing the underlying input stream. The time spent reading and waiting is accumulated as the read stage of
+ * the stage metrics, if any.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class ReadAheadInputStream extends InputStream {
+
+    /** The factory of the read-ahead threads. */
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("yap4j-read-ahead-%d").build();
+
+    /** The size of the buffers. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** The number of buffers. */
+    private static final int BUFFER_COUNT = 4;
+
+    /** The buffers free to be filled. */
+    private final transient BlockingQueue<byte[]> free = new ArrayBlockingQueue<byte[]>(BUFFER_COUNT);
+
+    /** The filled buffers, and the end or failure of the input. */
+    private final transient BlockingQueue<Chunk> filled = new ArrayBlockingQueue<Chunk>(BUFFER_COUNT + 1);
+
+    /** The stage metrics, or null. */
+    private final transient StageMetrics metrics;
+
+    /** The read-ahead thread. */
+    private final transient Thread thread;
+
+    /** Whether the stream has been closed. */
+    private transient volatile boolean closed;
+
+    /** The buffer being read. */
+    private transient byte[] current;
+
+    /** The position in the buffer being read. */
+    private transient int position;
+
+    /** The number of bytes in the buffer being read. */
+    private transient int limit;
+
+    /** Whether the end of the input has been reached. */
+    private transient boolean ended;
+
+    /**
+     * Instantiates a new read-ahead input stream, starting its thread.
+     *
+     * @param input the input stream to read ahead
+     * @param metrics the stage metrics, or null
+     */
+    ReadAheadInputStream(final InputStream input, final StageMetrics metrics) {
+        super();
+        this.metrics = metrics;
+        for (int i = 0; i < BUFFER_COUNT; i++) {
+            free.add(new byte[BUFFER_SIZE]);
+        }
+        thread = THREAD_FACTORY.newThread(new Runnable() {
+            @Override
+            public void run() {
+                readAhead(input);
+            }
+        });
+        thread.start();
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.InputStream#read()
+     */
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current[position++] & 0xff;
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.InputStream#read(byte[], int, int)
+     */
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int read = Math.min(length, limit - position);
+        System.arraycopy(current, position, bytes, offset, read);
+        position += read;
+        return read;
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.InputStream#available()
+     */
+    @Override
+    public int available() {
+        return current == null ? 0 : limit - position;
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.InputStream#close()
+     */
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+
+    /**
+     * Makes bytes available in the buffer being read, waiting for the next filled buffer if needed.
+     *
+     * @return true if bytes are available, false at the end of the input
+     * @throws IOException if the input could not be read
+     */
+    private boolean fill() throws IOException {
+        if (current != null && position < limit) {
+            return true;
+        }
+        if (ended) {
+            return false;
+        }
+        if (current != null) {
+            free.add(current);
+            current = null;
+        }
+        final Chunk chunk;
+        try {
+            chunk = filled.take();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (chunk.bytes == null) {
+            ended = true;
+            if (chunk.failure != null) {
+                throw new IOException(chunk.failure.getMessage(), chunk.failure);
+            }
+            return false;
+        }
+        current = chunk.bytes;
+        position = 0;
+        limit = chunk.length;
+        return true;
+    }
+
+    /**
+     * Fills the free buffers from the input until its end, a failure, or the stream is closed, and then closes the input.
+     *
+     * @param input the input stream
+     */
+    private void readAhead(final InputStream input) { // NOPMD
+        try {
+            while (!closed) {
+                final long start = System.nanoTime();
+                final byte[] buffer = free.take();
+                final long taken = System.nanoTime();
+                int length = 0;
+                int read = 0;
+                while (length < buffer.length && (read = input.read(buffer, length, buffer.length - length)) >= 0) { // NOPMD
+                    length += read;
+                }
+                final long readEnd = System.nanoTime();
+                if (length > 0) {
+                    filled.put(new Chunk(buffer, length, null));
+                }
+                if (metrics != null) {
+                    metrics.busy(StageMetrics.Stage.READ, readEnd - taken);
+                    metrics.idle(StageMetrics.Stage.READ, taken - start + System.nanoTime() - readEnd);
+                }
+                if (read < 0) {
+                    filled.put(new Chunk(null, 0, null));
+                    return;
+                }
+            }
+        } catch (InterruptedException interruptedException) { // NOPMD
+            //Closed while waiting
+        } catch (Throwable throwable) { // NOPMD
+            //Errors too, such as a codec failing to link its native library on first read, or the reader would wait forever
+            filled.offer(new Chunk(null, 0, throwable));
+        } finally {
+            try {
+                input.close();
+            } catch (IOException ioException) { // NOPMD
+                //Nothing left to read from it
+            }
+        }
+    }
+
+    /**
+     * A filled buffer, or the end or failure of the input when it holds no buffer.
+     */
+    private static final class Chunk {
+
+        /** The buffer, or null at the end of the input. */
+        private final transient byte[] bytes;
+
+        /** The number of bytes in the buffer. */
+        private final transient int length;
+
+        /** The failure of the input, or null. */
+        private final transient Throwable failure;
+
+        /**
+         * Instantiates a new chunk.
+         *
+         * @param bytes the buffer, or null at the end of the input
+         * @param length the number of bytes in the buffer
+         * @param failure the failure of the input, or null
+         */
+        Chunk(final byte[] bytes, final int length, final Throwable failure) {
+            this.bytes = bytes;
+            this.length = length;
+            this.failure = failure;
+        }
+    }
+}
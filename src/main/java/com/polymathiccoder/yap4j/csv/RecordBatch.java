@@ -0,0 +1,192 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.IOException;
+
+/**
+ * Used to hand a batch of tokenized records over from the tokenizer stage of a pipelined parse to a converter worker. The fields of the
+ * records are copied back to back into a single buffer, and the batch is then read back as a tokenizer, so that records are converted
+ * the same way whatever the stage they have been tokenized on.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class RecordBatch extends CsvTokenizer {
+
+    /** The initial size of the buffer. */
+    private static final int INITIAL_SIZE = 16 * 1024;
+
+    /** The maximum number of records. */
+    private final transient int capacity;
+
+    /** The characters of the fields of the records. */
+    private transient char[] chars = new char[INITIAL_SIZE];
+
+    /** The number of characters of the fields of the records. */
+    private transient int length;
+
+    /** The end offsets of the fields of the records. */
+    private transient int[] ends = new int[INITIAL_SIZE >> 3];
+
+    /** The number of fields of the records. */
+    private transient int fieldTotal;
+
+    /** The number of fields of each record. */
+    private final transient int[] fieldCounts;
+
+    /** The offset of each record in the source. */
+    private final transient long[] offsets;
+
+    /** The number of the first record, or -1 if unknown. */
+    private transient long firstNumber;
+
+    /** The number of records. */
+    private transient int recordCount;
+
+    /** The next record to read back. */
+    private transient int nextRecord;
+
+    /** The next field to read back. */
+    private transient int nextField;
+
+    /**
+     * Instantiates a new empty batch.
+     *
+     * @param capacity the maximum number of records
+     */
+    RecordBatch(final int capacity) {
+        super();
+        this.capacity = capacity;
+        this.fieldCounts = new int[capacity];
+        this.offsets = new long[capacity];
+    }
+
+    /**
+     * Returns whether the batch holds its maximum number of records.
+     *
+     * @return true if full, false otherwise
+     */
+    boolean isFull() {
+        return recordCount == capacity;
+    }
+
+    /**
+     * Returns whether the batch holds no record.
+     *
+     * @return true if empty, false otherwise
+     */
+    boolean isBatchEmpty() {
+        return recordCount == 0;
+    }
+
+    /**
+     * Empties the batch, so that it can be filled again.
+     */
+    void clear() {
+        length = 0;
+        fieldTotal = 0;
+        recordCount = 0;
+        nextRecord = 0;
+        nextField = 0;
+    }
+
+    /**
+     * Copies the current record of a tokenizer into the batch.
+     *
+     * @param tokenizer the tokenizer
+     */
+    void add(final CsvTokenizer tokenizer) {
+        final int fieldCount = tokenizer.fieldCount();
+        if (recordCount == 0) {
+            firstNumber = tokenizer.recordNumber();
+        }
+        if (fieldTotal + fieldCount > ends.length) {
+            final int[] grown = new int[Math.max(ends.length << 1, fieldTotal + fieldCount)];
+            System.arraycopy(ends, 0, grown, 0, fieldTotal);
+            ends = grown;
+        }
+        for (int i = 0; i < fieldCount; i++) {
+            if (!tokenizer.isEmpty(i)) {
+                final CharSequence field = tokenizer.fieldView(i);
+                final int fieldLength = field.length();
+                if (length + fieldLength > chars.length) {
+                    final char[] grown = new char[Math.max(chars.length << 1, length + fieldLength)];
+                    System.arraycopy(chars, 0, grown, 0, length);
+                    chars = grown;
+                }
+                for (int j = 0; j < fieldLength; j++) {
+                    chars[length++] = field.charAt(j);
+                }
+            }
+            ends[fieldTotal++] = length;
+        }
+        offsets[recordCount] = tokenizer.recordOffset();
+        fieldCounts[recordCount++] = fieldCount;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#readRecord()
+     */
+    @Override
+    protected boolean readRecord() {
+        if (nextRecord == recordCount) {
+            return false;
+        }
+        if (nextRecord == 0) {
+            //Records are consecutive, and numbered on from the first one
+            if (firstNumber < 0) {
+                unnumbered();
+            }
+            recordNumber = firstNumber - 1;
+        }
+        recordOffset = offsets[nextRecord];
+        int fieldStart = nextField == 0 ? 0 : ends[nextField - 1];
+        for (int i = fieldCounts[nextRecord++]; i > 0; i--) {
+            recordLength = ends[nextField++];
+            endField(fieldStart);
+            fieldStart = recordLength;
+        }
+        return true;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#nextUnit()
+     */
+    @Override
+    protected int nextUnit() {
+        //Records are read back whole rather than tokenized
+        return END_OF_INPUT;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#append(int)
+     */
+    @Override
+    protected void append(final int unit) {
+        throw new UnsupportedOperationException();
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#decode(int, int)
+     */
+    @Override
+    protected String decode(final int start, final int end) {
+        return new String(chars, start, end - start);
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.csv.CsvTokenizer#charAt(int)
+     */
+    @Override
+    protected char charAt(final int offset) {
+        return chars[offset];
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        //Nothing to release
+    }
+}
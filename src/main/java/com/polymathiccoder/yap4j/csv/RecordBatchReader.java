@@ -0,0 +1,155 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Used to tokenize records on a separate thread, in batches handed over through a bounded queue. A fixed number of batches circulate
+ * between the tokenizer thread and the threads converting them, which recycle them once converted, so that the tokenizer thread blocks
+ * once all the batches are in flight, and the tokenizer is closed when the reader is closed.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class RecordBatchReader implements Closeable {
+
+    /** The factory of the tokenizer threads. */
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("yap4j-tokenizer-%d").build();
+
+    /** The maximum number of records of a batch. */
+    private static final int BATCH_SIZE = 1024;
+
+    /** The batch marking the end or failure of the tokenizer. */
+    private static final RecordBatch END = new RecordBatch(0);
+
+    /** The batches free to be filled. */
+    private final transient BlockingQueue<RecordBatch> free;
+
+    /** The filled batches, and the end of the tokenizer. */
+    private final transient BlockingQueue<RecordBatch> filled;
+
+    /** The stage metrics. */
+    private final transient StageMetrics metrics;
+
+    /** The tokenizer thread. */
+    private final transient Thread thread;
+
+    /** Whether the reader has been closed. */
+    private transient volatile boolean closed;
+
+    /** The failure of the tokenizer, or null. */
+    private transient volatile Throwable failure;
+
+    /**
+     * Instantiates a new record batch reader, starting its thread.
+     *
+     * @param tokenizer the tokenizer positioned before the first data line
+     * @param batchCount the number of batches circulating
+     * @param metrics the stage metrics
+     */
+    RecordBatchReader(final CsvTokenizer tokenizer, final int batchCount, final StageMetrics metrics) {
+        this.free = new ArrayBlockingQueue<RecordBatch>(batchCount);
+        this.filled = new ArrayBlockingQueue<RecordBatch>(batchCount + 1);
+        this.metrics = metrics;
+        for (int i = 0; i < batchCount; i++) {
+            free.add(new RecordBatch(BATCH_SIZE));
+        }
+        thread = THREAD_FACTORY.newThread(new Runnable() {
+            @Override
+            public void run() {
+                tokenize(tokenizer);
+            }
+        });
+        thread.start();
+    }
+
+    /**
+     * Waits for the next filled batch.
+     *
+     * @return the batch, or null at the end of the input
+     * @throws IOException if the input could not be read, or wrapping any error the tokenizer thread was aborted by
+     * @throws InterruptedException if interrupted while waiting
+     */
+    RecordBatch take() throws IOException, InterruptedException {
+        final RecordBatch batch = filled.take();
+        if (batch == END) { // NOPMD
+            //Let any later call see the end as well
+            filled.add(END);
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure != null) {
+                //Never let an aborted tokenizer pass for the end of the input
+                throw new IOException(failure);
+            }
+            return null;
+        }
+        return batch;
+    }
+
+    /**
+     * Hands a converted batch back to be filled again.
+     *
+     * @param batch the batch
+     */
+    void recycle(final RecordBatch batch) {
+        batch.clear();
+        free.add(batch);
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+
+    /**
+     * Fills the free batches from the tokenizer until its end, a failure, or the reader is closed, and then closes the tokenizer.
+     *
+     * @param tokenizer the tokenizer
+     */
+    private void tokenize(final CsvTokenizer tokenizer) { // NOPMD
+        try {
+            boolean more = true;
+            while (more && !closed) {
+                long start = System.nanoTime();
+                final RecordBatch batch = free.take();
+                metrics.idle(StageMetrics.Stage.TOKENIZE, System.nanoTime() - start);
+                start = System.nanoTime();
+                while (!batch.isFull() && (more = tokenizer.nextRecord())) { // NOPMD
+                    batch.add(tokenizer);
+                }
+                metrics.busy(StageMetrics.Stage.TOKENIZE, System.nanoTime() - start);
+                if (batch.isBatchEmpty()) {
+                    free.add(batch);
+                } else {
+                    filled.put(batch);
+                }
+            }
+        } catch (InterruptedException interruptedException) { // NOPMD
+            //Closed while waiting
+        } catch (Throwable throwable) { // NOPMD
+            failure = throwable;
+        } finally {
+            filled.offer(END);
+            try {
+                tokenizer.close();
+            } catch (IOException ioException) { // NOPMD
+                //Nothing left to read from it
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Used to find record boundaries in CSV bytes without decoding or tokenizing them, in order to split a file into chunks that can be
+ * parsed independently. It follows the quoting state machine of {@link CsvTokenizer}, so a line break within a quoted field is never
+ * mistaken for a record boundary.
+ *
+ * Only encodings where the quote, the delimiter, and line breaks are single ASCII bytes that never occur within multi-byte sequences
+ * can be scanned, such as UTF-8, US-ASCII, and ISO-8859-*, and only with an ASCII delimiter.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class RecordBoundaryScanner implements Closeable {
+
+    /** The line feed. */
+    private static final byte LINE_FEED = '\n';
+
+    /** The carriage return. */
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /** The first character beyond ASCII. */
+    private static final char NON_ASCII = 0x80;
+
+    /** The mask of the unsigned value of a byte. */
+    private static final int UNSIGNED_BYTE = 0xFF;
+
+    /** The size of the read buffer. */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /** The input. */
+    private final transient InputStream input;
+
+    /** The delimiter. */
+    private final transient char delimiter;
+
+    /** The read buffer. */
+    private final transient byte[] buffer = new byte[READ_BUFFER_SIZE];
+
+    /** The position in the read buffer. */
+    private transient int position;
+
+    /** The number of bytes in the read buffer. */
+    private transient int limit;
+
+    /** The offset of the next byte in the input. */
+    private transient long offset;
+
+    /** The state of the quoting state machine of {@link CsvTokenizer}. */
+    private transient int state = CsvTokenizer.STATE_FIELD_START;
+
+    /**
+     * Instantiates a new record boundary scanner.
+     *
+     * @param input the input, positioned at the start of a record
+     * @param delimiter the delimiter
+     */
+    RecordBoundaryScanner(final InputStream input, final char delimiter) {
+        this.input = input;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Scans up to the end of the first record ending at or after the target offset.
+     *
+     * @param target the target offset
+     * @return the offset of the start of the next record, or the offset of the end of the input
+     * @throws IOException if the input could not be read
+     */
+    long nextBoundary(final long target) throws IOException {
+        while (position < limit || fill()) {
+            final byte current = buffer[position++];
+            offset++;
+            state = CsvTokenizer.transition(state, current & UNSIGNED_BYTE, delimiter);
+            if (state == CsvTokenizer.STATE_RECORD_END) {
+                state = CsvTokenizer.STATE_FIELD_START;
+                if (current == CARRIAGE_RETURN && (position < limit || fill()) && buffer[position] == LINE_FEED) {
+                    position++;
+                    offset++;
+                }
+                if (offset > target) {
+                    return offset;
+                }
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Returns whether files in a charset, split into fields by a delimiter, can be scanned for record boundaries.
+     *
+     * @param charset the charset
+     * @param delimiter the delimiter
+     * @return true if supported, false otherwise
+     */
+    static boolean supports(final Charset charset, final char delimiter) {
+        final String name = charset.name();
+        return delimiter < NON_ASCII
+                && ("UTF-8".equals(name) || "US-ASCII".equals(name) || name.startsWith("ISO-8859-") || name.startsWith("windows-125"));
+    }
+
+    /* (non-Javadoc)
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    /**
+     * Fills the read buffer.
+     *
+     * @return true if bytes have been read, false at the end of the input
+     * @throws IOException if the input could not be read
+     */
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = input.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
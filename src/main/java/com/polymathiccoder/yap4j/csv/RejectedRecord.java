@@ -0,0 +1,102 @@
+package com.polymathiccoder.yap4j.csv;
+
+/**
+ * Used to report a record that could not be parsed, where it is in its source, and why it was rejected. Rejected records are handed
+ * to the sink set with {@link CsvParserSettings#rejects(com.polymathiccoder.yap4j.RecordHandler)}.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class RejectedRecord {
+
+    /** The value of a location that is unknown. */
+    public static final int UNKNOWN = -1;
+
+    /** The number of the record. */
+    private final transient long recordNumber;
+
+    /** The offset of the record. */
+    private final transient long offset;
+
+    /** The column of the value rejected. */
+    private final transient int column;
+
+    /** The raw value rejected. */
+    private final transient String rawValue;
+
+    /** The cause. */
+    private final transient Throwable cause;
+
+    /**
+     * Instantiates a new rejected record.
+     *
+     * @param recordNumber the number of the record, or {@link #UNKNOWN}
+     * @param offset the offset of the record, or {@link #UNKNOWN}
+     * @param column the column of the value rejected, or {@link #UNKNOWN}
+     * @param rawValue the raw value rejected, or null if it is empty or missing
+     * @param cause the cause
+     */
+    RejectedRecord(final long recordNumber, final long offset, final int column, final String rawValue, final Throwable cause) {
+        this.recordNumber = recordNumber;
+        this.offset = offset;
+        this.column = column;
+        this.rawValue = rawValue;
+        this.cause = cause;
+    }
+
+    /**
+     * Gets the number of the record in its source, counting the header and not counting blank lines, which is its line number unless
+     * previous records span several lines. Records parsed in chunks of a file are not numbered.
+     *
+     * @return the number of the record, or {@link #UNKNOWN}
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Gets the offset of the record in its source, in bytes for files read directly from their bytes, and in characters for other
+     * sources.
+     *
+     * @return the offset of the record, or {@link #UNKNOWN}
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the column of the value rejected.
+     *
+     * @return the column, or {@link #UNKNOWN} if the record was not rejected because of one of its values
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the raw value rejected.
+     *
+     * @return the raw value, or null if it is empty or missing
+     */
+    public String getRawValue() {
+        return rawValue;
+    }
+
+    /**
+     * Gets the cause.
+     *
+     * @return the cause
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "record " + recordNumber + " at offset " + offset + ", column " + column + " (" + rawValue + "): " + cause.getMessage();
+    }
+}
@@ -0,0 +1,290 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+
+/**
+ * Used to read a CSV record described by a schema without a bean class. A row holds the fields of its record end to end in a single
+ * string and the offsets of their ends, and shares the header index of its schema with every other row. Values are only converted when
+ * read, and are not cached: filtering rows on one column never pays to convert the other columns.
+ *
+ * Values missing from the record, empty or beyond its last field, are read as null. A value that does not fit the type it is read as
+ * throws a {@link ParsingException}.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class Row {
+
+    /** The schema. */
+    private final transient CsvSchema schema;
+
+    /** The fields, end to end. */
+    private final transient String fields;
+
+    /** The end offsets of the fields. */
+    private final transient int[] ends;
+
+    /**
+     * Instantiates a new row.
+     *
+     * @param schema the schema
+     * @param fields the fields, end to end
+     * @param ends the end offsets of the fields
+     */
+    Row(final CsvSchema schema, final String fields, final int[] ends) {
+        this.schema = schema;
+        this.fields = fields;
+        this.ends = ends;
+    }
+
+    /**
+     * Creates a row of the current record of a tokenizer.
+     *
+     * @param schema the schema
+     * @param tokenizer the tokenizer positioned at the record
+     * @return the row
+     */
+    static Row of(final CsvSchema schema, final CsvTokenizer tokenizer) {
+        final int[] ends = new int[tokenizer.fieldCount()];
+        return new Row(schema, tokenizer.record(ends), ends);
+    }
+
+    /**
+     * Gets the schema.
+     *
+     * @return the schema
+     */
+    public CsvSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Gets the number of fields of the record, which may differ from the number of columns of the schema.
+     *
+     * @return the number of fields
+     */
+    public int size() {
+        return ends.length;
+    }
+
+    /**
+     * Returns whether the value of a column is missing.
+     *
+     * @param index the index of the column
+     * @return true if missing, false otherwise
+     */
+    public boolean isNull(final int index) {
+        return index >= ends.length || ends[index] == start(index);
+    }
+
+    /**
+     * Returns whether the value of a column is missing.
+     *
+     * @param name the name of the column
+     * @return true if missing, false otherwise
+     */
+    public boolean isNull(final String name) {
+        return isNull(indexOf(name));
+    }
+
+    /**
+     * Gets the value of a column as a string.
+     *
+     * @param index the index of the column
+     * @return the value, or null if missing
+     */
+    public String getString(final int index) {
+        return isNull(index) ? null : fields.substring(start(index), ends[index]);
+    }
+
+    /**
+     * Gets the value of a column as a string.
+     *
+     * @param name the name of the column
+     * @return the value, or null if missing
+     */
+    public String getString(final String name) {
+        return getString(indexOf(name));
+    }
+
+    /**
+     * Gets the value of a column converted to the type of the column in the schema, or as a string if the column is not in the
+     * schema.
+     *
+     * @param index the index of the column
+     * @return the value, or null if missing
+     */
+    public Object get(final int index) {
+        final String value = getString(index);
+        final List<CsvSchema.Column> columns = schema.getColumns();
+        if (value == null || index >= columns.size()) {
+            return value;
+        }
+        try {
+            return columns.get(index).converter.fromString(value);
+        } catch (RuntimeException runtimeException) {
+            throw new ParsingException(String.format(RowErrorMessages.ERROR_CONVERTING, value, columns.get(index)), runtimeException);
+        }
+    }
+
+    /**
+     * Gets the value of a column converted to the type of the column in the schema.
+     *
+     * @param name the name of the column
+     * @return the value, or null if missing
+     */
+    public Object get(final String name) {
+        return get(indexOf(name));
+    }
+
+    /**
+     * Gets the value of a column as an int.
+     *
+     * @param index the index of the column
+     * @return the value
+     */
+    public int getInt(final int index) {
+        final String value = getRequired(index);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException numberFormatException) {
+            throw new ParsingException(String.format(RowErrorMessages.ERROR_CONVERTING, value, int.class), numberFormatException);
+        }
+    }
+
+    /**
+     * Gets the value of a column as an int.
+     *
+     * @param name the name of the column
+     * @return the value
+     */
+    public int getInt(final String name) {
+        return getInt(indexOf(name));
+    }
+
+    /**
+     * Gets the value of a column as a long.
+     *
+     * @param index the index of the column
+     * @return the value
+     */
+    public long getLong(final int index) {
+        final String value = getRequired(index);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException numberFormatException) {
+            throw new ParsingException(String.format(RowErrorMessages.ERROR_CONVERTING, value, long.class), numberFormatException);
+        }
+    }
+
+    /**
+     * Gets the value of a column as a long.
+     *
+     * @param name the name of the column
+     * @return the value
+     */
+    public long getLong(final String name) {
+        return getLong(indexOf(name));
+    }
+
+    /**
+     * Gets the value of a column as a double.
+     *
+     * @param index the index of the column
+     * @return the value
+     */
+    public double getDouble(final int index) {
+        final String value = getRequired(index);
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException numberFormatException) {
+            throw new ParsingException(String.format(RowErrorMessages.ERROR_CONVERTING, value, double.class), numberFormatException);
+        }
+    }
+
+    /**
+     * Gets the value of a column as a double.
+     *
+     * @param name the name of the column
+     * @return the value
+     */
+    public double getDouble(final String name) {
+        return getDouble(indexOf(name));
+    }
+
+    /**
+     * Gets the value of a column that is read as a primitive, and therefore cannot be missing.
+     *
+     * @param index the index of the column
+     * @return the value
+     */
+    private String getRequired(final int index) {
+        final String value = getString(index);
+        if (value == null) {
+            throw new ParsingException(String.format(RowErrorMessages.ERROR_MISSING_VALUE, index));
+        }
+        return value;
+    }
+
+    /**
+     * Gets the start offset of a field.
+     *
+     * @param index the index of the field
+     * @return the start offset
+     */
+    private int start(final int index) {
+        return index == 0 ? 0 : ends[index - 1];
+    }
+
+    /**
+     * Gets the index of the column of a name.
+     *
+     * @param name the name
+     * @return the index
+     */
+    private int indexOf(final String name) {
+        final int index = schema.indexOf(name);
+        checkArgument(index != CsvSchema.NO_COLUMN, RowErrorMessages.ERROR_NO_SUCH_COLUMN, name);
+        return index;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < ends.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(fields, start(i), ends[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Used to lookup row error messages.
+     */
+    private static final class RowErrorMessages {
+
+        /** The error message when a name is not in the schema. */
+        private static final String ERROR_NO_SUCH_COLUMN = "No column %s";
+
+        /** The error message when a value cannot be converted. */
+        private static final String ERROR_CONVERTING = "Could not convert %s to %s";
+
+        /** The error message when a value read as a primitive is missing. */
+        private static final String ERROR_MISSING_VALUE = "Column %d has no value";
+
+        /**
+         * Prevents instantiation.
+         */
+        private RowErrorMessages() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
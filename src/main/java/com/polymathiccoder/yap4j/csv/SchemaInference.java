@@ -0,0 +1,551 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import com.google.common.primitives.Primitives;
+
+/**
+ * Used to infer the schema of CSV records nothing is known about, from a sample of them: the delimiter, whether the records start with
+ * a header, and the type and nullability of every column. The cost of inference depends on the size of the sample, not on the size of
+ * the source.
+ *
+ * The sample is the first records of the source, or, for uncompressed files, the first record followed by runs of records tokenized
+ * from random offsets, so that the sample is spread over the whole file. A run starts at the first record boundary after its offset,
+ * and only keeps the records with as many fields as the first record, in case the offset fell within a quoted field.
+ *
+ * The delimiter is the one among comma, semicolon, tab, and pipe that splits the first lines into the most consistent number of
+ * fields. A column is of the narrowest of int, long, double, a date in one of the usual patterns, and string that all its values in
+ * the sample fit, and is categorical if it holds few distinct strings. The first record is a header if its values do not fit the type
+ * of their columns, or if there is no evidence either way and its values are distinct. A lone record is data.
+ *
+ * A source that can only be read once, such as a stream, is consumed by inference.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class SchemaInference {
+
+    /** The default number of records sampled. */
+    public static final int DEFAULT_SAMPLE_SIZE = 1000;
+
+    /** The candidate delimiters, in order of preference. */
+    private static final char[] DELIMITERS = {',', ';', '\t', '|'};
+
+    /** The candidate date patterns, in order of preference. */
+    private static final List<String> DATE_PATTERNS = Arrays.asList("yyyy-MM-dd", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss",
+            "MM/dd/yyyy", "dd/MM/yyyy", "dd.MM.yyyy", "yyyy/MM/dd", "MM/dd/yyyy HH:mm:ss");
+
+    /** The maximum number of distinct values of a categorical column. */
+    private static final int MAX_CATEGORIES = 16;
+
+    /** The number of characters read ahead to detect the delimiter. */
+    private static final int HEAD_SIZE = 64 * 1024;
+
+    /** The maximum number of lines the delimiter is detected from. */
+    private static final int DELIMITER_LINES = 32;
+
+    /** The maximum number of records of a run tokenized from a random offset. */
+    private static final int RECORDS_PER_OFFSET = 16;
+
+    /** The number of bytes tokenized from a random offset. */
+    private static final int OFFSET_WINDOW = 64 * 1024;
+
+    /** The name of the columns of records without a header. */
+    private static final String COLUMN_NAME = "column_%d";
+
+    /** The charset. */
+    private transient Charset charset = Charset.defaultCharset();
+
+    /** The number of records sampled. */
+    private transient int sampleSize = DEFAULT_SAMPLE_SIZE;
+
+    /** Whether files are sampled from random offsets. */
+    private transient boolean randomOffsets;
+
+    /** The generator of the random offsets. */
+    private transient Random random = new Random();
+
+    /**
+     * Sets the charset the source is decoded from. By default, the default charset of the platform.
+     *
+     * @param charset the charset
+     * @return this inference
+     */
+    public SchemaInference charset(final Charset charset) {
+        this.charset = checkNotNull(charset);
+        return this;
+    }
+
+    /**
+     * Sets the number of records sampled, {@link #DEFAULT_SAMPLE_SIZE} by default.
+     *
+     * @param sampleSize the number of records
+     * @return this inference
+     */
+    public SchemaInference sampleSize(final int sampleSize) {
+        checkArgument(sampleSize > 1, InferenceErrorMessages.ERROR_SAMPLE_TOO_SMALL);
+        this.sampleSize = sampleSize;
+        return this;
+    }
+
+    /**
+     * Sets whether uncompressed files are sampled from random offsets rather than from their start. By default, the first records
+     * are sampled.
+     *
+     * @param randomOffsets true to sample from random offsets, false otherwise
+     * @return this inference
+     */
+    public SchemaInference randomOffsets(final boolean randomOffsets) {
+        this.randomOffsets = randomOffsets;
+        return this;
+    }
+
+    /**
+     * Sets the seed of the random offsets, so that inference is repeatable.
+     *
+     * @param seed the seed
+     * @return this inference
+     */
+    public SchemaInference seed(final long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /**
+     * Infers the schema of the records of a source.
+     *
+     * @param source the source
+     * @return the schema
+     */
+    public CsvSchema infer(final CsvSource source) {
+        checkNotNull(source);
+        final char delimiter;
+        final List<String[]> sample = new ArrayList<String[]>();
+        try {
+            final BufferedReader reader = new BufferedReader(source.openReader(charset, null), HEAD_SIZE);
+            try {
+                reader.mark(HEAD_SIZE);
+                final char[] head = new char[HEAD_SIZE];
+                final int length = readFully(reader, head);
+                reader.reset();
+                delimiter = detectDelimiter(head, length);
+                final boolean sampleOffsets = randomOffsets && source.isSplittable() && RecordBoundaryScanner.supports(charset, delimiter);
+                final CsvTokenizer tokenizer = new CharCsvTokenizer(reader, delimiter);
+                while (sample.size() < (sampleOffsets ? 1 : sampleSize) && tokenizer.nextRecord()) {
+                    sample.add(tokenizer.fields());
+                }
+                if (sampleOffsets && !sample.isEmpty()) {
+                    sampleOffsets(source.getFile(), delimiter, sample);
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException ioException) {
+            throw new ParsingException(String.format(InferenceErrorMessages.ERROR_READING, source), ioException);
+        }
+        if (sample.isEmpty()) {
+            throw new ParsingException(String.format(InferenceErrorMessages.ERROR_NO_RECORDS, source));
+        }
+        return inferSchema(delimiter, sample);
+    }
+
+    /**
+     * Adds to the sample runs of records tokenized from random offsets of a file.
+     *
+     * @param file the file
+     * @param delimiter the delimiter
+     * @param sample the sample, holding the first record
+     * @throws IOException if the file could not be read
+     */
+    private void sampleOffsets(final File file, final char delimiter, final List<String[]> sample) throws IOException {
+        final int fieldCount = sample.get(0).length;
+        final long length = file.length();
+        final long[] offsets = new long[(sampleSize - 1 + RECORDS_PER_OFFSET - 1) / RECORDS_PER_OFFSET];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = (long) (random.nextDouble() * length);
+        }
+        Arrays.sort(offsets);
+        for (int i = 0; i < offsets.length && sample.size() < sampleSize; i++) {
+            final long end = offsets[i] + OFFSET_WINDOW;
+            final CsvTokenizer tokenizer = new ByteCsvTokenizer(new FileInputStream(file).getChannel(), offsets[i], end, delimiter, charset);
+            try {
+                //The first record is likely to start before the offset
+                tokenizer.nextRecord();
+                String[] pending = null;
+                for (int records = 0; records < RECORDS_PER_OFFSET && sample.size() < sampleSize && tokenizer.nextRecord(); records++) {
+                    if (pending != null) {
+                        sample.add(pending);
+                    }
+                    pending = tokenizer.fieldCount() == fieldCount ? tokenizer.fields() : null;
+                }
+                //The last record may be cut by the end of the window
+                if (pending != null && (end >= length || sample.size() < sampleSize && tokenizer.nextRecord())) {
+                    sample.add(pending);
+                }
+            } finally {
+                tokenizer.close();
+            }
+        }
+    }
+
+    /**
+     * Infers the schema of a sample of records.
+     *
+     * @param delimiter the delimiter
+     * @param sample the sample, starting with the first record
+     * @return the schema
+     */
+    private static CsvSchema inferSchema(final char delimiter, final List<String[]> sample) {
+        int columnCount = 0;
+        for (String[] record : sample) {
+            columnCount = Math.max(columnCount, record.length);
+        }
+        final ColumnProfile[] profiles = new ColumnProfile[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            profiles[i] = new ColumnProfile();
+        }
+        for (String[] record : sample.subList(1, sample.size())) {
+            for (int i = 0; i < columnCount; i++) {
+                profiles[i].accept(i < record.length ? record[i] : "");
+            }
+        }
+        final String[] first = sample.get(0);
+        final boolean header = isHeader(first, sample.subList(1, sample.size()), profiles);
+        final List<CsvSchema.Column> columns = new ArrayList<CsvSchema.Column>();
+        final Set<String> names = new HashSet<String>();
+        for (int i = 0; i < columnCount; i++) {
+            String name = header && i < first.length ? first[i].trim() : ""; // NOPMD
+            if (name.length() == 0 || !names.add(name)) {
+                name = String.format(COLUMN_NAME, i + 1);
+            }
+            if (!header) {
+                profiles[i].accept(i < first.length ? first[i] : "");
+            }
+            final ColumnProfile profile = profiles[i];
+            final Class<?> type = profile.isNullable() ? Primitives.wrap(profile.getType()) : profile.getType();
+            columns.add(new CsvSchema.Column(name, i, type, profile.getFormat(), profile.isNullable(), profile.isCategorical()));
+        }
+        return new CsvSchema(delimiter, header, columns);
+    }
+
+    /**
+     * Decides whether the first record is a header, from the votes of the columns its values do not fit or fit.
+     *
+     * @param first the first record
+     * @param rest the other records
+     * @param profiles the profiles of the columns of the other records
+     * @return true if a header, false otherwise
+     */
+    private static boolean isHeader(final String[] first, final List<String[]> rest, final ColumnProfile[] profiles) {
+        if (rest.isEmpty()) {
+            return false;
+        }
+        final Set<String> distinct = new HashSet<String>();
+        for (String value : first) {
+            if (value.length() == 0 || !distinct.add(value)) {
+                return false;
+            }
+        }
+        int votes = 0;
+        for (int i = 0; i < first.length && i < profiles.length; i++) {
+            final ColumnProfile profile = profiles[i];
+            if (profile.nonEmpty > 0 && (profile.getType() != String.class || profile.isCategorical())) {
+                votes += profile.fits(first[i]) ? -1 : 1;
+            }
+        }
+        if (votes != 0) {
+            return votes > 0;
+        }
+        //Free text only: a header unless one of its values is repeated in its column
+        for (String[] record : rest) {
+            for (int i = 0; i < first.length && i < record.length; i++) {
+                if (first[i].equals(record[i])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Detects the delimiter splitting the first lines into the most consistent number of fields.
+     *
+     * @param head the first characters
+     * @param length the number of characters
+     * @return the delimiter, a comma if none splits the lines
+     */
+    private static char detectDelimiter(final char[] head, final int length) {
+        final List<int[]> lines = new ArrayList<int[]>();
+        int[] counts = new int[DELIMITERS.length];
+        boolean quoted = false;
+        boolean blank = true;
+        for (int i = 0; i < length && lines.size() < DELIMITER_LINES; i++) {
+            final char character = head[i];
+            if (character == '"') {
+                quoted = !quoted;
+            } else if (!quoted && (character == '\n' || character == '\r')) {
+                if (!blank) {
+                    lines.add(counts);
+                }
+                counts = new int[DELIMITERS.length];
+                blank = true;
+                continue;
+            } else if (!quoted) {
+                for (int d = 0; d < DELIMITERS.length; d++) {
+                    if (character == DELIMITERS[d]) {
+                        counts[d]++;
+                    }
+                }
+            }
+            blank = false;
+        }
+        //The last line is only complete if the whole source has been read
+        if (!blank && length < head.length) {
+            lines.add(counts);
+        }
+        char delimiter = DELIMITERS[0];
+        int bestLines = 0;
+        int bestFields = 0;
+        for (int d = 0; d < DELIMITERS.length; d++) {
+            //The most frequent number of delimiters per line, and the number of lines having it
+            int mode = 0;
+            int modeLines = 0;
+            for (int[] line : lines) {
+                int sameLines = 0;
+                for (int[] other : lines) {
+                    if (other[d] == line[d]) {
+                        sameLines++;
+                    }
+                }
+                if (line[d] > 0 && (sameLines > modeLines || sameLines == modeLines && line[d] > mode)) {
+                    mode = line[d];
+                    modeLines = sameLines;
+                }
+            }
+            if (modeLines > bestLines || modeLines == bestLines && mode > bestFields) {
+                delimiter = DELIMITERS[d];
+                bestLines = modeLines;
+                bestFields = mode;
+            }
+        }
+        return delimiter;
+    }
+
+    /**
+     * Reads characters until a buffer is full or the input ends.
+     *
+     * @param reader the reader
+     * @param buffer the buffer
+     * @return the number of characters read
+     * @throws IOException if the input could not be read
+     */
+    private static int readFully(final Reader reader, final char[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            final int read = reader.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Used to narrow down the type of a column as its values are sampled.
+     */
+    private static final class ColumnProfile {
+
+        /** The number of non-empty values. */
+        private transient int nonEmpty;
+
+        /** The number of empty values. */
+        private transient int empty;
+
+        /** Whether all the values are ints. */
+        private transient boolean ints = true;
+
+        /** Whether all the values are longs. */
+        private transient boolean longs = true;
+
+        /** Whether all the values are doubles. */
+        private transient boolean doubles = true;
+
+        /** The date patterns all the values fit. */
+        private final transient List<String> patterns = new ArrayList<String>(DATE_PATTERNS);
+
+        /** The date formatters all the values fit. */
+        private final transient List<DateTimeFormatter> formatters = new ArrayList<DateTimeFormatter>();
+
+        /** The distinct values, up to one more than the maximum number of categories. */
+        private final transient Set<String> distinct = new HashSet<String>();
+
+        /**
+         * Instantiates a new column profile.
+         */
+        ColumnProfile() {
+            for (String pattern : patterns) {
+                formatters.add(DateTimeFormat.forPattern(pattern));
+            }
+        }
+
+        /**
+         * Narrows down the type of the column to fit a value.
+         *
+         * @param value the value
+         */
+        void accept(final String value) {
+            if (value.length() == 0) {
+                empty++;
+                return;
+            }
+            nonEmpty++;
+            ints = ints && parses(value, int.class, null);
+            longs = longs && parses(value, long.class, null);
+            doubles = doubles && parses(value, double.class, null);
+            final Iterator<String> pattern = patterns.iterator();
+            final Iterator<DateTimeFormatter> formatter = formatters.iterator();
+            while (formatter.hasNext()) {
+                pattern.next();
+                if (!parses(value, Date.class, formatter.next())) {
+                    pattern.remove();
+                    formatter.remove();
+                }
+            }
+            if (distinct.size() <= MAX_CATEGORIES) {
+                distinct.add(value);
+            }
+        }
+
+        /**
+         * Returns whether a value fits the type of the column.
+         *
+         * @param value the value
+         * @return true if it fits, false otherwise
+         */
+        boolean fits(final String value) {
+            if (isCategorical()) {
+                return distinct.contains(value);
+            }
+            return parses(value, getType(), formatters.isEmpty() ? null : formatters.get(0));
+        }
+
+        /**
+         * Gets the narrowest type all the values fit.
+         *
+         * @return the type, primitive for numbers
+         */
+        Class<?> getType() {
+            Class<?> type; // NOPMD
+            if (nonEmpty == 0) {
+                type = String.class;
+            } else if (ints) {
+                type = int.class;
+            } else if (longs) {
+                type = long.class;
+            } else if (doubles) {
+                type = double.class;
+            } else if (!patterns.isEmpty()) {
+                type = Date.class;
+            } else {
+                type = String.class;
+            }
+            return type;
+        }
+
+        /**
+         * Gets the format of the values.
+         *
+         * @return the date pattern, or null if the values are not dates
+         */
+        String getFormat() {
+            return getType() == Date.class ? patterns.get(0) : null;
+        }
+
+        /**
+         * Returns whether values are missing.
+         *
+         * @return true if some are, false otherwise
+         */
+        boolean isNullable() {
+            return empty > 0;
+        }
+
+        /**
+         * Returns whether the values are strings few enough to be the constants of an enum, each repeated on average.
+         *
+         * @return true if categorical, false otherwise
+         */
+        boolean isCategorical() {
+            return getType() == String.class && nonEmpty > 0 && distinct.size() <= MAX_CATEGORIES && distinct.size() << 1 <= nonEmpty;
+        }
+
+        /**
+         * Returns whether a value can be parsed into a type.
+         *
+         * @param value the value
+         * @param type the type
+         * @param formatter the formatter of dates, or null
+         * @return true if it can, false otherwise
+         */
+        private static boolean parses(final String value, final Class<?> type, final DateTimeFormatter formatter) {
+            try {
+                if (type == int.class) {
+                    Integer.parseInt(value);
+                } else if (type == long.class) {
+                    Long.parseLong(value);
+                } else if (type == double.class) {
+                    Double.parseDouble(value);
+                } else if (type == Date.class) {
+                    formatter.parseDateTime(value);
+                }
+                return true;
+            } catch (IllegalArgumentException illegalArgumentException) { // NOPMD
+                //Thrown by both number parsing and date parsing
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Used to lookup inference error messages.
+     */
+    private static final class InferenceErrorMessages {
+
+        /** The error message when the sample is too small. */
+        private static final String ERROR_SAMPLE_TOO_SMALL = "The sample must hold more than one record";
+
+        /** The error message when the source could not be read. */
+        private static final String ERROR_READING = "Could not read %s to infer its schema";
+
+        /** The error message when the source has no records. */
+        private static final String ERROR_NO_RECORDS = "Could not infer the schema of %s, which has no records";
+
+        /**
+         * Prevents instantiation.
+         */
+        private InferenceErrorMessages() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Used to measure the stages of a pipelined parse, to find which one is the bottleneck. For every stage, the time spent working, the
+ * time spent waiting for the previous stage or blocked by the next one, and the number of batches handled are accumulated.
+ *
+ * The bottleneck is the stage that is busy most of the time while the others are mostly idle. Metrics accumulate over every parse they
+ * are passed to through {@link CsvParserSettings#metrics(StageMetrics)}, and can be read while parsing.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class StageMetrics {
+
+    /**
+     * The stages of a pipelined parse.
+     */
+    public static enum Stage {
+        /** Reading the bytes of the source, and decompressing them, ahead of the tokenizer. Files are read while tokenizing. */
+        READ,
+        /** Splitting records into fields, in batches. */
+        TOKENIZE,
+        /** Converting the fields of batches of records, on the worker threads. Its idle time is not measured, as they may be shared. */
+        CONVERT,
+        /** Handing the converted records over, on the calling thread. */
+        CONSUME;
+    }
+
+    /** The time spent working by stage, in nanoseconds. */
+    private final transient AtomicLongArray busyNanos = new AtomicLongArray(Stage.values().length);
+
+    /** The time spent waiting by stage, in nanoseconds. */
+    private final transient AtomicLongArray idleNanos = new AtomicLongArray(Stage.values().length);
+
+    /** The number of batches handled by stage. */
+    private final transient AtomicLongArray batches = new AtomicLongArray(Stage.values().length);
+
+    /**
+     * Gets the time a stage spent working.
+     *
+     * @param stage the stage
+     * @return the time in nanoseconds
+     */
+    public long getBusyNanos(final Stage stage) {
+        return busyNanos.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the time a stage spent waiting for the previous stage, or blocked by the next one.
+     *
+     * @param stage the stage
+     * @return the time in nanoseconds
+     */
+    public long getIdleNanos(final Stage stage) {
+        return idleNanos.get(stage.ordinal());
+    }
+
+    /**
+     * Gets the number of batches a stage handled.
+     *
+     * @param stage the stage
+     * @return the number of batches
+     */
+    public long getBatches(final Stage stage) {
+        return batches.get(stage.ordinal());
+    }
+
+    /**
+     * Accumulates the time a stage spent working on a batch, and counts the batch.
+     *
+     * @param stage the stage
+     * @param nanos the time in nanoseconds
+     */
+    void busy(final Stage stage, final long nanos) {
+        busyNanos.addAndGet(stage.ordinal(), nanos);
+        batches.incrementAndGet(stage.ordinal());
+    }
+
+    /**
+     * Accumulates the time a stage spent waiting.
+     *
+     * @param stage the stage
+     * @param nanos the time in nanoseconds
+     */
+    void idle(final Stage stage, final long nanos) {
+        idleNanos.addAndGet(stage.ordinal(), nanos);
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            builder.append(builder.length() == 0 ? "" : ", ").append(stage).append(" busy=").append(getBusyNanos(stage) / 1000000)
+                    .append("ms idle=").append(getIdleNanos(stage) / 1000000).append("ms batches=").append(getBatches(stage));
+        }
+        return builder.toString();
+    }
+}
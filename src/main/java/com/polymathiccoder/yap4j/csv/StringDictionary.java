@@ -0,0 +1,147 @@
+package com.polymathiccoder.yap4j.csv;
+
+/**
+ * Used to deduplicate repeated string values, so that equal values share a single instance. Values are looked up by their characters,
+ * so that a value already in the dictionary is returned without creating a string.
+ *
+ * The dictionary is an open-addressing hash table. Lookups do not lock, and insertions are synchronized. It stops growing once it holds
+ * {@link #MAX_SIZE} values, so that columns of mostly distinct values do not retain them all; values past that are returned as new
+ * strings.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class StringDictionary {
+
+    /** The maximum number of values held. */
+    static final int MAX_SIZE = 1 << 16;
+
+    /** The initial capacity of the table. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The table, at most half full. */
+    private transient volatile String[] table = new String[INITIAL_CAPACITY];
+
+    /** The number of values held. */
+    private transient int size;
+
+    /**
+     * Returns the string equal to a value, adding it to the dictionary if it is not already held.
+     *
+     * @param value the value
+     * @return the shared string equal to the value
+     */
+    String get(final CharSequence value) {
+        final int hash = hash(value);
+        final String found = find(table, value, hash);
+        if (found != null) {
+            return found;
+        }
+        return add(value, hash);
+    }
+
+    /**
+     * Returns the number of values held.
+     *
+     * @return the number of values
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Adds a value to the dictionary, unless it has been added concurrently or the dictionary is full.
+     *
+     * @param value the value
+     * @param hash the hash of the value
+     * @return the shared string equal to the value
+     */
+    private synchronized String add(final CharSequence value, final int hash) {
+        String[] current = table;
+        final String found = find(current, value, hash);
+        if (found != null) {
+            return found;
+        }
+        final String string = value.toString();
+        if (size == MAX_SIZE) {
+            return string;
+        }
+        if ((size + 1) << 1 > current.length) {
+            final String[] grown = new String[current.length << 1];
+            for (final String held : current) {
+                if (held != null) {
+                    insert(grown, held, held.hashCode());
+                }
+            }
+            insert(grown, string, hash);
+            //Publish the grown table only once it is complete
+            table = grown;
+        } else {
+            insert(current, string, hash);
+        }
+        size++;
+        return string;
+    }
+
+    /**
+     * Finds the string equal to a value in a table.
+     *
+     * @param table the table
+     * @param value the value
+     * @param hash the hash of the value
+     * @return the string, or null if not held
+     */
+    private static String find(final String[] table, final CharSequence value, final int hash) {
+        final int mask = table.length - 1;
+        for (int i = spread(hash) & mask;; i = (i + 1) & mask) {
+            final String held = table[i];
+            if (held == null) {
+                return null;
+            }
+            if (held.hashCode() == hash && held.contentEquals(value)) {
+                return held;
+            }
+        }
+    }
+
+    /**
+     * Inserts a string into the first free slot of a table.
+     *
+     * @param table the table
+     * @param string the string
+     * @param hash the hash of the string
+     */
+    private static void insert(final String[] table, final String string, final int hash) {
+        final int mask = table.length - 1;
+        int i = spread(hash) & mask;
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = string;
+    }
+
+    /**
+     * Computes the hash of a value the way {@link String#hashCode()} does.
+     *
+     * @param value the value
+     * @return the hash
+     */
+    private static int hash(final CharSequence value) {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Spreads the higher bits of a hash to the lower ones, which index the table.
+     *
+     * @param hash the hash
+     * @return the spread hash
+     */
+    private static int spread(final int hash) {
+        return hash ^ hash >>> 16;
+    }
+}
@@ -0,0 +1,46 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Used to count concurrently without contention. Additions are spread over cells picked by thread, each on a cache line of its own,
+ * and the count is only summed when read, so that threads updating the counter at the same time do not invalidate each other's
+ * cache lines.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class StripedCounter {
+
+    /** The number of cells, a power of two. */
+    private static final int CELLS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    /** The number of longs per cache line, so that cells are a cache line apart. */
+    private static final int PADDING = 8;
+
+    /** The cells. */
+    private final transient AtomicLongArray cells = new AtomicLongArray(CELLS * PADDING);
+
+    /**
+     * Adds to the count.
+     *
+     * @param delta the amount to add
+     */
+    void add(final long delta) {
+        cells.addAndGet(((int) Thread.currentThread().getId() & CELLS - 1) * PADDING, delta);
+    }
+
+    /**
+     * Returns the count, which is not a snapshot if additions are concurrent.
+     *
+     * @return the count
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < CELLS; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+}
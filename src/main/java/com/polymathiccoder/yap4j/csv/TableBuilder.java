@@ -0,0 +1,509 @@
+package com.polymathiccoder.yap4j.csv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.polymathiccoder.yap4j.common.Converter;
+import com.polymathiccoder.yap4j.common.TypeConverter;
+import com.polymathiccoder.yap4j.table.Column;
+import com.polymathiccoder.yap4j.table.DoubleColumn;
+import com.polymathiccoder.yap4j.table.IntColumn;
+import com.polymathiccoder.yap4j.table.LongColumn;
+import com.polymathiccoder.yap4j.table.ObjectColumn;
+import com.polymathiccoder.yap4j.table.StringColumn;
+import com.polymathiccoder.yap4j.table.Table;
+
+/**
+ * Used to build a table row by row, one growable column per entry or per column of a schema. Values are converted as they would be
+ * when binding a bean field of the same type: numbers are parsed directly, falling back to the converter of the field for values the
+ * direct parsing does not understand, unless a converter is registered for their type.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+final class TableBuilder {
+
+    /** The initial capacity of the columns. */
+    private static final int INITIAL_CAPACITY = 256;
+
+    /** The columns. */
+    private final transient ColumnBuilder[] columns;
+
+    /** The number of complete rows. */
+    private transient int rowCount;
+
+    /**
+     * Instantiates a new table builder.
+     *
+     * @param entries the entries, one per column
+     */
+    TableBuilder(final CsvParserFactory.ParsingModel.Entry[] entries) {
+        columns = new ColumnBuilder[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            columns[i] = ColumnBuilder.of(entries[i].beanFieldName, entries[i].field.getType(), entries[i].converter);
+        }
+    }
+
+    /**
+     * Instantiates a new table builder of the columns of a schema.
+     *
+     * @param schema the schema
+     */
+    TableBuilder(final CsvSchema schema) {
+        final List<CsvSchema.Column> schemaColumns = schema.getColumns();
+        columns = new ColumnBuilder[schemaColumns.size()];
+        for (int i = 0; i < columns.length; i++) {
+            final CsvSchema.Column column = schemaColumns.get(i);
+            columns[i] = ColumnBuilder.of(column.getName(), column.getType(), column.converter);
+        }
+    }
+
+    /**
+     * Appends a value to a column of the current row.
+     *
+     * @param column the index of the column
+     * @param value the value, or null if missing
+     * @return true if the value has fallen back to the converter, as the direct parsing of the column did not understand it
+     */
+    boolean append(final int column, final String value) {
+        return columns[column].append(value);
+    }
+
+    /**
+     * Ends the current row.
+     */
+    void endRow() {
+        rowCount++;
+    }
+
+    /**
+     * Discards the values appended to the current row.
+     */
+    void discardRow() {
+        for (ColumnBuilder column : columns) {
+            column.truncate(rowCount);
+        }
+    }
+
+    /**
+     * Appends the rows of another table builder of the same entries.
+     *
+     * @param other the other table builder
+     */
+    void appendRows(final TableBuilder other) {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].appendAll(other.columns[i]);
+        }
+        rowCount += other.rowCount;
+    }
+
+    /**
+     * Builds the table.
+     *
+     * @return the table
+     */
+    Table build() {
+        final List<Column> built = new ArrayList<Column>(columns.length);
+        for (ColumnBuilder column : columns) {
+            built.add(column.build());
+        }
+        return new Table(built, rowCount);
+    }
+
+    /**
+     * Used to build a column.
+     */
+    private abstract static class ColumnBuilder {
+
+        /** The name of the column. */
+        protected final transient String name;
+
+        /** The converter to the type of the field. */
+        protected final transient Converter<Object> converter;
+
+        /** The type of the field. */
+        protected final transient Class<?> type;
+
+        /** Whether the values are parsed directly, or always converted through the converter registered for their type. */
+        protected final transient boolean direct;
+
+        /** The number of values. */
+        protected transient int size;
+
+        /**
+         * Instantiates a new column builder.
+         *
+         * @param name the name of the column
+         * @param type the type of the values
+         * @param converter the converter to the type of the values
+         */
+        protected ColumnBuilder(final String name, final Class<?> type, final Converter<Object> converter) {
+            this.name = name;
+            this.converter = converter;
+            this.type = type;
+            this.direct = !TypeConverter.INSTANCE.isRegistered(type);
+        }
+
+        /**
+         * Creates a column builder specialized for the type of the values.
+         *
+         * @param name the name of the column
+         * @param type the type of the values
+         * @param converter the converter to the type of the values
+         * @return the column builder
+         */
+        static ColumnBuilder of(final String name, final Class<?> type, final Converter<Object> converter) {
+            ColumnBuilder builder; // NOPMD
+            if (type == int.class || type == short.class || type == byte.class) {
+                builder = new IntColumnBuilder(name, type, converter);
+            } else if (type == long.class) {
+                builder = new LongColumnBuilder(name, type, converter);
+            } else if (type == double.class || type == float.class) {
+                builder = new DoubleColumnBuilder(name, type, converter);
+            } else if (type == String.class) {
+                builder = new StringColumnBuilder(name, type, converter);
+            } else {
+                builder = new ObjectColumnBuilder(name, type, converter);
+            }
+            return builder;
+        }
+
+        /**
+         * Appends a value.
+         *
+         * @param value the value, or null if missing
+         * @return true if the value has fallen back to the converter
+         */
+        abstract boolean append(String value);
+
+        /**
+         * Appends all the values of another column builder of the same kind.
+         *
+         * @param other the other column builder
+         */
+        abstract void appendAll(ColumnBuilder other);
+
+        /**
+         * Builds the column.
+         *
+         * @return the column
+         */
+        abstract Column build();
+
+        /**
+         * Discards the values past a size.
+         *
+         * @param newSize the size
+         */
+        void truncate(final int newSize) {
+            size = newSize;
+        }
+
+        /**
+         * Returns the capacity to grow to in order to fit more values, at least doubling the current capacity.
+         *
+         * @param capacity the current capacity
+         * @param more the number of values to add
+         * @return the grown capacity
+         */
+        protected int grownCapacity(final int capacity, final int more) {
+            return Math.max(capacity << 1, size + more);
+        }
+    }
+
+    /**
+     * Used to build a column of int values, from int, short, or byte fields.
+     */
+    private static final class IntColumnBuilder extends ColumnBuilder {
+
+        /** The values. */
+        private transient int[] values = new int[INITIAL_CAPACITY];
+
+        /**
+         * Instantiates a new int column builder.
+         *
+         * @param name the name of the column
+         * @param type the type of the values
+         * @param converter the converter to the type of the values
+         */
+        IntColumnBuilder(final String name, final Class<?> type, final Converter<Object> converter) {
+            super(name, type, converter);
+        }
+
+        @Override
+        boolean append(final String value) {
+            int parsed; // NOPMD
+            boolean fallback = false; // NOPMD
+            if (direct) {
+                try {
+                    if (type == short.class) {
+                        parsed = Short.parseShort(value);
+                    } else if (type == byte.class) {
+                        parsed = Byte.parseByte(value);
+                    } else {
+                        parsed = Integer.parseInt(value);
+                    }
+                } catch (NumberFormatException numberFormatException) { // NOPMD
+                    fallback = true;
+                    parsed = ((Number) converter.fromString(value)).intValue();
+                }
+            } else {
+                parsed = ((Number) converter.fromString(value)).intValue();
+            }
+            if (size + 1 > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, 1));
+            }
+            values[size++] = parsed;
+            return fallback;
+        }
+
+        @Override
+        void appendAll(final ColumnBuilder other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, other.size));
+            }
+            System.arraycopy(((IntColumnBuilder) other).values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        @Override
+        Column build() {
+            return new IntColumn(name, Arrays.copyOf(values, size), size);
+        }
+    }
+
+    /**
+     * Used to build a column of long values.
+     */
+    private static final class LongColumnBuilder extends ColumnBuilder {
+
+        /** The values. */
+        private transient long[] values = new long[INITIAL_CAPACITY];
+
+        /**
+         * Instantiates a new long column builder.
+         *
+         * @param name the name of the column
+         * @param type the type of the values
+         * @param converter the converter to the type of the values
+         */
+        LongColumnBuilder(final String name, final Class<?> type, final Converter<Object> converter) {
+            super(name, type, converter);
+        }
+
+        @Override
+        boolean append(final String value) {
+            long parsed; // NOPMD
+            boolean fallback = false; // NOPMD
+            if (direct) {
+                try {
+                    parsed = Long.parseLong(value);
+                } catch (NumberFormatException numberFormatException) { // NOPMD
+                    fallback = true;
+                    parsed = ((Number) converter.fromString(value)).longValue();
+                }
+            } else {
+                parsed = ((Number) converter.fromString(value)).longValue();
+            }
+            if (size + 1 > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, 1));
+            }
+            values[size++] = parsed;
+            return fallback;
+        }
+
+        @Override
+        void appendAll(final ColumnBuilder other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, other.size));
+            }
+            System.arraycopy(((LongColumnBuilder) other).values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        @Override
+        Column build() {
+            return new LongColumn(name, Arrays.copyOf(values, size), size);
+        }
+    }
+
+    /**
+     * Used to build a column of double values, from double or float fields.
+     */
+    private static final class DoubleColumnBuilder extends ColumnBuilder {
+
+        /** The values. */
+        private transient double[] values = new double[INITIAL_CAPACITY];
+
+        /**
+         * Instantiates a new double column builder.
+         *
+         * @param name the name of the column
+         * @param type the type of the values
+         * @param converter the converter to the type of the values
+         */
+        DoubleColumnBuilder(final String name, final Class<?> type, final Converter<Object> converter) {
+            super(name, type, converter);
+        }
+
+        @Override
+        boolean append(final String value) {
+            double parsed; // NOPMD
+            boolean fallback = false; // NOPMD
+            if (direct) {
+                try {
+                    parsed = type == float.class ? Float.parseFloat(value) : Double.parseDouble(value);
+                } catch (NumberFormatException numberFormatException) { // NOPMD
+                    fallback = true;
+                    parsed = ((Number) converter.fromString(value)).doubleValue();
+                }
+            } else {
+                parsed = ((Number) converter.fromString(value)).doubleValue();
+            }
+            if (size + 1 > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, 1));
+            }
+            values[size++] = parsed;
+            return fallback;
+        }
+
+        @Override
+        void appendAll(final ColumnBuilder other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, other.size));
+            }
+            System.arraycopy(((DoubleColumnBuilder) other).values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        @Override
+        Column build() {
+            return new DoubleColumn(name, Arrays.copyOf(values, size), size);
+        }
+    }
+
+    /**
+     * Used to build a dictionary-encoded column of strings.
+     */
+    private static final class StringColumnBuilder extends ColumnBuilder {
+
+        /** The codes of the strings. */
+        private transient int[] codes = new int[INITIAL_CAPACITY];
+
+        /** The distinct strings, indexed by their code. */
+        private final transient List<String> dictionary = new ArrayList<String>();
+
+        /** The codes mapped to their string. */
+        private final transient Map<String, Integer> codesByString = new HashMap<String, Integer>();
+
+        /**
+         * Instantiates a new string column builder.
+         *
+         * @param name the name of the column
+         * @param type the type of the values
+         * @param converter the converter to the type of the values
+         */
+        StringColumnBuilder(final String name, final Class<?> type, final Converter<Object> converter) {
+            super(name, type, converter);
+        }
+
+        @Override
+        boolean append(final String value) {
+            if (size + 1 > codes.length) {
+                codes = Arrays.copyOf(codes, grownCapacity(codes.length, 1));
+            }
+            codes[size++] = value == null ? StringColumn.NO_CODE : encode(value);
+            return false;
+        }
+
+        @Override
+        void appendAll(final ColumnBuilder other) {
+            final StringColumnBuilder otherStrings = (StringColumnBuilder) other;
+            final int[] recoded = new int[otherStrings.dictionary.size()];
+            for (int i = 0; i < recoded.length; i++) {
+                recoded[i] = encode(otherStrings.dictionary.get(i));
+            }
+            if (size + other.size > codes.length) {
+                codes = Arrays.copyOf(codes, grownCapacity(codes.length, other.size));
+            }
+            for (int i = 0; i < other.size; i++) {
+                final int code = otherStrings.codes[i];
+                codes[size++] = code == StringColumn.NO_CODE ? StringColumn.NO_CODE : recoded[code];
+            }
+        }
+
+        @Override
+        Column build() {
+            return new StringColumn(name, Arrays.copyOf(codes, size), dictionary.toArray(new String[dictionary.size()]), size);
+        }
+
+        /**
+         * Returns the code of a string, adding it to the dictionary if new.
+         *
+         * @param value the string
+         * @return the code
+         */
+        private int encode(final String value) {
+            Integer code = codesByString.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(value);
+                codesByString.put(value, code);
+            }
+            return code;
+        }
+    }
+
+    /**
+     * Used to build a column of values of any other type.
+     */
+    private static final class ObjectColumnBuilder extends ColumnBuilder {
+
+        /** The values. */
+        private transient Object[] values = new Object[INITIAL_CAPACITY];
+
+        /**
+         * Instantiates a new object column builder.
+         *
+         * @param name the name of the column
+         * @param type the type of the values
+         * @param converter the converter to the type of the values
+         */
+        ObjectColumnBuilder(final String name, final Class<?> type, final Converter<Object> converter) {
+            super(name, type, converter);
+        }
+
+        @Override
+        boolean append(final String value) {
+            if (size + 1 > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, 1));
+            }
+            values[size++] = value == null ? null : converter.fromString(value);
+            return false;
+        }
+
+        @Override
+        void appendAll(final ColumnBuilder other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, grownCapacity(values.length, other.size));
+            }
+            System.arraycopy(((ObjectColumnBuilder) other).values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        @Override
+        Column build() {
+            return new ObjectColumn(name, Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        void truncate(final int newSize) {
+            Arrays.fill(values, newSize, size, null);
+            super.truncate(newSize);
+        }
+    }
+}
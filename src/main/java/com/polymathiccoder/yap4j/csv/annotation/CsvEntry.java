@@ -10,7 +10,7 @@ import java.lang.annotation.Target;
  * An annotation to supply Class/CSV record metadata.
  *
  * @author  Abdelmonaim Remani
- * @version 0.1.0
+ * @version 0.2.0
  * @since 0.1.0
  */
 @Retention(RetentionPolicy.RUNTIME)
@@ -49,4 +49,10 @@ public @interface CsvEntry {
      * Default value. The default is an empty string.
      */
     String defaultValue() default EMPTY;
+
+    /**
+     * Whether repeated values are to be deduplicated through a dictionary kept by the parser, so that equal values share a single
+     * string. Only applies to string fields. The default is false.
+     */
+    boolean intern() default false;
  }
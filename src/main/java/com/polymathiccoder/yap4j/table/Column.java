@@ -0,0 +1,54 @@
+package com.polymathiccoder.yap4j.table;
+
+/**
+ * A column of a table, holding the values of a field for every record. Columns are immutable.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public abstract class Column {
+
+    /** The name. */
+    private final transient String name;
+
+    /** The number of values. */
+    protected final transient int size;
+
+    /**
+     * Instantiates a new column.
+     *
+     * @param name the name
+     * @param size the number of values
+     */
+    protected Column(final String name, final int size) {
+        this.name = name;
+        this.size = size;
+    }
+
+    /**
+     * Returns the name, which is the name of the field in Java class.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a value, boxed if primitive.
+     *
+     * @param row the index of the row
+     * @return the value
+     */
+    public abstract Object get(int row);
+}
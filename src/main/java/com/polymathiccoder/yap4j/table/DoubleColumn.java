@@ -0,0 +1,58 @@
+package com.polymathiccoder.yap4j.table;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.Arrays;
+
+/**
+ * A column of double values, stored unboxed.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class DoubleColumn extends Column {
+
+    /** The values. */
+    private final transient double[] values;
+
+    /**
+     * Instantiates a new column of double values.
+     *
+     * @param name the name
+     * @param values the values, owned by the column from now on
+     * @param size the number of values
+     */
+    public DoubleColumn(final String name, final double[] values, final int size) {
+        super(name, size);
+        this.values = values;
+    }
+
+    /**
+     * Returns a value.
+     *
+     * @param row the index of the row
+     * @return the value
+     */
+    public double getDouble(final int row) {
+        checkElementIndex(row, size);
+        return values[row];
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.table.Column#get(int)
+     */
+    @Override
+    public Object get(final int row) {
+        return Double.valueOf(getDouble(row));
+    }
+
+    /**
+     * Returns a copy of the values.
+     *
+     * @return the values
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
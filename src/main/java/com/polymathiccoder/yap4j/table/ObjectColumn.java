@@ -0,0 +1,37 @@
+package com.polymathiccoder.yap4j.table;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * A column of values of any other type, such as dates, enums, or wrappers, possibly null.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class ObjectColumn extends Column {
+
+    /** The values. */
+    private final transient Object[] values;
+
+    /**
+     * Instantiates a new column of values.
+     *
+     * @param name the name
+     * @param values the values, owned by the column from now on
+     * @param size the number of values
+     */
+    public ObjectColumn(final String name, final Object[] values, final int size) {
+        super(name, size);
+        this.values = values;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.table.Column#get(int)
+     */
+    @Override
+    public Object get(final int row) {
+        checkElementIndex(row, size);
+        return values[row];
+    }
+}
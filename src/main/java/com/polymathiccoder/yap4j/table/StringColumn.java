@@ -0,0 +1,69 @@
+package com.polymathiccoder.yap4j.table;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A column of strings, dictionary-encoded: each distinct string is stored once, and each row holds the code of its string in the
+ * dictionary, or -1 if it has none.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class StringColumn extends Column {
+
+    /** The code of a missing string. */
+    public static final int NO_CODE = -1;
+
+    /** The codes of the strings. */
+    private final transient int[] codes;
+
+    /** The distinct strings, indexed by their code. */
+    private final transient String[] dictionary;
+
+    /**
+     * Instantiates a new column of strings.
+     *
+     * @param name the name
+     * @param codes the codes of the strings, owned by the column from now on
+     * @param dictionary the distinct strings indexed by their code, owned by the column from now on
+     * @param size the number of values
+     */
+    public StringColumn(final String name, final int[] codes, final String[] dictionary, final int size) {
+        super(name, size);
+        this.codes = codes;
+        this.dictionary = dictionary;
+    }
+
+    /* (non-Javadoc)
+     * @see com.polymathiccoder.yap4j.table.Column#get(int)
+     */
+    @Override
+    public String get(final int row) {
+        final int code = getCode(row);
+        return code == NO_CODE ? null : dictionary[code];
+    }
+
+    /**
+     * Returns the code of a string in the dictionary.
+     *
+     * @param row the index of the row
+     * @return the code, or {@link #NO_CODE} if the row has no string
+     */
+    public int getCode(final int row) {
+        checkElementIndex(row, size);
+        return codes[row];
+    }
+
+    /**
+     * Returns the distinct strings, indexed by their code.
+     *
+     * @return the dictionary
+     */
+    public List<String> getDictionary() {
+        return Arrays.asList(dictionary.clone());
+    }
+}
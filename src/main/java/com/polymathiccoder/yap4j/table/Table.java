@@ -0,0 +1,153 @@
+package com.polymathiccoder.yap4j.table;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A table of deserialized records, stored column by column rather than as one object per record. Fields of type int, long, and double
+ * (as well as short, byte, and float, widened) are stored in primitive arrays, strings are dictionary-encoded, and values of other
+ * types are stored as objects. Tables are immutable.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public final class Table {
+
+    /** The columns, in the order of the fields in Java class. */
+    private final transient List<Column> columns;
+
+    /** The columns mapped to their name. */
+    private final transient Map<String, Column> columnsByName;
+
+    /** The number of rows. */
+    private final transient int rowCount;
+
+    /**
+     * Instantiates a new table.
+     *
+     * @param columns the columns, all of the same size
+     * @param rowCount the number of rows
+     */
+    public Table(final List<? extends Column> columns, final int rowCount) {
+        this.columns = ImmutableList.copyOf(columns);
+        this.columnsByName = new LinkedHashMap<String, Column>();
+        for (Column column : columns) {
+            checkArgument(column.size() == rowCount, TableErrorMessages.ERROR_COLUMN_SIZE, column.getName(), column.size(), rowCount);
+            columnsByName.put(column.getName(), column);
+        }
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the columns, in the order of the fields in Java class.
+     *
+     * @return the columns
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns a column.
+     *
+     * @param name the name of the column, which is the name of the field in Java class
+     * @return the column
+     */
+    public Column getColumn(final String name) {
+        final Column column = columnsByName.get(name);
+        checkArgument(column != null, TableErrorMessages.ERROR_NO_SUCH_COLUMN, name);
+        return column;
+    }
+
+    /**
+     * Returns a column of int values.
+     *
+     * @param name the name of the column
+     * @return the column
+     */
+    public IntColumn getIntColumn(final String name) {
+        return getColumn(name, IntColumn.class);
+    }
+
+    /**
+     * Returns a column of long values.
+     *
+     * @param name the name of the column
+     * @return the column
+     */
+    public LongColumn getLongColumn(final String name) {
+        return getColumn(name, LongColumn.class);
+    }
+
+    /**
+     * Returns a column of double values.
+     *
+     * @param name the name of the column
+     * @return the column
+     */
+    public DoubleColumn getDoubleColumn(final String name) {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    /**
+     * Returns a column of strings.
+     *
+     * @param name the name of the column
+     * @return the column
+     */
+    public StringColumn getStringColumn(final String name) {
+        return getColumn(name, StringColumn.class);
+    }
+
+    /**
+     * Returns a column of a specific kind.
+     *
+     * @param <C> the kind of column
+     * @param name the name of the column
+     * @param kind the kind of column
+     * @return the column
+     */
+    private <C extends Column> C getColumn(final String name, final Class<C> kind) {
+        final Column column = getColumn(name);
+        checkArgument(kind.isInstance(column), TableErrorMessages.ERROR_WRONG_KIND, name, kind.getSimpleName());
+        return kind.cast(column);
+    }
+}
+
+/**
+ * Used to lookup table error messages.
+ */
+final class TableErrorMessages {
+
+    // CHECKSTYLE:OFF
+    /** The error message when a column has a different size. */
+    public static final String ERROR_COLUMN_SIZE = "Column %s has %s values instead of %s"; // NOPMD
+
+    /** The error message when a column does not exist. */
+    public static final String ERROR_NO_SUCH_COLUMN = "No column %s"; // NOPMD
+
+    /** The error message when a column is not of the requested kind. */
+    public static final String ERROR_WRONG_KIND = "Column %s is not a %s"; // NOPMD
+    // CHECKSTYLE:ON
+    /**
+     * Prevents instantiation.
+     */
+    private TableErrorMessages() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Columnar tables of deserialized records, with primitive columns.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+package com.polymathiccoder.yap4j.table;
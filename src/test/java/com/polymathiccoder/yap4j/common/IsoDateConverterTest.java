@@ -0,0 +1,52 @@
+package com.polymathiccoder.yap4j.common;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+/**
+ * A test class for IsoDateConverter.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class IsoDateConverterTest {
+    //Fixtures
+    /** A time zone whose rules have changed over the years. */
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("Europe/Moscow");
+
+    /** The format. */
+    private static final String FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    //Tests
+    /**
+     * Test that padded values, read at fixed offsets, and unpadded values, parsed by the date format, are converted to the same date
+     * in the default time zone, and formatted back.
+     */
+    @Test
+    public void testDefaultTimeZone() {
+        final TimeZone timeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TIME_ZONE);
+        try {
+            final Converter<Date> converter = Converters.DATE_FACTORY.create(FORMAT);
+            final Formatter<Date> formatter = Formatters.DATE_FACTORY.create(FORMAT);
+            for (int year : new int[] {2010, 2015, 2020 }) {
+                final Calendar calendar = new GregorianCalendar(TIME_ZONE);
+                calendar.clear();
+                calendar.set(year, Calendar.JANUARY, 1, 12, 0, 0);
+                final Date expected = calendar.getTime();
+                assertEquals(expected, converter.fromString(year + "-01-01 12:00:00"));
+                assertEquals(expected, converter.fromString(year + "-1-01 12:00:00"));
+                assertEquals(year + "-01-01 12:00:00", formatter.toString(converter.fromString(year + "-01-01 12:00:00")));
+            }
+        } finally {
+            TimeZone.setDefault(timeZone);
+        }
+    }
+}
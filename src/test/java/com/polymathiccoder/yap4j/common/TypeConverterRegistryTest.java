@@ -0,0 +1,123 @@
+package com.polymathiccoder.yap4j.common;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import org.joda.time.Period;
+import org.junit.Test;
+
+/**
+ * A test class for the converter registry of TypeConverter.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class TypeConverterRegistryTest {
+
+    //Tests, and Theories
+    /**
+     * Test that converters are resolved once per type and format.
+     */
+    @Test
+    public void testResolvedOnce() {
+        assertThat(TypeConverter.INSTANCE.converterFor(Integer.class, null), sameInstance(TypeConverter.INSTANCE.converterFor(Integer.class, null)));
+    }
+
+    /**
+     * Test that converters and formatters of types of other class loaders are not cached, so that they can be unloaded.
+     *
+     * @throws ClassNotFoundException if the type could not be loaded
+     */
+    @Test
+    public void testForeignTypeNotCached() throws ClassNotFoundException {
+        final URL location = TypeConverterTest.Enumer.class.getProtectionDomain().getCodeSource().getLocation();
+        final Class<?> foreign = new URLClassLoader(new URL[] {location }, null).loadClass(TypeConverterTest.Enumer.class.getName());
+        assertFalse(ClassLoaders.isCacheSafe(foreign));
+        assertTrue(ClassLoaders.isCacheSafe(TypeConverterTest.Enumer.class));
+        assertThat(TypeConverter.INSTANCE.converterFor(foreign, null), not(sameInstance(TypeConverter.INSTANCE.converterFor(foreign, null))));
+        assertThat(TypeConverter.INSTANCE.formatterFor(foreign, null), not(sameInstance(TypeConverter.INSTANCE.formatterFor(foreign, null))));
+        assertThat(TypeConverter.INSTANCE.fromString("VALUE_2", foreign, null), equalTo((Object) foreign.getEnumConstants()[1]));
+    }
+
+    /**
+     * Test converting to a type with a registered converter.
+     */
+    @Test
+    public void testRegisteredConverter() {
+        TypeConverter.INSTANCE.register(Money.class, new Converter<Money>() {
+            @Override
+            public Money fromString(final String value) {
+                return new Money(Long.parseLong(value.substring(1)), value.substring(0, 1));
+            }
+        });
+        assertThat(TypeConverter.INSTANCE.fromString("$42", Money.class, null), equalTo((Object) new Money(42, "$")));
+    }
+
+    /**
+     * Test converting to a type with a registered converter factory, which is given the format.
+     */
+    @Test
+    public void testRegisteredConverterFactory() {
+        TypeConverter.INSTANCE.register(Money.class, new ConverterFactory<Money>() {
+            @Override
+            public Converter<Money> create(final String format) {
+                return new Converter<Money>() {
+                    @Override
+                    public Money fromString(final String value) {
+                        return new Money(Long.parseLong(value), format);
+                    }
+                };
+            }
+        });
+        assertThat(TypeConverter.INSTANCE.converterFor(Money.class, "EUR").fromString("42"), equalTo((Object) new Money(42, "EUR")));
+    }
+
+    /**
+     * Test converting from a type with a registered formatter.
+     */
+    @Test
+    public void testRegisteredFormatter() {
+        TypeConverter.INSTANCE.registerFormatter(Money.class, new Formatter<Money>() {
+            @Override
+            public String toString(final Money value) {
+                return value.getCurrency() + value.getAmount();
+            }
+        });
+        assertThat(TypeConverter.INSTANCE.toString(new Money(42, "$"), Money.class, null), equalTo("$42"));
+    }
+
+    /**
+     * Test that built-in formatters are the reverse of the converters of the same type and format.
+     */
+    @Test
+    public void testFormatterReversesConverter() {
+        final Object date = TypeConverter.INSTANCE.fromString("02/29/2012", Date.class, "MM/dd/yyyy");
+        assertThat(TypeConverter.INSTANCE.toString(date, Date.class, "MM/dd/yyyy"), equalTo("02/29/2012"));
+        final Object period = TypeConverter.INSTANCE.fromString("11:22:33", Period.class, "HH:mm:ss");
+        assertThat(TypeConverter.INSTANCE.toString(period, Period.class, "HH:mm:ss"), equalTo("11:22:33"));
+    }
+
+    //Data
+    /**
+     * A sample domain type.
+     */
+    @Data @AllArgsConstructor
+    public static class Money {
+        /** The amount. */
+        private long amount;
+        /** The currency. */
+        private String currency;
+    }
+}
@@ -6,8 +6,10 @@ import static org.junit.Assert.assertThat;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -63,8 +65,17 @@ public class TypeConverterTest {
                 //Temporal
                 {"01/01/2011", Date.class, "MM/dd/yyyy", new DateTime(2011, 1, 1, 0, 0, 0, 0).toDate() },
                 {"01/01/2011 11:11:11", Date.class, "MM/dd/yyyy HH:mm:ss", new DateTime(2011, 1, 1, 11, 11, 11, 0).toDate() },
+                {"1/1/2011", Date.class, "MM/dd/yyyy", new DateTime(2011, 1, 1, 0, 0, 0, 0).toDate() },
+                {"2011-01-31", Date.class, "yyyy-MM-dd", new DateTime(2011, 1, 31, 0, 0, 0, 0).toDate() },
+                {"2011-1-31", Date.class, "yyyy-MM-dd", new DateTime(2011, 1, 31, 0, 0, 0, 0).toDate() },
+                {"2011-01-31T11:11:11", Date.class, "yyyy-MM-dd'T'HH:mm:ss", new DateTime(2011, 1, 31, 11, 11, 11, 0).toDate() },
+                {"2011-01-31 11:11:11.111", Date.class, "yyyy-MM-dd HH:mm:ss.SSS", new DateTime(2011, 1, 31, 11, 11, 11, 111).toDate() },
+                {" 2011-01-31 ", Date.class, "yyyy-MM-dd", new DateTime(2011, 1, 31, 0, 0, 0, 0).toDate() },
+                {"1000-01-01", Date.class, "yyyy-MM-dd", new GregorianCalendar(1000, Calendar.JANUARY, 1).getTime() },
+                {"11:11:11.5", Date.class, "HH:mm:ss.S", new DateTime(1970, 1, 1, 11, 11, 11, 5).toDate() },
                 {"Africa/Casablanca", TimeZone.class, null, TimeZone.getTimeZone("Africa/Casablanca") },
                 {"25:11:11", Period.class, "HH:mm:ss", new Period(0, 0, 0, 0, 25, 11, 11, 0) },
+                {"2:30", Period.class, "H:mm", new Period(0, 0, 0, 0, 2, 30, 0, 0) },
                 //Enum
                 {"VALUE_1", Enumer.class, null, Enumer.VALUE_1 },
                 {"0", Enumer.class, null, Enumer.VALUE_1 },
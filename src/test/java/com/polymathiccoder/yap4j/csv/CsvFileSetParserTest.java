@@ -0,0 +1,106 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.io.Files;
+
+/**
+ * A test class for CsvFileSetParser.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class CsvFileSetParserTest {
+    //Fixtures
+    /** The number of copies of the records in each shard. */
+    private static final int[] COPIES = {1, 2000, 3, 1};
+
+    /** The directory of the shards. */
+    private transient File directory;
+
+    /** The records of the shards, in order. */
+    private transient List<CsvParserTest.Valid_WithHeader> expected;
+
+    /**
+     * Writes shards of the records with a header, one of them larger than a chunk.
+     *
+     * @throws IOException if a shard could not be written
+     */
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDir();
+        directory.deleteOnExit();
+        final List<String> lines = Files.readLines(new File("data/withHeader.csv"), Charset.defaultCharset());
+        expected = new ArrayList<CsvParserTest.Valid_WithHeader>();
+        for (int shard = 0; shard < COPIES.length; shard++) {
+            final StringBuilder data = new StringBuilder(lines.get(0)).append('\n');
+            for (int i = 0; i < COPIES[shard]; i++) {
+                for (String line : lines.subList(1, lines.size())) {
+                    data.append(line).append('\n');
+                }
+                expected.addAll(CsvParserTest.Valid_WithHeader.expected);
+            }
+            final File file = new File(directory, "shard-" + shard + ".csv");
+            file.deleteOnExit();
+            Files.write(data.toString(), file, Charset.defaultCharset());
+        }
+        final File other = new File(directory, "shard.txt");
+        other.deleteOnExit();
+        Files.write("Not a shard", other, Charset.defaultCharset());
+    }
+
+    //Tests
+    /**
+     * Test that the files matching a glob pattern are listed in the order of their names.
+     */
+    @Test
+    public void testListFiles() {
+        final List<File> files = CsvFileSetParser.listFiles(directory, "shard-?.csv");
+        assertEquals(COPIES.length, files.size());
+        assertEquals("shard-0.csv", files.get(0).getName());
+        assertEquals(Arrays.asList(new File(directory, "shard.txt")), CsvFileSetParser.listFiles(directory, "*.txt"));
+    }
+
+    /**
+     * Test that the records of all the files are handed over in order, the large file being split into chunks.
+     */
+    @Test
+    public void testDeserializeOrdered() {
+        final CsvParserSettings settings = new CsvParserSettings().threads(3).chunkSize(4096);
+        final CsvFileSetParser parser = CsvParserFactory.createFileSetParser(CsvParserTest.Valid_WithHeader.class, directory, "*.csv", settings);
+        assertEquals(COPIES.length, parser.getFiles().size());
+        assertEquals(expected, parser.deserialize());
+    }
+
+    /**
+     * Test that all the records of all the files are handed over out of order.
+     */
+    @Test
+    public void testDeserializeUnordered() {
+        final CsvParserSettings settings = new CsvParserSettings().threads(3).chunkSize(4096).ordered(false);
+        final List<?> actual = CsvParserFactory.createFileSetParser(CsvParserTest.Valid_WithHeader.class, directory, "*.csv", settings).deserialize();
+        assertEquals(expected.size(), actual.size());
+        assertTrue(actual.containsAll(CsvParserTest.Valid_WithHeader.expected));
+    }
+
+    /**
+     * Test that a missing file is skipped.
+     */
+    @Test
+    public void testMissingFile() {
+        final List<File> files = Arrays.asList(new File(directory, "shard-0.csv"), new File(directory, "missing.csv"));
+        assertEquals(CsvParserTest.Valid_WithHeader.expected, CsvParserFactory.createFileSetParser(CsvParserTest.Valid_WithHeader.class, files).deserialize());
+    }
+}
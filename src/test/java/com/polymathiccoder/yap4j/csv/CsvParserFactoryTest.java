@@ -0,0 +1,70 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.polymathiccoder.yap4j.common.Converter;
+import com.polymathiccoder.yap4j.common.TypeConverter;
+
+/**
+ * A test class for CsvParserFactory.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class CsvParserFactoryTest {
+    //Rules
+    /** A rule to test whether an exception has been thrown or not. */
+    @Rule
+    public final transient ExpectedException exception = ExpectedException.none(); // CHECKSTYLE IGNORE
+
+    //Tests
+    /**
+     * Test that the parsing model of a type is built once, and shared by its parsers.
+     */
+    @Test
+    public void testCachedParsingModel() {
+        CsvParserFactory.warm(CsvParserTest.Valid_WithHeader.class, CsvParserTest.Valid_WithoutHeader.class);
+        final CsvParserFactory.ParsingModel parsingModel = CsvParserFactory.getParsingModel(CsvParserTest.Valid_WithHeader.class);
+        assertSame(parsingModel, CsvParserFactory.getParsingModel(CsvParserTest.Valid_WithHeader.class));
+        assertNotSame(parsingModel, CsvParserFactory.getParsingModel(CsvParserTest.Valid_WithoutHeader.class));
+        assertEquals(CsvParserTest.Valid_WithHeader.expected, CsvParserFactory.createParser(CsvParserTest.Valid_WithHeader.class).deserialize());
+    }
+
+    /**
+     * Test that the cached parsing model of a type is rebuilt once a converter is registered or removed.
+     */
+    @Test
+    public void testStaleParsingModel() {
+        final CsvParserFactory.ParsingModel parsingModel = CsvParserFactory.getParsingModel(CsvParserTest.Valid_WithHeader.class);
+        TypeConverter.INSTANCE.register(StringBuilder.class, new Converter<StringBuilder>() {
+            @Override
+            public StringBuilder fromString(final String value) {
+                return new StringBuilder(value);
+            }
+        });
+        try {
+            final CsvParserFactory.ParsingModel rebuilt = CsvParserFactory.getParsingModel(CsvParserTest.Valid_WithHeader.class);
+            assertNotSame(parsingModel, rebuilt);
+            assertSame(rebuilt, CsvParserFactory.getParsingModel(CsvParserTest.Valid_WithHeader.class));
+        } finally {
+            TypeConverter.INSTANCE.unregister(StringBuilder.class);
+        }
+        assertEquals(CsvParserTest.Valid_WithHeader.expected, CsvParserFactory.createParser(CsvParserTest.Valid_WithHeader.class).deserialize());
+    }
+
+    /**
+     * Test that a type that is not annotated is reported rather than cached.
+     */
+    @Test
+    public void testNotAnnotated() {
+        exception.expect(ParsingException.class);
+        CsvParserFactory.warm(String.class);
+    }
+}
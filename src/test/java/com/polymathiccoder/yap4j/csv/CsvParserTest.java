@@ -3,35 +3,75 @@ package com.polymathiccoder.yap4j.csv; // NOPMD
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.extern.java.Log;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.joda.time.DateTime;
 import org.joda.time.Period;
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
+import com.google.common.io.Files;
+import com.polymathiccoder.yap4j.CloseableIterator;
+import com.polymathiccoder.yap4j.Parser;
+import com.polymathiccoder.yap4j.RecordHandler;
+import com.polymathiccoder.yap4j.common.Converter;
+import com.polymathiccoder.yap4j.common.Formatter;
+import com.polymathiccoder.yap4j.common.Lazy;
+import com.polymathiccoder.yap4j.common.TypeConverter;
 import com.polymathiccoder.yap4j.csv.annotation.CsvEntry;
 import com.polymathiccoder.yap4j.csv.annotation.CsvFile;
+import com.polymathiccoder.yap4j.table.Column;
+import com.polymathiccoder.yap4j.table.DoubleColumn;
+import com.polymathiccoder.yap4j.table.IntColumn;
+import com.polymathiccoder.yap4j.table.Table;
 
 /**
  * A test class for CsvParser.
@@ -48,6 +88,9 @@ public class CsvParserTest {
     @Rule
     public final transient ExpectedException exception = ExpectedException.none(); // CHECKSTYLE IGNORE
 
+    /** Records of which the second cannot be parsed. */
+    private static final String REJECTED_CSV = "csv_primitive,csv_string,csv_date\n1,first,01/01/2011\n2,second,x\n3,third,03/03/2013\n";
+
     /**
      * Returns parameters for the theory.
      *
@@ -57,12 +100,14 @@ public class CsvParserTest {
     public static Object[] parameters() {
         return Arrays.asList(new Object[] {
             ImmutablePair.of(Valid_WithHeader.class, Valid_WithHeader.expected),
+            ImmutablePair.of(Valid_Interned.class, Valid_Interned.expected),
             ImmutablePair.of(Valid_WithoutHeader.class, Valid_WithoutHeader.expected),
             ImmutablePair.of(Valid_WithDelimiter.class, Valid_WithDelimiter.expected),
             ImmutablePair.of(Valid_OptionalFields.class, Valid_OptionalFields.expected),
             ImmutablePair.of(Valid_IgnoredFields.class, Valid_IgnoredFields.expected),
             ImmutablePair.of(Valid_DefaultFields.class, Valid_DefaultFields.expected),
             ImmutablePair.of(Valid_EscapedFields.class, Valid_EscapedFields.expected),
+            ImmutablePair.of(Valid_QuotedFields.class, Valid_QuotedFields.expected),
 
             ImmutablePair.of(Invalid_WithoutHeader.class, Invalid_WithoutHeader.expected),
             ImmutablePair.of(Invalid_WithHeader.class, Invalid_WithoutHeader.expected),
@@ -83,6 +128,453 @@ public class CsvParserTest {
         assertTrue(actual.containsAll(datum.right));
     }
 
+    /**
+     * Theory to test streaming with valid data.
+     */
+    @Theory // NOPMD
+    public void testValidStreaming(final ImmutablePair<Class<?>, List<?>> datum) {
+        assumeThat(datum.right, not(instanceOf(Exception.class)));
+        final List<Object> actual = new ArrayList<Object>();
+        final CloseableIterator<Object> iterator = CsvParserFactory.createParser(datum.left).iterator();
+        while (iterator.hasNext()) {
+            actual.add(iterator.next());
+        }
+        iterator.close();
+        assertEquals(datum.right, actual);
+    }
+
+    /**
+     * Theory to test with valid data read from sources other than a file name.
+     *
+     * @throws IOException if the file could not be read
+     */
+    @Theory // NOPMD
+    public void testValidFromSources(final ImmutablePair<Class<?>, List<?>> datum) throws IOException {
+        assumeThat(datum.right, not(instanceOf(Exception.class)));
+        final File file = new File(datum.left.getAnnotation(CsvFile.class).fileName());
+        final byte[] bytes = Files.toByteArray(file);
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(file)).deserialize());
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(bytes)).deserialize());
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(new ByteArrayInputStream(bytes))).deserialize());
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(Channels.newChannel(new ByteArrayInputStream(bytes)))).deserialize());
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(new StringReader(new String(bytes, Charset.defaultCharset())))).deserialize());
+        final CsvParserSettings settings = new CsvParserSettings().threads(2);
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(bytes), settings).deserialize());
+    }
+
+    /**
+     * Theory to test with valid data compressed with gzip, detected from the extension of the file or from its first bytes.
+     *
+     * @throws IOException if the file could not be read or compressed
+     */
+    @Theory // NOPMD
+    public void testValidCompressed(final ImmutablePair<Class<?>, List<?>> datum) throws IOException {
+        assumeThat(datum.right, not(instanceOf(Exception.class)));
+        final byte[] bytes = Files.toByteArray(new File(datum.left.getAnnotation(CsvFile.class).fileName()));
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        final GZIPOutputStream output = new GZIPOutputStream(compressed);
+        output.write(bytes);
+        output.close();
+
+        final File file = File.createTempFile("yap4j", ".csv.gz");
+        file.deleteOnExit();
+        Files.write(compressed.toByteArray(), file);
+        final CsvParserSettings settings = new CsvParserSettings().threads(2);
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(file), settings).deserialize());
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(compressed.toByteArray())).deserialize());
+    }
+
+    /**
+     * Test that an error thrown by the stream of a codec, such as one failing to link its native library on first read, is reported
+     * to the reader of the decompressed bytes rather than leaving it waiting.
+     *
+     * @throws IOException if the compressed bytes could not be read
+     */
+    @Test(timeout = 10000)
+    public void testDecompressionError() throws IOException {
+        final CompressionCodec codec = new CompressionCodec() {
+            @Override
+            public String getExtension() {
+                return ".broken";
+            }
+
+            @Override
+            public boolean matches(final byte[] magic, final int length) {
+                return false;
+            }
+
+            @Override
+            public InputStream decompress(final InputStream input) {
+                return new InputStream() {
+                    @Override
+                    public int read() {
+                        throw new UnsatisfiedLinkError("Aborted");
+                    }
+                };
+            }
+
+            @Override
+            public OutputStream compress(final OutputStream output) {
+                return output;
+            }
+        };
+        final InputStream input = new ReadAheadInputStream(codec.decompress(new ByteArrayInputStream(new byte[1])), null);
+        try {
+            exception.expect(IOException.class);
+            input.read();
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Test that records serialized to a file named after a compression codec are compressed, and deserialized back.
+     *
+     * @throws IOException if the file could not be read
+     */
+    @Test
+    public void testSerializeCompressed() throws IOException {
+        new File("target").mkdirs();
+        final CsvSource source = CsvSource.of(new File("target/serialized.csv.gz"));
+        CsvParserFactory.createParser(Valid_Serialized.class, source).serialize(Valid_Serialized.expected);
+        assertEquals(GZIPInputStream.GZIP_MAGIC & 0xff, Files.toByteArray(new File("target/serialized.csv.gz"))[0] & 0xff);
+        assertEquals(Valid_Serialized.expected, CsvParserFactory.createParser(Valid_Serialized.class, source).deserialize());
+    }
+
+    /**
+     * Test that a missing classpath resource is reported as a missing file is.
+     */
+    @Test
+    public void testMissingResource() {
+        assertEquals(Collections.emptyList(), CsvParserFactory.createParser(Valid_WithHeader.class, CsvSource.ofResource("missing.csv")).deserialize());
+    }
+
+    /**
+     * Test that a single parser serves concurrent invocations, over files whose headers list the columns in different orders.
+     *
+     * @throws Exception if the file could not be read, or an invocation failed
+     */
+    @Test
+    public void testConcurrentInvocations() throws Exception {
+        //Reverse the columns
+        final StringBuilder reversed = new StringBuilder();
+        for (String line : Files.readLines(new File("data/withHeader.csv"), Charset.defaultCharset())) {
+            final List<String> fields = Arrays.asList(line.split(","));
+            Collections.reverse(fields);
+            reversed.append(StringUtils.join(fields, ',')).append('\n');
+        }
+        final CsvSource reversedSource = CsvSource.of(reversed.toString().getBytes(Charset.defaultCharset()));
+
+        final CsvParser parser = (CsvParser) CsvParserFactory.createParser(Valid_WithHeader.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<List<Object>>> results = new ArrayList<Future<List<Object>>>();
+            for (int i = 0; i < 200; i++) {
+                final CsvParser invoked = i % 2 == 0 ? parser : parser.withSource(reversedSource);
+                results.add(executor.submit(new Callable<List<Object>>() {
+                    @Override
+                    public List<Object> call() {
+                        return invoked.deserialize();
+                    }
+                }));
+            }
+            for (Future<List<Object>> result : results) {
+                assertEquals(Valid_WithHeader.expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that unmapped, duplicate, and missing headers are handed to the diagnostics handler, and that repeated columns are skipped.
+     */
+    @Test
+    public void testHeaderDiagnostics() {
+        final List<HeaderDiagnostic> diagnostics = new ArrayList<HeaderDiagnostic>();
+        final CsvParserSettings settings = new CsvParserSettings().diagnostics(new RecordHandler<HeaderDiagnostic>() {
+            @Override
+            public void handle(final HeaderDiagnostic diagnostic) {
+                diagnostics.add(diagnostic);
+            }
+        });
+        final CsvSource source = CsvSource.of("csv_primitive,csv_string,extra,csv_string\n1,first,x,second".getBytes(Charset.defaultCharset()));
+        final List<Valid_WithHeader> actual = CsvParserFactory.createParser(Valid_WithHeader.class, source, settings).deserialize();
+        assertEquals(1, actual.size());
+        assertEquals("first", actual.get(0).string);
+
+        assertEquals(8, diagnostics.size());
+        assertEquals(HeaderDiagnostic.Kind.UNMAPPED, diagnostics.get(0).getKind());
+        assertEquals("extra", diagnostics.get(0).getHeader());
+        assertEquals(2, diagnostics.get(0).getColumn());
+        assertEquals(HeaderDiagnostic.Kind.DUPLICATE, diagnostics.get(1).getKind());
+        assertEquals("csv_string", diagnostics.get(1).getHeader());
+        assertEquals(3, diagnostics.get(1).getColumn());
+        for (HeaderDiagnostic diagnostic : diagnostics.subList(2, diagnostics.size())) {
+            assertEquals(HeaderDiagnostic.Kind.MISSING, diagnostic.getKind());
+            assertEquals(HeaderDiagnostic.NO_COLUMN, diagnostic.getColumn());
+        }
+        assertEquals("csv_date", diagnostics.get(2).getHeader());
+    }
+
+    /**
+     * Test that, without a handler of header diagnostics, the mismatches of a record header are logged as a single warning, leaving
+     * the unmapped headers out.
+     */
+    @Test
+    public void testHeaderMismatchesLogged() {
+        final List<LogRecord> warnings = new ArrayList<LogRecord>();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    warnings.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+                //Nothing to flush
+            }
+
+            @Override
+            public void close() {
+                //Nothing to close
+            }
+        };
+        final Logger logger = Logger.getLogger(CsvParser.class.getName());
+        logger.addHandler(handler);
+        try {
+            final CsvSource source = CsvSource.of("csv_primitive,csv_string,extra,csv_string\n1,first,x,second".getBytes(Charset.defaultCharset()));
+            CsvParserFactory.createParser(Valid_WithHeader.class, source).deserialize();
+        } finally {
+            logger.removeHandler(handler);
+        }
+        assertEquals(1, warnings.size());
+        final String message = warnings.get(0).getMessage();
+        assertTrue(message.contains("DUPLICATE header csv_string"));
+        assertTrue(message.contains("MISSING header csv_date"));
+        assertFalse(message.contains("extra"));
+    }
+
+    /**
+     * Test skipping the records that cannot be parsed, handed to the sink of rejected records.
+     *
+     * @throws IOException if the file could not be written
+     */
+    @Test
+    public void testSkipRejected() throws IOException {
+        final List<RejectedRecord> rejects = new ArrayList<RejectedRecord>();
+        final CsvParserSettings settings = new CsvParserSettings().errorPolicy(ErrorPolicy.SKIP).rejects(new RecordHandler<RejectedRecord>() {
+            @Override
+            public void handle(final RejectedRecord record) {
+                rejects.add(record);
+            }
+        });
+        final CsvSource source = CsvSource.of(REJECTED_CSV.getBytes(Charset.defaultCharset()));
+        final List<Valid_WithHeader> actual = CsvParserFactory.createParser(Valid_WithHeader.class, source, settings).deserialize();
+        assertEquals(2, actual.size());
+        assertEquals("first", actual.get(0).string);
+        assertEquals("third", actual.get(1).string);
+
+        assertEquals(1, rejects.size());
+        assertEquals(3, rejects.get(0).getRecordNumber());
+        assertEquals(REJECTED_CSV.indexOf("2,second"), rejects.get(0).getOffset());
+        assertEquals(2, rejects.get(0).getColumn());
+        assertEquals("x", rejects.get(0).getRawValue());
+        assertNotNull(rejects.get(0).getCause());
+
+        //Offsets in bytes when tokenizing the bytes of a file
+        final File file = File.createTempFile("yap4j", ".csv");
+        file.deleteOnExit();
+        Files.write(REJECTED_CSV.getBytes(Charset.defaultCharset()), file);
+        rejects.clear();
+        assertEquals(actual, CsvParserFactory.createParser(Valid_WithHeader.class, CsvSource.of(file), settings).deserialize());
+        assertEquals(1, rejects.size());
+        assertEquals(3, rejects.get(0).getRecordNumber());
+        assertEquals(REJECTED_CSV.indexOf("2,second"), rejects.get(0).getOffset());
+    }
+
+    /**
+     * Test failing once more records than allowed by the error policy have been rejected.
+     */
+    @Test
+    public void testErrorBudgetExceeded() {
+        final CsvSource source = CsvSource.of((REJECTED_CSV + "4,fourth,y\n").getBytes(Charset.defaultCharset()));
+        final CsvParserSettings settings = new CsvParserSettings().errorPolicy(ErrorPolicy.skipUpTo(1));
+        exception.expect(ParsingException.class);
+        exception.expectMessage("record 5");
+        CsvParserFactory.createParser(Valid_WithHeader.class, source, settings).deserialize();
+    }
+
+    /**
+     * Test failing on the first record that cannot be parsed by default.
+     */
+    @Test
+    public void testFailFast() {
+        final CsvSource source = CsvSource.of(REJECTED_CSV.getBytes(Charset.defaultCharset()));
+        exception.expect(ParsingException.class);
+        exception.expectMessage("record 3");
+        CsvParserFactory.createParser(Valid_WithHeader.class, source).deserialize();
+    }
+
+    /**
+     * Test failing once the whole source has been parsed if more than a percentage of its records have been rejected.
+     */
+    @Test
+    public void testErrorBudgetPercent() {
+        final CsvParserSettings settings = new CsvParserSettings().errorPolicy(ErrorPolicy.skipUpToPercent(50));
+        final CsvSource source = CsvSource.of(REJECTED_CSV.getBytes(Charset.defaultCharset()));
+        assertEquals(2, CsvParserFactory.createParser(Valid_WithHeader.class, source, settings).deserializeTable().getRowCount());
+
+        settings.errorPolicy(ErrorPolicy.skipUpToPercent(25));
+        exception.expect(ParsingException.class);
+        exception.expectMessage("Rejected 1 of the 3 records");
+        CsvParserFactory.createParser(Valid_WithHeader.class, source, settings).deserializeTable();
+    }
+
+    /**
+     * Test the metrics of parsing records and tables, counting the records, the bytes, the rejected records, and the conversions.
+     */
+    @Test
+    public void testParsingMetrics() {
+        final String csv = REJECTED_CSV + "1.0,fourth,04/04/2014\n";
+        final ParsingMetrics metrics = new ParsingMetrics();
+        final CsvParserSettings settings = new CsvParserSettings().errorPolicy(ErrorPolicy.SKIP).listener(metrics);
+        final CsvSource source = CsvSource.of(csv.getBytes(Charset.defaultCharset()));
+        assertEquals(3, CsvParserFactory.createParser(Valid_WithHeader.class, source, settings).deserialize().size());
+
+        assertEquals(5, metrics.getRecords());
+        assertEquals(csv.length(), metrics.getBytes());
+        assertEquals(1, metrics.getRejected());
+        assertEquals(Long.valueOf(4), metrics.getConversionsByType().get(int.class.getName()));
+        assertEquals(Long.valueOf(1), metrics.getFallbacksByType().get(int.class.getName()));
+        assertEquals(Long.valueOf(3), metrics.getConversionsByType().get(Date.class.getName()));
+        assertEquals(11, metrics.getConversions());
+        assertEquals(1.0 / 11, metrics.getFallbackRate(), 0.0001);
+
+        CsvParserFactory.createParser(Valid_WithHeader.class, source, settings).deserializeTable();
+        assertEquals(10, metrics.getRecords());
+        assertEquals(2, metrics.getRejected());
+        assertEquals(Long.valueOf(8), metrics.getConversionsByType().get(int.class.getName()));
+    }
+
+    /**
+     * Test that lazy fields are converted only when read, and written back as they were read unless converted.
+     */
+    @Test
+    public void testLazyEntries() {
+        final Parser parser = CsvParserFactory.createParser(Valid_LazyDate.class, CsvSource.of(REJECTED_CSV.getBytes(Charset.defaultCharset())));
+        final List<Valid_LazyDate> actual = parser.deserialize();
+        //The invalid date is not rejected, as it is not converted
+        assertEquals(3, actual.size());
+        assertFalse(actual.get(0).date.isConverted());
+        assertEquals(new DateTime(2011, 1, 1, 0, 0, 0, 0).toDate(), actual.get(0).date.get());
+        assertTrue(actual.get(0).date.isConverted());
+        assertEquals("x", actual.get(1).date.getToken());
+
+        final StringWriter writer = new StringWriter();
+        parser.serialize(actual.iterator(), writer);
+        assertEquals(REJECTED_CSV.replace("\n", "\r\n"), writer.toString());
+
+        exception.expect(RuntimeException.class);
+        actual.get(1).date.get();
+    }
+
+    /**
+     * Theory to test parsing in parallel with valid data, split into as many chunks as there are records.
+     */
+    @Theory // NOPMD
+    public void testValidParallel(final ImmutablePair<Class<?>, List<?>> datum) {
+        assumeThat(datum.right, not(instanceOf(Exception.class)));
+        final CsvParserSettings settings = new CsvParserSettings().threads(4).chunkSize(1);
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, settings).deserialize());
+
+        final List<?> unordered = CsvParserFactory.createParser(datum.left, settings.ordered(false)).deserialize();
+        assertEquals(datum.right.size(), unordered.size());
+        assertTrue(unordered.containsAll(datum.right));
+    }
+
+    /**
+     * Theory to test parsing in a pipeline with valid data, from a file and from a stream, into records and into a table.
+     *
+     * @throws Exception if the file or a field of the expected records could not be read
+     */
+    @Theory // NOPMD
+    public void testValidPipelined(final ImmutablePair<Class<?>, List<?>> datum) throws Exception {
+        assumeThat(datum.right, not(instanceOf(Exception.class)));
+        final StageMetrics metrics = new StageMetrics();
+        final CsvParserSettings settings = new CsvParserSettings().threads(2).pipelined(true).metrics(metrics);
+        final byte[] bytes = Files.toByteArray(new File(datum.left.getAnnotation(CsvFile.class).fileName()));
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, settings).deserialize());
+        assertEquals(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(new ByteArrayInputStream(bytes)), settings).deserialize());
+        assertTable(datum.right, CsvParserFactory.createParser(datum.left, CsvSource.of(bytes), settings).deserializeTable());
+        assertEquals(3, metrics.getBatches(StageMetrics.Stage.CONVERT));
+        assertEquals(3, metrics.getBatches(StageMetrics.Stage.CONSUME));
+        assertTrue(metrics.getBatches(StageMetrics.Stage.READ) >= 2);
+    }
+
+    /**
+     * Test that records spanning many batches are parsed in a pipeline in order, or all of them out of order.
+     *
+     * @throws IOException if the file could not be read
+     */
+    @Test
+    public void testPipelinedBatches() throws IOException {
+        final int copies = 5000;
+        final StringBuilder data = new StringBuilder();
+        final List<Valid_WithoutHeader> expected = new ArrayList<Valid_WithoutHeader>();
+        final String records = new String(Files.toByteArray(new File("data/withoutHeader.csv")), Charset.defaultCharset());
+        for (int i = 0; i < copies; i++) {
+            data.append(records).append('\n');
+            expected.addAll(Valid_WithoutHeader.expected);
+        }
+        final StageMetrics metrics = new StageMetrics();
+        final CsvParserSettings settings = new CsvParserSettings().threads(3).pipelined(true).metrics(metrics);
+        final CsvSource source = CsvSource.of(data.toString().getBytes(Charset.defaultCharset()));
+        assertEquals(expected, CsvParserFactory.createParser(Valid_WithoutHeader.class, source, settings).deserialize());
+        assertTrue(metrics.getBatches(StageMetrics.Stage.TOKENIZE) > 1);
+        assertEquals(metrics.getBatches(StageMetrics.Stage.CONVERT), metrics.getBatches(StageMetrics.Stage.CONSUME));
+
+        final List<?> unordered = CsvParserFactory.createParser(Valid_WithoutHeader.class, source, settings.ordered(false)).deserialize();
+        assertEquals(expected.size(), unordered.size());
+        assertTrue(unordered.containsAll(Valid_WithoutHeader.expected));
+    }
+
+    /**
+     * Test that a pipelined parse fails, rather than ending early, if the tokenizer thread is aborted by an error.
+     *
+     * @throws IOException if the file could not be read
+     */
+    @Test
+    public void testPipelinedError() throws IOException {
+        final String records = new String(Files.toByteArray(new File("data/withoutHeader.csv")), Charset.defaultCharset()) + "\n";
+        final Reader reader = new FilterReader(new StringReader(records)) {
+            @Override
+            public int read(final char[] buffer, final int offset, final int length) throws IOException {
+                final int read = super.read(buffer, offset, length);
+                if (read < 0) {
+                    throw new LinkageError("Aborted");
+                }
+                return read;
+            }
+        };
+        exception.expect(ParsingException.class);
+        CsvParserFactory.createParser(Valid_WithoutHeader.class, CsvSource.of(reader), new CsvParserSettings().threads(2).pipelined(true)).deserialize();
+    }
+
+    /**
+     * Theory to test deserializing into a table with valid data, sequentially and in parallel.
+     *
+     * @throws Exception if a field of the expected records could not be read
+     */
+    @Theory // NOPMD
+    public void testValidTable(final ImmutablePair<Class<?>, List<?>> datum) throws Exception {
+        assumeThat(datum.right, not(instanceOf(Exception.class)));
+        assertTable(datum.right, CsvParserFactory.createParser(datum.left).deserializeTable());
+        assertTable(datum.right, CsvParserFactory.createParser(datum.left, new CsvParserSettings().threads(4).chunkSize(1)).deserializeTable());
+    }
+
     /**
      * Theory to test with valid data.
      */
@@ -93,6 +585,145 @@ public class CsvParserTest {
         CsvParserFactory.createParser(datum.left).deserialize();
     }
 
+    /**
+     * Theory to test parsing in parallel with invalid data.
+     */
+    @Theory // NOPMD
+    public void testInvalidParallel(final ImmutablePair<Class<?>, List<?>> datum) {
+        assumeThat(datum.right, instanceOf(Exception.class));
+        exception.expect(ParsingException.class);
+        CsvParserFactory.createParser(datum.left, new CsvParserSettings().threads(2).chunkSize(1)).deserialize();
+    }
+
+    /**
+     * Theory to test parsing in a pipeline with invalid data.
+     */
+    @Theory // NOPMD
+    public void testInvalidPipelined(final ImmutablePair<Class<?>, List<?>> datum) {
+        assumeThat(datum.right, instanceOf(Exception.class));
+        exception.expect(ParsingException.class);
+        CsvParserFactory.createParser(datum.left, new CsvParserSettings().threads(2).pipelined(true)).deserialize();
+    }
+
+    /**
+     * Theory to test deserializing into a table with invalid data.
+     */
+    @Theory // NOPMD
+    public void testInvalidTable(final ImmutablePair<Class<?>, List<?>> datum) {
+        assumeThat(datum.right, instanceOf(Exception.class));
+        exception.expect(ParsingException.class);
+        CsvParserFactory.createParser(datum.left).deserializeTable();
+    }
+
+    /**
+     * Test that serialized records are deserialized back into equal records.
+     */
+    @Test
+    public void testSerializeRoundTrip() {
+        new File("target").mkdirs();
+        CsvParserFactory.createParser(Valid_Serialized.class).serialize(Valid_Serialized.expected);
+        assertEquals(Valid_Serialized.expected, CsvParserFactory.createParser(Valid_Serialized.class).deserialize());
+    }
+
+    /**
+     * Test that only the fields that need it are quoted, and that quotes are escaped.
+     */
+    @Test
+    public void testSerializeQuoted() {
+        final StringWriter writer = new StringWriter();
+        CsvParserFactory.createParser(Valid_QuotedFields.class).serialize(Valid_QuotedFields.expected.iterator(), writer);
+        assertEquals("csv_primitive,csv_string\r\n1,\"I'mString1\nOn \"\"two\"\" lines\"\r\n2,\"I'mString2,Escaped\"\r\n3,I'mString3\r\n",
+                writer.toString());
+    }
+
+    /**
+     * Test that records are serialized by position in a file without record header.
+     */
+    @Test
+    public void testSerializeWithoutHeader() {
+        final StringWriter writer = new StringWriter();
+        CsvParserFactory.createParser(Valid_WithoutHeader.class).serialize(Valid_WithoutHeader.expected.subList(0, 1).iterator(), writer);
+        assertEquals("1,I'mString1,01/01/2011,VALUE_1,11:11:11,Africa/Casablanca,ar,http://www.IAmAUrl1.com\r\n", writer.toString());
+    }
+
+    /**
+     * Test that a converter and a formatter registered for a primitive type take precedence over the specialized parsing and writing
+     * of its fields, into records and into a table.
+     */
+    @Test
+    public void testRegisteredPrimitiveConverter() {
+        TypeConverter.INSTANCE.register(int.class, new Converter<Integer>() {
+            @Override
+            public Integer fromString(final String value) {
+                return Integer.valueOf(value, 16);
+            }
+        });
+        TypeConverter.INSTANCE.registerFormatter(int.class, new Formatter<Integer>() {
+            @Override
+            public String toString(final Integer value) {
+                return Integer.toHexString(value);
+            }
+        });
+        try {
+            final byte[] bytes = "csv_primitive,csv_string\n10,first\nff,second\n".getBytes(Charset.defaultCharset());
+            final Parser parser = CsvParserFactory.createParser(Valid_RegisteredConverter.class, CsvSource.of(bytes));
+            final List<Valid_RegisteredConverter> actual = parser.deserialize();
+            assertEquals(Arrays.asList(new Valid_RegisteredConverter(16, "first"), new Valid_RegisteredConverter(255, "second")), actual);
+            assertEquals(255, parser.deserializeTable().getIntColumn("primitive").getInt(1));
+
+            final StringWriter writer = new StringWriter();
+            parser.serialize(actual.iterator(), writer);
+            assertEquals("csv_primitive,csv_string\r\n10,first\r\nff,second\r\n", writer.toString());
+        } finally {
+            TypeConverter.INSTANCE.unregister(int.class);
+            TypeConverter.INSTANCE.unregisterFormatter(int.class);
+        }
+    }
+
+    /**
+     * Test that a file delimited by a character beyond ASCII is decoded before being tokenized, sequentially and when parallel parsing
+     * is requested.
+     *
+     * @throws IOException if the file could not be written
+     */
+    @Test
+    public void testNonAsciiDelimiter() throws IOException {
+        final Charset charset = Charset.forName("UTF-8");
+        final File file = File.createTempFile("yap4j", ".csv");
+        file.deleteOnExit();
+        Files.write(Files.toString(new File("data/withDelimiter.csv"), charset).replace(';', '\u00a7'), file, charset);
+
+        final CsvParserSettings settings = new CsvParserSettings().charset(charset);
+        assertEquals(Valid_NonAsciiDelimiter.expected, CsvParserFactory.createParser(Valid_NonAsciiDelimiter.class, CsvSource.of(file), settings).deserialize());
+        settings.threads(4).chunkSize(1);
+        assertEquals(Valid_NonAsciiDelimiter.expected, CsvParserFactory.createParser(Valid_NonAsciiDelimiter.class, CsvSource.of(file), settings).deserialize());
+    }
+
+    /**
+     * Asserts that a table holds the values of the fields of the expected records, column by column.
+     *
+     * @param expected the expected records
+     * @param table the table
+     * @throws Exception if a field of the expected records could not be read
+     */
+    private static void assertTable(final List<?> expected, final Table table) throws Exception { // NOPMD
+        assertEquals(expected.size(), table.getRowCount());
+        for (Column column : table.getColumns()) {
+            for (int row = 0; row < expected.size(); row++) {
+                final Field field = expected.get(row).getClass().getDeclaredField(column.getName());
+                field.setAccessible(true);
+                final Object value = field.get(expected.get(row));
+                if (column instanceof IntColumn) {
+                    assertEquals(((Number) value).intValue(), ((IntColumn) column).getInt(row));
+                } else if (column instanceof DoubleColumn) {
+                    assertEquals(((Number) value).doubleValue(), ((DoubleColumn) column).getDouble(row), 0d);
+                } else {
+                    assertEquals(value, column.get(row));
+                }
+            }
+        }
+    }
+
     //Data
     /**
      * A Sample Enumerator.
@@ -147,6 +778,35 @@ public class CsvParserTest {
         }
     }
 
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.AvoidDuplicateLiterals" })
+    @Data @AllArgsConstructor @NoArgsConstructor
+    @CsvFile(fileName = "data/withHeader.csv")
+    public static class Valid_Interned {
+        @CsvEntry(header = "csv_primitive")
+        private int primitive;
+        @CsvEntry(header = "csv_string", intern = true)
+        private String string;
+        @CsvEntry(header = "csv_date", format = "MM/dd/yyyy")
+        private Date date;
+
+        public static List<Valid_Interned> expected = Arrays.asList(
+            new Valid_Interned(1, "I'mString1", new DateTime(2011, 1, 1, 0, 0, 0, 0).toDate()),
+            new Valid_Interned(2, "I'mString2", new DateTime(2012, 2, 2, 0, 0, 0, 0).toDate())
+        );
+    }
+
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.AvoidDuplicateLiterals" })
+    @Data @AllArgsConstructor @NoArgsConstructor
+    @CsvFile(fileName = "data/withHeader.csv")
+    public static class Valid_LazyDate {
+        @CsvEntry(header = "csv_primitive")
+        private int primitive;
+        @CsvEntry(header = "csv_string")
+        private String string;
+        @CsvEntry(header = "csv_date", format = "MM/dd/yyyy")
+        private Lazy<Date> date;
+    }
+
     @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.AvoidDuplicateLiterals" })
     @Data @AllArgsConstructor @NoArgsConstructor
     @CsvFile(fileName = "data/withoutHeader.csv", noHeader = true)
@@ -452,5 +1112,96 @@ public class CsvParserTest {
             }
         }
     }
+
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.AvoidDuplicateLiterals" })
+    @Data @AllArgsConstructor @NoArgsConstructor
+    @CsvFile(fileName = "data/quotedFields.csv")
+    public static class Valid_QuotedFields {
+        @CsvEntry(header = "csv_primitive")
+        private int primitive;
+        @CsvEntry(header = "csv_string")
+        private String string;
+
+        public static List<Valid_QuotedFields> expected;
+        static {
+            expected = Arrays.asList(
+                new Valid_QuotedFields(1, "I'mString1\nOn \"two\" lines"),
+                new Valid_QuotedFields(2, "I'mString2,Escaped"),
+                new Valid_QuotedFields(3, "I'mString3")
+            );
+        }
+    }
+
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.AvoidDuplicateLiterals" })
+    @Data @AllArgsConstructor @NoArgsConstructor
+    @CsvFile(fileName = "data/withHeader.csv")
+    public static class Valid_RegisteredConverter {
+        @CsvEntry(header = "csv_primitive")
+        private int primitive;
+        @CsvEntry(header = "csv_string")
+        private String string;
+    }
+
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.AvoidDuplicateLiterals" })
+    @Data @AllArgsConstructor @NoArgsConstructor
+    @CsvFile(fileName = "data/withDelimiter.csv", delimiter = "\u00a7")
+    public static class Valid_NonAsciiDelimiter {
+        @CsvEntry(header = "csv_primitive")
+        private int primitive;
+        @CsvEntry(header = "csv_string")
+        private String string;
+
+        public static List<Valid_NonAsciiDelimiter> expected;
+        static {
+            expected = Arrays.asList(
+                new Valid_NonAsciiDelimiter(1, "I'mString1"),
+                new Valid_NonAsciiDelimiter(2, "I'mString2")
+            );
+        }
+    }
+
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.AvoidDuplicateLiterals" })
+    @Data @AllArgsConstructor @NoArgsConstructor
+    @CsvFile(fileName = "target/serialized.csv", delimiter = ";")
+    public static class Valid_Serialized {
+        @CsvEntry(header = "csv_primitive")
+        private long primitive;
+        @CsvEntry(header = "csv_string")
+        private String string;
+        @CsvEntry(header = "csv_date", format = "yyyy-MM-dd'T'HH:mm:ss")
+        private Date date;
+        @CsvEntry(header = "csv_enumer")
+        private Enumer enumer;
+        @CsvEntry(header = "csv_period", format = "HH:mm:ss")
+        private Period period;
+        @CsvEntry(header = "csv_timeZone")
+        private TimeZone timeZone;
+        @CsvEntry(header = "csv_locale")
+        private Locale locale;
+        @CsvEntry(header = "emp_url", position = 0)
+        private URL url;
+        @CsvEntry(header = "csv_double")
+        private double primitiveDouble;
+        @CsvEntry(header = "csv_boolean")
+        private boolean primitiveBoolean;
+        @CsvEntry(header = "csv_wrapper", optional = true)
+        private Integer wrapper;
+
+        public static List<Valid_Serialized> expected;
+        static {
+            try {
+                expected = Arrays.asList(
+                    new Valid_Serialized(Long.MIN_VALUE, "I'mString1;\"Quoted\"", new DateTime(2011, 1, 1, 10, 30, 15, 0).toDate(), Enumer.VALUE_1,
+                            new Period(0, 0, 0, 0, 11, 11, 11, 0), TimeZone.getTimeZone("Africa/Casablanca"),
+                            new Locale("ar"), new URL("http://www.IAmAUrl1.com"), -1.5, true, null),
+                    new Valid_Serialized(-42, "I'mString2", new DateTime(2012, 2, 2, 0, 0, 0, 0).toDate(), Enumer.VALUE_2,
+                            new Period(0, 0, 0, 0, 22, 22, 22, 0), TimeZone.getTimeZone("America/Los_Angeles"),
+                            new Locale("en"), new URL("http://www.IAmAUrl2.com"), 1e-9, false, Integer.valueOf(7))
+                );
+            } catch (MalformedURLException malformedURLException) { // NOPMD
+                log.severe("This should never happen");
+            }
+        }
+    }
     // CHECKSTYLE:ON
 }
@@ -0,0 +1,160 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+/**
+ * A test class for CsvTokenizer.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@RunWith(value = Parameterized.class)
+@AllArgsConstructor
+public class CsvTokenizerTest {
+    //Rules, Parameters, and DataPoints
+    /** The CSV input. */
+    private final transient String input;
+
+    /** The delimiter. */
+    private final transient char delimiter;
+
+    /** The expected records. */
+    private final transient String[][] expected;
+
+    /**
+     * Returns valid parameters for the test.
+     *
+     * @return the test parameters
+     */
+    @Parameters
+    public static Collection<Object[]> validParameters() {
+        return Arrays.asList(new Object[][] {
+            //Plain
+            {"a,b,c\n1,2,3\n", ',', new String[][] {{"a", "b", "c" }, {"1", "2", "3" } } },
+            {"a;b;c", ';', new String[][] {{"a", "b", "c" } } },
+            {"a|b", '|', new String[][] {{"a", "b" } } },
+            //Empty fields
+            {",,\n", ',', new String[][] {{"", "", "" } } },
+            {"a,\n", ',', new String[][] {{"a", "" } } },
+            //Line breaks
+            {"a,b\r\n1,2\r\n", ',', new String[][] {{"a", "b" }, {"1", "2" } } },
+            {"a,b\r1,2", ',', new String[][] {{"a", "b" }, {"1", "2" } } },
+            //Blank lines
+            {"a\n\n\nb\n", ',', new String[][] {{"a" }, {"b" } } },
+            {"\"\"\n", ',', new String[][] {{"" } } },
+            //Quoted
+            {"\"a,b\",c", ',', new String[][] {{"a,b", "c" } } },
+            {"\"a\"\"b\",c", ',', new String[][] {{"a\"b", "c" } } },
+            {"\"a\nb\",c\n1,2", ',', new String[][] {{"a\nb", "c" }, {"1", "2" } } },
+            {"\"\",\"\"", ',', new String[][] {{"", "" } } },
+            {"with space,x", ',', new String[][] {{"with space", "x" } } },
+            //Non-ASCII
+            {"caf\u00e9,\"\u00fcber,\u00e5\"\nx,y", ',', new String[][] {{"caf\u00e9", "\u00fcber,\u00e5" }, {"x", "y" } } }
+        });
+    }
+
+    //Tests, and Theories
+    /**
+     * Test valid data.
+     *
+     * @throws IOException if the input could not be read
+     */
+    @Test
+    public void testValid() throws IOException {
+        final CsvTokenizer tokenizer = new CharCsvTokenizer(new StringReader(input), delimiter);
+        final List<String[]> actual = new ArrayList<String[]>();
+        while (tokenizer.nextRecord()) {
+            actual.add(tokenizer.fields());
+        }
+        tokenizer.close();
+        assertArrayEquals(expected, actual.toArray(new String[actual.size()][]));
+    }
+
+    /**
+     * Test valid data read directly from the bytes of a file.
+     *
+     * @throws IOException if the input could not be read
+     */
+    @Test
+    public void testValidBytes() throws IOException {
+        final File file = File.createTempFile("yap4j", ".csv");
+        file.deleteOnExit();
+        Files.write(input, file, Charsets.UTF_8);
+
+        final CsvTokenizer tokenizer = new ByteCsvTokenizer(new FileInputStream(file).getChannel(), 0, Long.MAX_VALUE, delimiter, Charsets.UTF_8);
+        final List<String[]> actual = new ArrayList<String[]>();
+        while (tokenizer.nextRecord()) {
+            actual.add(tokenizer.fields());
+        }
+        tokenizer.close();
+        assertArrayEquals(expected, actual.toArray(new String[actual.size()][]));
+    }
+
+    /**
+     * Test valid data projected on its first column.
+     *
+     * @throws IOException if the input could not be read
+     */
+    @Test
+    public void testValidProjected() throws IOException {
+        final CsvTokenizer tokenizer = new CharCsvTokenizer(new StringReader(input), delimiter);
+        tokenizer.project(new boolean[] {true });
+        assertProjected(tokenizer);
+    }
+
+    /**
+     * Test valid data read directly from the bytes of a file, projected on its first column.
+     *
+     * @throws IOException if the input could not be read
+     */
+    @Test
+    public void testValidBytesProjected() throws IOException {
+        final File file = File.createTempFile("yap4j", ".csv");
+        file.deleteOnExit();
+        Files.write(input, file, Charsets.UTF_8);
+
+        final CsvTokenizer tokenizer = new ByteCsvTokenizer(new FileInputStream(file).getChannel(), 0, Long.MAX_VALUE, delimiter, Charsets.UTF_8);
+        tokenizer.project(new boolean[] {true });
+        assertProjected(tokenizer);
+    }
+
+    /**
+     * Asserts that a tokenizer projected on the first column only reads the first field of each of the expected records.
+     *
+     * @param tokenizer the tokenizer
+     * @throws IOException if the input could not be read
+     */
+    private void assertProjected(final CsvTokenizer tokenizer) throws IOException {
+        final List<String[]> actual = new ArrayList<String[]>();
+        while (tokenizer.nextRecord()) {
+            actual.add(tokenizer.fields());
+        }
+        tokenizer.close();
+
+        final String[][] projected = new String[expected.length][];
+        for (int i = 0; i < expected.length; i++) {
+            projected[i] = new String[] {expected[i][0] };
+        }
+        assertArrayEquals(projected, actual.toArray(new String[actual.size()][]));
+    }
+}
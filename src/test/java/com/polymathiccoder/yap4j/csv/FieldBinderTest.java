@@ -0,0 +1,133 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.polymathiccoder.yap4j.common.TypeConverter;
+
+/**
+ * A test class for FieldBinder.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+@RunWith(value = Parameterized.class)
+@AllArgsConstructor
+public class FieldBinderTest {
+    //Rules, Parameters, and DataPoints
+    /** The name of the field to bind. */
+    private final transient String fieldName;
+
+    /** The value to be bound. */
+    private final transient String value;
+
+    /**
+     * Returns valid parameters for the test.
+     *
+     * @return the test parameters
+     */
+    @Parameters
+    public static Collection<Object[]> validParameters() {
+        return Arrays.asList(new Object[][] {
+            {"primitiveInt", "1" },
+            {"primitiveInt", "-42" },
+            {"primitiveInt", " 7 " },
+            {"primitiveInt", "2147483647" },
+            {"primitiveInt", "-2147483648" },
+            {"primitiveInt", "-" },
+            {"primitiveLong", "9999999999" },
+            {"primitiveLong", "-9223372036854775808" },
+            {"primitiveDouble", "1.5" },
+            {"primitiveFloat", "2.5" },
+            {"primitiveShort", "12" },
+            {"primitiveShort", "99999" },
+            {"primitiveByte", "3" },
+            {"primitiveByte", "-128" },
+            {"primitiveByte", "300" },
+            {"primitiveBoolean", "true" },
+            {"primitiveBoolean", "false" },
+            {"primitiveBoolean", "1" },
+            {"primitiveBoolean", "9" },
+            {"primitiveChar", "x" },
+            {"wrapper", "5" },
+            {"text", "abc" }
+        });
+    }
+
+    //Tests, and Theories
+    /**
+     * Test that the specialized binder assigns the same value as the converter.
+     *
+     * @throws Exception if the field could not be bound
+     */
+    @Test
+    public void testSameAsConverter() throws Exception { // NOPMD
+        final Field field = Bean.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        final Bean bean = new Bean();
+        FieldBinder.of(field, TypeConverter.INSTANCE.converterFor(field.getType(), null)).bind(bean, value);
+        assertThat(field.get(bean), equalTo(TypeConverter.INSTANCE.fromString(value, field.getType(), null)));
+    }
+
+    /**
+     * Test that binding from a view of the value assigns the same value as the converter.
+     *
+     * @throws Exception if the field could not be bound
+     */
+    @Test
+    public void testSameAsConverterFromView() throws Exception { // NOPMD
+        final Field field = Bean.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        final Bean bean = new Bean();
+        FieldBinder.of(field, TypeConverter.INSTANCE.converterFor(field.getType(), null)).bind(bean, new StringBuilder(value));
+        assertThat(field.get(bean), equalTo(TypeConverter.INSTANCE.fromString(value, field.getType(), null)));
+    }
+
+    /**
+     * Test that an interning binder assigns a single instance for equal values.
+     *
+     * @throws Exception if the field could not be bound
+     */
+    @Test
+    public void testInterned() throws Exception { // NOPMD
+        final Field field = Bean.class.getDeclaredField("text");
+        field.setAccessible(true);
+        final FieldBinder binder = FieldBinder.of(field, TypeConverter.INSTANCE.converterFor(String.class, null), true);
+        final Bean first = new Bean();
+        final Bean second = new Bean();
+        binder.bind(first, new StringBuilder(value));
+        binder.bind(second, new StringBuilder(value));
+        assertThat(first.text, equalTo(value));
+        assertThat(second.text, sameInstance(first.text));
+    }
+
+    //Data
+    // CHECKSTYLE:OFF
+    @SuppressWarnings("PMD.UnusedPrivateField")
+    public static class Bean {
+        private int primitiveInt;
+        private long primitiveLong;
+        private double primitiveDouble;
+        private float primitiveFloat;
+        private short primitiveShort;
+        private byte primitiveByte;
+        private boolean primitiveBoolean;
+        private char primitiveChar;
+        private Integer wrapper;
+        private String text;
+    }
+    // CHECKSTYLE:ON
+}
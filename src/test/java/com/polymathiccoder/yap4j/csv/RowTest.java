@@ -0,0 +1,108 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.io.Files;
+import com.polymathiccoder.yap4j.CloseableIterator;
+
+/**
+ * A test class for Row.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class RowTest {
+    //Fixtures
+    /** Records with a header, quoted fields, and a missing value. */
+    private static final String ORDERS_CSV = "id,customer,amount,placed\n"
+            + "1,\"Smith, \"\"Jo\"\"\",12.5,2011-01-01\n"
+            + "2,Zoe,,2011-02-01\n"
+            + "3,Lee,7,2011-03-01\n";
+
+    //Tests
+    /**
+     * Test that the values of rows are read by index and by name, as strings and converted, from a stream and from a file.
+     *
+     * @throws IOException if the file could not be written
+     */
+    @Test
+    public void testRows() throws IOException {
+        final File file = File.createTempFile("yap4j", ".csv");
+        file.deleteOnExit();
+        Files.write(ORDERS_CSV, file, Charset.defaultCharset());
+        final CsvSchema schema = CsvParserFactory.inferSchema(CsvSource.of(file));
+        assertRows(CsvParserFactory.createParser(CsvSource.of(file)).deserialize());
+        assertRows(CsvParserFactory.createParser(schema, CsvSource.of(ORDERS_CSV.getBytes(Charset.defaultCharset()))).deserialize());
+    }
+
+    /**
+     * Test that rows are streamed, and that a value that does not fit the type it is read as is only reported when read.
+     */
+    @Test
+    public void testLazyConversion() {
+        final CsvSchema schema = CsvParserFactory.inferSchema(CsvSource.of(ORDERS_CSV.getBytes(Charset.defaultCharset())));
+        final CloseableIterator<Row> rows = CsvParserFactory.createParser(schema, CsvSource.of((ORDERS_CSV + "4,Kim,x,y\n").getBytes(Charset.defaultCharset()))).iterator();
+        try {
+            Row row = null;
+            while (rows.hasNext()) {
+                row = rows.next();
+            }
+            assertEquals("Kim", row.getString("customer"));
+            assertEquals(4, row.getInt("id"));
+            try {
+                row.get("placed");
+                assertTrue(false);
+            } catch (ParsingException parsingException) { // NOPMD
+                //Expected
+            }
+        } finally {
+            rows.close();
+        }
+    }
+
+    /**
+     * Test that reading a column that is not in the schema fails.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoSuchColumn() {
+        final CsvSchema schema = CsvParserFactory.inferSchema(CsvSource.of(ORDERS_CSV.getBytes(Charset.defaultCharset())));
+        CsvParserFactory.createParser(schema, CsvSource.of(ORDERS_CSV.getBytes(Charset.defaultCharset()))).deserialize().get(0).getString("missing");
+    }
+
+    /**
+     * Asserts that rows hold the records of the fixture.
+     *
+     * @param rows the rows
+     */
+    private static void assertRows(final List<Row> rows) {
+        assertEquals(3, rows.size());
+        final Row first = rows.get(0);
+        assertEquals(4, first.size());
+        assertEquals(1, first.getInt(0));
+        assertEquals("Smith, \"Jo\"", first.getString("customer"));
+        assertEquals(12.5, first.getDouble("amount"), 0);
+        assertEquals(12.5, first.get("amount"));
+        assertTrue(first.get("placed") instanceof Date);
+        final Row second = rows.get(1);
+        assertEquals("Zoe", second.getString(1));
+        assertTrue(second.isNull("amount"));
+        assertNull(second.get("amount"));
+        assertFalse(second.isNull(3));
+        assertTrue(second.isNull(4));
+        assertEquals(7, rows.get(2).getLong("amount"));
+        assertSame(first.getSchema(), second.getSchema());
+    }
+}
@@ -0,0 +1,166 @@
+package com.polymathiccoder.yap4j.csv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.io.Files;
+import com.polymathiccoder.yap4j.table.Table;
+
+/**
+ * A test class for SchemaInference and CsvSchemaParser.
+ *
+ * @author  Abdelmonaim Remani
+ * @version 0.2.0
+ * @since 0.2.0
+ */
+public class SchemaInferenceTest {
+    //Fixtures
+    /** Records with a header, a nullable column, and a categorical column. */
+    private static final String PEOPLE_CSV = "id,name,age,born,score,team\n"
+            + "1,Alice,30,1981-02-03,1.5,red\n"
+            + "2,Bob,,1975-12-24,2,blue\n"
+            + "3,\"Carol, Jr.\",41,1970-07-01,3.25,red\n"
+            + "4,Dave,25,1986-11-30,4,blue\n"
+            + "5000000000,Eve,33,1978-05-05,5,red\n";
+
+    /** Records without a header, delimited with semicolons. */
+    private static final String MEASURES_CSV = "7;12.5;01/02/2011\n8;13;02/03/2011\n9;14.75;03/04/2011\n";
+
+    //Tests
+    /**
+     * Test that the header, the types, the nullable columns, and the categorical columns are inferred.
+     */
+    @Test
+    public void testInferSchema() {
+        final CsvSchema schema = CsvParserFactory.inferSchema(CsvSource.of(PEOPLE_CSV.getBytes(Charset.defaultCharset())));
+        assertEquals(',', schema.getDelimiter());
+        assertTrue(schema.hasHeader());
+        final List<CsvSchema.Column> columns = schema.getColumns();
+        assertEquals(6, columns.size());
+        assertColumn(columns.get(0), "id", long.class, null, false, false);
+        assertColumn(columns.get(1), "name", String.class, null, false, false);
+        assertColumn(columns.get(2), "age", Integer.class, null, true, false);
+        assertColumn(columns.get(3), "born", Date.class, "yyyy-MM-dd", false, false);
+        assertColumn(columns.get(4), "score", double.class, null, false, false);
+        assertColumn(columns.get(5), "team", String.class, null, false, true);
+        assertEquals(4, schema.indexOf("score"));
+        assertEquals(CsvSchema.NO_COLUMN, schema.indexOf("missing"));
+    }
+
+    /**
+     * Test that the delimiter is detected, and that records starting with data are not taken for a header.
+     */
+    @Test
+    public void testInferSchemaWithoutHeader() {
+        final CsvSchema schema = new SchemaInference().infer(CsvSource.of(MEASURES_CSV.getBytes(Charset.defaultCharset())));
+        assertEquals(';', schema.getDelimiter());
+        assertFalse(schema.hasHeader());
+        final List<CsvSchema.Column> columns = schema.getColumns();
+        assertColumn(columns.get(0), "column_1", int.class, null, false, false);
+        assertColumn(columns.get(1), "column_2", double.class, null, false, false);
+        assertColumn(columns.get(2), "column_3", Date.class, "MM/dd/yyyy", false, false);
+    }
+
+    /**
+     * Test that a file sampled from random offsets yields the same schema as its first records, repeatably.
+     *
+     * @throws IOException if the file could not be written
+     */
+    @Test
+    public void testInferSchemaFromRandomOffsets() throws IOException {
+        final StringBuilder data = new StringBuilder("id,label,amount\n");
+        for (int i = 0; i < 20000; i++) {
+            data.append(i).append(",\"label ").append(i % 7).append("\",").append(i * 0.5).append('\n');
+        }
+        final File file = File.createTempFile("yap4j", ".csv");
+        file.deleteOnExit();
+        Files.write(data.toString(), file, Charset.defaultCharset());
+        final CsvSchema head = new SchemaInference().infer(CsvSource.of(file));
+        final CsvSchema sampled = new SchemaInference().randomOffsets(true).seed(42).infer(CsvSource.of(file));
+        assertEquals(head.toString(), sampled.toString());
+        assertEquals(sampled.toString(), new SchemaInference().randomOffsets(true).seed(42).infer(CsvSource.of(file)).toString());
+        assertColumn(sampled.getColumns().get(1), "label", String.class, null, false, true);
+    }
+
+    /**
+     * Test that a lone record is taken for data rather than for a header.
+     */
+    @Test
+    public void testInferSchemaOfSingleRecord() {
+        final byte[] bytes = "Alice,Bob,Carol\n".getBytes(Charset.defaultCharset());
+        final CsvSchema schema = new SchemaInference().infer(CsvSource.of(bytes));
+        assertFalse(schema.hasHeader());
+        final List<Row> rows = CsvParserFactory.createParser(schema, CsvSource.of(bytes)).deserialize();
+        assertEquals(1, rows.size());
+        assertEquals("Bob", rows.get(0).getString("column_2"));
+    }
+
+    /**
+     * Test that records are inferred and parsed in the charset they are encoded in rather than in the default charset.
+     */
+    @Test
+    public void testCharset() {
+        final Charset charset = Charset.forName("UTF-16");
+        final byte[] bytes = PEOPLE_CSV.getBytes(charset);
+        final CsvSchema schema = new SchemaInference().charset(charset).infer(CsvSource.of(bytes));
+        assertTrue(schema.hasHeader());
+        assertEquals(6, schema.getColumns().size());
+        final List<Row> rows = CsvParserFactory.createParser(schema, CsvSource.of(bytes), new CsvParserSettings().charset(charset)).deserialize();
+        assertEquals(5, rows.size());
+        assertEquals("Carol, Jr.", rows.get(2).getString("name"));
+    }
+
+    /**
+     * Test that an empty source has no schema.
+     */
+    @Test(expected = ParsingException.class)
+    public void testInferSchemaOfEmptySource() {
+        new SchemaInference().infer(CsvSource.of(new byte[0]));
+    }
+
+    /**
+     * Test that records are parsed into the columns of an inferred schema, rejecting the records that do not fit it.
+     */
+    @Test
+    public void testDeserializeTable() {
+        final CsvSchema schema = CsvParserFactory.inferSchema(CsvSource.of(PEOPLE_CSV.getBytes(Charset.defaultCharset())));
+        final Table table = CsvParserFactory.createParser(schema, CsvSource.of((PEOPLE_CSV + "6,Frank,35,x,6,red\n").getBytes(Charset.defaultCharset())),
+                new CsvParserSettings().errorPolicy(ErrorPolicy.SKIP)).deserializeTable();
+        assertEquals(5, table.getRowCount());
+        assertEquals(5000000000L, table.getLongColumn("id").getLong(4));
+        assertEquals("Carol, Jr.", table.getStringColumn("name").get(2));
+        assertEquals(30, table.getColumn("age").get(0));
+        assertNull(table.getColumn("age").get(1));
+        assertTrue(table.getColumn("born").get(0) instanceof Date);
+        assertEquals(3.25, table.getDoubleColumn("score").getDouble(2), 0);
+        assertEquals(2, table.getStringColumn("team").getDictionary().size());
+    }
+
+    /**
+     * Asserts that a column is as inferred.
+     *
+     * @param column the column
+     * @param name the expected name
+     * @param type the expected type
+     * @param format the expected format
+     * @param nullable whether the column is expected to be nullable
+     * @param categorical whether the column is expected to be categorical
+     */
+    private static void assertColumn(final CsvSchema.Column column, final String name, final Class<?> type, final String format, final boolean nullable, final boolean categorical) { // NOPMD
+        assertEquals(name, column.getName());
+        assertEquals(type, column.getType());
+        assertEquals(format, column.getFormat());
+        assertEquals(nullable, column.isNullable());
+        assertEquals(categorical, column.isCategorical());
+    }
+}